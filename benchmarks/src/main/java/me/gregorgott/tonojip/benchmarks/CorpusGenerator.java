@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible INI-files for the benchmarks.
+ * The same shape and seed always produce the same file content.
+ *
+ * @author Gregor Gottschewski
+ */
+public final class CorpusGenerator {
+    /**
+     * Default seed used by all benchmarks.
+     */
+    public static final long DEFAULT_SEED = 0x746F6E6F6A6970L;
+
+    private static final String[] WORDS = {
+            "host", "port", "timeout", "retries", "user", "password", "path", "level", "enabled", "theme",
+            "cache", "pool", "size", "mode", "region", "zone", "limit", "interval", "format", "encoding"
+    };
+
+    /**
+     * The shapes of generated files.
+     */
+    public enum Shape {
+        /**
+         * A few sections with a few keys each, like a typical application config.
+         */
+        SMALL(10, 10),
+        /**
+         * One section with 100,000 keys.
+         */
+        WIDE(1, 100_000),
+        /**
+         * 50,000 sections with a few keys each.
+         */
+        DEEP(50_000, 4);
+
+        private final int sections;
+        private final int keysPerSection;
+
+        Shape(int sections, int keysPerSection) {
+            this.sections = sections;
+            this.keysPerSection = keysPerSection;
+        }
+
+        public int getSections() {
+            return sections;
+        }
+
+        public int getKeysPerSection() {
+            return keysPerSection;
+        }
+    }
+
+    private CorpusGenerator() {
+    }
+
+    /**
+     * Generates the content of an INI-file with the given shape.
+     *
+     * @param shape shape of the file.
+     * @param seed  seed of the random generator.
+     * @return the content of the INI-file.
+     */
+    public static String generate(Shape shape, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder(shape.sections * shape.keysPerSection * 24);
+
+        for (int i = 0; i < 3; i++) {
+            sb.append("global_").append(i).append('=').append(randomValue(random)).append('\n');
+        }
+
+        for (int s = 0; s < shape.sections; s++) {
+            sb.append('\n');
+
+            if (random.nextInt(4) == 0) {
+                sb.append("; section ").append(s).append('\n');
+            }
+
+            sb.append('[').append(sectionName(random, s)).append("]\n");
+
+            for (int k = 0; k < shape.keysPerSection; k++) {
+                if (random.nextInt(8) == 0) {
+                    sb.append("# comment of key ").append(k).append('\n');
+                }
+
+                sb.append(keyName(k)).append(random.nextBoolean() ? " = " : "=").append(randomValue(random)).append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Generates an INI-file with the given shape and writes it to the given path.
+     *
+     * @param shape shape of the file.
+     * @param seed  seed of the random generator.
+     * @param path  path of the file to write.
+     * @return the given path.
+     * @throws IOException if an I/O-error occurs.
+     */
+    public static Path write(Shape shape, long seed, Path path) throws IOException {
+        return Files.writeString(path, generate(shape, seed), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the name of the {@code index}-th key of a section as written by {@link #generate(Shape, long)}.
+     *
+     * @param index index of the key within its section.
+     * @return the key name.
+     */
+    public static String keyName(int index) {
+        return WORDS[index % WORDS.length] + "_" + index;
+    }
+
+    private static String sectionName(SplittableRandom random, int index) {
+        return WORDS[random.nextInt(WORDS.length)] + "." + WORDS[random.nextInt(WORDS.length)] + "." + index;
+    }
+
+    private static String randomValue(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> Integer.toString(random.nextInt(100_000));
+            case 1 -> random.nextBoolean() ? "True" : "False";
+            case 2 -> Double.toString(random.nextInt(10_000) / 100.0);
+            default -> WORDS[random.nextInt(WORDS.length)] + "-" + Long.toHexString(random.nextLong());
+        };
+    }
+}
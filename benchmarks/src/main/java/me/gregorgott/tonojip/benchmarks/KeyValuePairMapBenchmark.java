@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.benchmarks;
+
+import me.gregorgott.tonojip.IniFileReader;
+import me.gregorgott.tonojip.iniobjects.ImmutableIniFile;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import me.gregorgott.tonojip.iniobjects.Key;
+import me.gregorgott.tonojip.iniobjects.KeyValuePairMap;
+import me.gregorgott.tonojip.iniobjects.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link KeyValuePairMap} lookups in the section of the {@code WIDE} corpus.
+ * Every invocation looks up one key; the keys are visited in a fixed, shuffled order.
+ *
+ * <p>The {@code getByName} benchmarks look up keys by {@code String} and
+ * {@code CharSequence}; their {@code gc.alloc.rate.norm} shows that these lookups
+ * allocate nothing, while {@code getHit}/{@code getMiss} allocate a {@code Key} each.
+ * The {@code getFrozen} benchmarks look up the same keys in an {@link ImmutableIniFile}.
+ *
+ * @author Gregor Gottschewski
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class KeyValuePairMapBenchmark {
+    private static final int KEYS = 4096;
+
+    private IniFile iniFile;
+    private ImmutableIniFile frozen;
+    private String sectionName;
+    private KeyValuePairMap pairMap;
+    private String[] hits;
+    private String[] misses;
+    private StringBuilder[] hitBuilders;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        CorpusGenerator.Shape shape = CorpusGenerator.Shape.WIDE;
+
+        try (IniFileReader reader = new IniFileReader(new StringReader(CorpusGenerator.generate(shape, CorpusGenerator.DEFAULT_SEED)))) {
+            iniFile = reader.parse();
+        }
+
+        sectionName = iniFile.getSections().keySet().iterator().next();
+        pairMap = iniFile.getSection(sectionName).getPairMap();
+        frozen = iniFile.freeze();
+
+        hits = new String[KEYS];
+        misses = new String[KEYS];
+        hitBuilders = new StringBuilder[KEYS];
+
+        for (int i = 0; i < KEYS; i++) {
+            int index = (int) ((i * 0x9E3779B97F4A7C15L >>> 33) % shape.getKeysPerSection());
+            hits[i] = CorpusGenerator.keyName(index);
+            misses[i] = "missing_" + index;
+            hitBuilders[i] = new StringBuilder(hits[i]);
+        }
+    }
+
+    @Benchmark
+    public Value getHit() {
+        return pairMap.get(new Key(hits[next++ & (KEYS - 1)]));
+    }
+
+    @Benchmark
+    public Value getMiss() {
+        return pairMap.get(new Key(misses[next++ & (KEYS - 1)]));
+    }
+
+    @Benchmark
+    public Value getHitByName() {
+        return pairMap.get(hits[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public Value getMissByName() {
+        return pairMap.get(misses[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public Value getHitByCharSequence() {
+        return pairMap.get(hitBuilders[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public Value getIniFileValue() {
+        return iniFile.getValue(sectionName, hits[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public Value getFrozenHit() {
+        return frozen.getValue(sectionName, hits[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public Value getFrozenMiss() {
+        return frozen.getValue(sectionName, misses[next++ & (KEYS - 1)]);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.benchmarks;
+
+import me.gregorgott.tonojip.CompiledIniFile;
+import me.gregorgott.tonojip.ConcurrentInternPool;
+import me.gregorgott.tonojip.IniFileCompiler;
+import me.gregorgott.tonojip.IniFileReader;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link IniFileReader#parse()} on the generated corpus, both from a {@code Reader}
+ * and from a memory-mapped file. {@code loadCompiled} loads the same file compiled by the
+ * {@link IniFileCompiler} and reads one value.
+ *
+ * @author Gregor Gottschewski
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+    @Param({"SMALL", "WIDE", "DEEP"})
+    private CorpusGenerator.Shape shape;
+
+    private String content;
+    private Path file;
+    private Path compiled;
+    private String sectionName;
+    private final ConcurrentInternPool internPool = new ConcurrentInternPool();
+
+    @Setup
+    public void setup() throws IOException {
+        content = CorpusGenerator.generate(shape, CorpusGenerator.DEFAULT_SEED);
+        file = Files.writeString(Files.createTempFile("tonojip-" + shape, ".ini"), content, StandardCharsets.UTF_8);
+        compiled = Files.createTempFile("tonojip-" + shape, ".bin");
+        IniFileCompiler.compile(file, compiled);
+        sectionName = CompiledIniFile.load(compiled).getSectionNames().getFirst();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(compiled);
+    }
+
+    @Benchmark
+    public IniFile parse() throws IOException {
+        try (IniFileReader reader = new IniFileReader(new StringReader(content))) {
+            return reader.parse();
+        }
+    }
+
+    @Benchmark
+    public IniFile parsePath() throws IOException {
+        return IniFileReader.parse(file);
+    }
+
+    @Benchmark
+    public IniFile parsePathPooled() throws IOException {
+        IniFileReader reader = new IniFileReader(file);
+        reader.setInternPool(internPool);
+        return reader.parse();
+    }
+
+    @Benchmark
+    public IniFile parsePathLazy() throws IOException {
+        IniFileReader reader = new IniFileReader(file);
+        reader.setLazy(true);
+        return reader.parse();
+    }
+
+    @Benchmark
+    public IniFile parsePathParallel() throws IOException {
+        IniFileReader reader = new IniFileReader(file);
+        reader.setParallel(true);
+        return reader.parse();
+    }
+
+    @Benchmark
+    public Object loadCompiled() throws IOException {
+        return CompiledIniFile.load(compiled).getValue(sectionName, CorpusGenerator.keyName(0));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.benchmarks;
+
+import me.gregorgott.tonojip.exceptions.ValueConvertError;
+import me.gregorgott.tonojip.iniobjects.Numbers;
+import me.gregorgott.tonojip.iniobjects.Value;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of values to numbers. Every invocation converts a new
+ * {@link Value}, so the cached conversion is not used.
+ *
+ * <p>{@code parseDouble} compares {@link Numbers} with {@link Double#parseDouble(String)} on
+ * the kind of decimals found in configuration files. The {@code invalidInt} benchmarks probe
+ * values that are no integers, once with {@code getAsInt()} and the thrown exception and once
+ * with {@code getAsInt(int)}.
+ *
+ * @author Gregor Gottschewski
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ValueBenchmark {
+    private static final int VALUES = 4096;
+
+    private String[] decimals;
+    private String[] words;
+    private int next;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(CorpusGenerator.DEFAULT_SEED);
+        decimals = new String[VALUES];
+        words = new String[VALUES];
+
+        for (int i = 0; i < VALUES; i++) {
+            decimals[i] = Double.toString(random.nextInt(1_000_000) / 100.0);
+            words[i] = "value-" + Long.toHexString(random.nextLong());
+        }
+    }
+
+    @Benchmark
+    public double parseDoubleJdk() {
+        return Double.parseDouble(decimals[next++ & (VALUES - 1)]);
+    }
+
+    @Benchmark
+    public double parseDouble() {
+        String decimal = decimals[next++ & (VALUES - 1)];
+        return Numbers.parseDouble(decimal, 0, decimal.length(), 0);
+    }
+
+    @Benchmark
+    public double getAsDouble() {
+        return new Value(decimals[next++ & (VALUES - 1)]).getAsDouble();
+    }
+
+    @Benchmark
+    public int invalidIntThrowing() {
+        try {
+            return new Value(words[next++ & (VALUES - 1)]).getAsInt();
+        } catch (ValueConvertError e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public int invalidIntDefault() {
+        return new Value(words[next++ & (VALUES - 1)]).getAsInt(-1);
+    }
+}
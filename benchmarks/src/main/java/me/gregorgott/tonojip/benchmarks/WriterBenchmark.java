@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.benchmarks;
+
+import me.gregorgott.tonojip.IniFileReader;
+import me.gregorgott.tonojip.IniFileWriter;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link IniFileWriter#write(IniFile)} on the generated corpus.
+ * The output is discarded so that only the serialization is measured.
+ * {@code writePath} measures {@link IniFileWriter#write(IniFile, Path)}, including the
+ * forced write to disk and the atomic rename.
+ *
+ * <p>{@code write} creates a new writer per invocation, {@code writeReused} reuses one writer,
+ * which shows the steady state: its {@code gc.alloc.rate.norm} divided by the number of pairs
+ * of the shape is the allocation per key-value-pair.
+ *
+ * @author Gregor Gottschewski
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class WriterBenchmark {
+    @Param({"SMALL", "WIDE", "DEEP"})
+    private CorpusGenerator.Shape shape;
+
+    private IniFile iniFile;
+    private IniFileWriter reusedWriter;
+    private Path directory;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        try (IniFileReader reader = new IniFileReader(new StringReader(CorpusGenerator.generate(shape, CorpusGenerator.DEFAULT_SEED)))) {
+            iniFile = reader.parse();
+        }
+
+        reusedWriter = new IniFileWriter(Writer.nullWriter());
+        directory = Files.createTempDirectory("tonojip-" + shape);
+        file = directory.resolve("config.ini");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        IniFileWriter writer = new IniFileWriter(Writer.nullWriter());
+        writer.write(iniFile);
+    }
+
+    @Benchmark
+    public void writeReused() throws IOException {
+        reusedWriter.write(iniFile);
+    }
+
+    @Benchmark
+    public void writePath() throws IOException {
+        IniFileWriter.write(iniFile, file);
+    }
+}
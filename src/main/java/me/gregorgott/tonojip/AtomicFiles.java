@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces files atomically: the content is written into a temporary file next to the target,
+ * forced to the storage device and moved over the target. Readers of the target see either the
+ * old or the complete new content, even if the process crashes while writing.
+ *
+ * <p>If the target is a symbolic link, the file it points to is replaced and the link is kept.
+ * On file systems with POSIX attributes, the new file gets the permissions of the replaced file,
+ * and its owner and group as far as the process may set them; a process that may not change
+ * the owner leaves the new file owned by itself. On other file systems, e.g. on Windows, the
+ * new file gets the default attributes of a new file in the directory.
+ *
+ * @author Gregor Gottschewski
+ */
+final class AtomicFiles {
+    private AtomicFiles() {
+    }
+
+    /**
+     * Replaces or creates the target with the given content, which is written with gathering writes.
+     *
+     * @param path    path of the target.
+     * @param content the content; the bytes between position and limit of each buffer are written.
+     * @throws IOException if an I/O-error occurs. The target is not changed in this case.
+     */
+    static void replace(Path path, ByteBuffer... content) throws IOException {
+        Path target = path.toAbsolutePath();
+
+        if (Files.exists(target)) {
+            // replace the file a symbolic link points to, not the link
+            target = target.toRealPath();
+        }
+
+        Path directory = target.getParent();
+        Path temp = directory.resolve("." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        PosixFileAttributes attributes = readPosixAttributes(target);
+        FileAttribute<?>[] createAttributes = attributes != null
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(attributes.permissions())}
+                : new FileAttribute<?>[0];
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, EnumSet.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), createAttributes)) {
+                long remaining = 0;
+
+                for (ByteBuffer buffer : content) {
+                    remaining += buffer.remaining();
+                }
+
+                while (remaining > 0) {
+                    remaining -= channel.write(content);
+                }
+
+                channel.force(true);
+            }
+
+            if (attributes != null) {
+                copyPosixAttributes(temp, attributes);
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+
+        forceDirectory(directory);
+    }
+
+    /**
+     * @return the POSIX attributes of the target, or {@code null} if it does not exist or the
+     * file system has no POSIX attributes.
+     */
+    private static PosixFileAttributes readPosixAttributes(Path target) {
+        try {
+            return Files.readAttributes(target, PosixFileAttributes.class);
+        } catch (UnsupportedOperationException | IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gives the temporary file the permissions, owner and group of the replaced file. The
+     * permissions given on creation are reduced by the umask, so they are set again.
+     */
+    private static void copyPosixAttributes(Path temp, PosixFileAttributes attributes) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+        view.setPermissions(attributes.permissions());
+
+        try {
+            view.setOwner(attributes.owner());
+        } catch (IOException e) {
+            // only privileged processes may give files away
+        }
+
+        try {
+            view.setGroup(attributes.group());
+        } catch (IOException e) {
+            // the process is not a member of the group
+        }
+    }
+
+    /**
+     * Forces the directory entry of the renamed file to the storage device. Not all platforms
+     * can open directories, so this is done on a best-effort basis.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported, e.g. on Windows
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A writer that encodes the text as UTF-8 into byte buffers of a fixed size. The characters are
+ * encoded directly from the arrays and strings passed to it, there is no intermediate string,
+ * and full buffers are kept instead of copied into larger ones. The buffers grow from a few
+ * kilobytes, so small texts need little memory.
+ *
+ * <p>Like {@link String#getBytes(java.nio.charset.Charset)}, unpaired surrogates are replaced
+ * with {@code '?'}. A surrogate pair may be split between two writes.
+ *
+ * @author Gregor Gottschewski
+ */
+final class ByteBufferWriter extends Writer {
+    /**
+     * Size of the first buffer. Each further buffer is twice as large, up to {@link #CHUNK_SIZE}.
+     */
+    private static final int FIRST_CHUNK_SIZE = 4096;
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer chunk = ByteBuffer.allocate(FIRST_CHUNK_SIZE);
+    private char highSurrogate;
+    private boolean hasHighSurrogate;
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        encode(CharBuffer.wrap(chars, offset, length));
+    }
+
+    @Override
+    public void write(String s, int offset, int length) {
+        encode(CharBuffer.wrap(s, offset, offset + length));
+    }
+
+    private void encode(CharBuffer in) {
+        if (hasHighSurrogate && in.hasRemaining()) {
+            // the pair was split between two writes
+            hasHighSurrogate = false;
+            CharBuffer pair = CharBuffer.wrap(new char[]{highSurrogate, in.get()});
+            encode(pair, false);
+
+            if (pair.hasRemaining()) {
+                // the next character is a high surrogate as well, it is read again below
+                in.position(in.position() - 1);
+            }
+        }
+
+        encode(in, false);
+
+        if (in.hasRemaining()) {
+            // only a high surrogate at the end stays unread
+            highSurrogate = in.get();
+            hasHighSurrogate = true;
+        }
+    }
+
+    private void encode(CharBuffer in, boolean endOfInput) {
+        CoderResult result;
+
+        while ((result = encoder.encode(in, chunk, endOfInput)).isOverflow()) {
+            nextChunk();
+        }
+
+        if (result.isError()) {
+            throw new IllegalStateException(result.toString());
+        }
+    }
+
+    private void nextChunk() {
+        chunks.add(chunk.flip());
+        chunk = ByteBuffer.allocate(Math.min(2 * chunk.capacity(), CHUNK_SIZE));
+    }
+
+    /**
+     * Finishes the encoding. The writer must not be used afterward.
+     *
+     * @return the encoded bytes in order.
+     */
+    ByteBuffer[] toByteBuffers() {
+        CharBuffer rest = CharBuffer.wrap(hasHighSurrogate ? new char[]{highSurrogate} : new char[0]);
+        encode(rest, true);
+
+        while (encoder.flush(chunk).isOverflow()) {
+            nextChunk();
+        }
+
+        chunks.add(chunk.flip());
+        return chunks.toArray(new ByteBuffer[0]);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
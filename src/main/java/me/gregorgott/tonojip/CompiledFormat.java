@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+/**
+ * Constants of the binary format of compiled INI-files. All numbers are big-endian.
+ *
+ * <pre>
+ * header   magic (int), version (short), reserved (short), source size (long),
+ *          source modification time in milliseconds (long), payload length (int),
+ *          CRC32C of the payload (int)
+ * payload  section count without globals (int), pair count (int), string count (int),
+ *          section records (globals first, the others sorted by name hash),
+ *          pair records (the pairs of a section next to each other, sorted by key hash),
+ *          section order (section count ints), pair order (pair count ints),
+ *          string offsets (string count + 1 ints), UTF-8 bytes of the strings
+ * </pre>
+ *
+ * <p>A section record consists of the name hash, name, comment, first pair and pair count
+ * (5 ints), a pair record of the key hash, key, comment and value (4 ints), the value type
+ * (int) and the typed value (long). Names, comments and values are indexes into the string
+ * table, {@code -1} is {@code null}. Hashes are {@link String#hashCode()}s.
+ *
+ * <p>The order tables keep the order of the source: the n-th int of the section order is the
+ * record of the n-th section, the n-th int of the pair order is the record of the n-th pair.
+ * Like the pair records, the pair order lists the pairs of a section next to each other.
+ *
+ * @author Gregor Gottschewski
+ */
+final class CompiledFormat {
+    static final int MAGIC = 0x544A4943;
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = 32;
+    static final int SOURCE_SIZE_OFFSET = 8;
+    static final int SOURCE_MODIFIED_OFFSET = 16;
+    static final int PAYLOAD_LENGTH_OFFSET = 24;
+    static final int CHECKSUM_OFFSET = 28;
+
+    static final int COUNTS_SIZE = 3 * Integer.BYTES;
+    static final int SECTION_RECORD_SIZE = 5 * Integer.BYTES;
+    static final int PAIR_RECORD_SIZE = 5 * Integer.BYTES + Long.BYTES;
+
+    /**
+     * The value is only a string.
+     */
+    static final int TYPE_STRING = 0;
+    /**
+     * The value is {@link me.gregorgott.tonojip.iniobjects.Value#EMPTY_VALUE}.
+     */
+    static final int TYPE_NULL = 1;
+    /**
+     * The value is a valid long.
+     */
+    static final int TYPE_LONG = 2;
+    /**
+     * The value is a valid double, but no valid long. The bits are the raw bits of the double.
+     */
+    static final int TYPE_DOUBLE = 3;
+    /**
+     * The value is a valid boolean; the bits are 1 for {@code true}.
+     */
+    static final int TYPE_BOOLEAN = 4;
+
+    static final long UNKNOWN = -1;
+
+    private CompiledFormat() {
+    }
+}
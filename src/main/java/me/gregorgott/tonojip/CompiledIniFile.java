@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.CompiledFileException;
+import me.gregorgott.tonojip.iniobjects.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static me.gregorgott.tonojip.CompiledFormat.*;
+
+/**
+ * A read-only view of an INI-file compiled by the {@link IniFileCompiler}. The compiled file
+ * is memory-mapped and its header and checksum are validated; no text is parsed. Sections and
+ * keys are found by binary search over their hashes, strings are decoded and {@link Value}s are
+ * created on first access.
+ *
+ * <p>Values that are valid longs, doubles or booleans are stored converted, so the typed getters
+ * like {@link #getLong(String, String, long)} return them without parsing.
+ *
+ * <p>Methods that take a section name treat {@code null} as the global key-value-pairs. A loaded
+ * file is safe to use from multiple threads.
+ *
+ * @author Gregor Gottschewski
+ * @see IniFileCompiler
+ */
+public final class CompiledIniFile {
+    private final ByteBuffer buffer;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int sectionCount;
+    private final int sectionBase;
+    private final int pairBase;
+    private final int sectionOrderBase;
+    private final int pairOrderBase;
+    private final int offsetBase;
+    private final int stringBase;
+    private final String[] strings;
+    private final Value[] values;
+
+    private CompiledIniFile(ByteBuffer buffer) throws CompiledFileException {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new CompiledFileException("Not a compiled INI-file");
+        }
+
+        if (buffer.getShort(4) != VERSION) {
+            throw new CompiledFileException("Unsupported version " + buffer.getShort(4));
+        }
+
+        int payloadLength = buffer.getInt(PAYLOAD_LENGTH_OFFSET);
+
+        if (payloadLength != buffer.capacity() - HEADER_SIZE || payloadLength < COUNTS_SIZE) {
+            throw new CompiledFileException("Truncated compiled INI-file");
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.duplicate().position(HEADER_SIZE));
+
+        if ((int) checksum.getValue() != buffer.getInt(CHECKSUM_OFFSET)) {
+            throw new CompiledFileException("Checksum mismatch");
+        }
+
+        sourceSize = buffer.getLong(SOURCE_SIZE_OFFSET);
+        sourceModified = buffer.getLong(SOURCE_MODIFIED_OFFSET);
+        sectionCount = buffer.getInt(HEADER_SIZE);
+        int pairCount = buffer.getInt(HEADER_SIZE + Integer.BYTES);
+        int stringCount = buffer.getInt(HEADER_SIZE + 2 * Integer.BYTES);
+
+        sectionBase = HEADER_SIZE + COUNTS_SIZE;
+        pairBase = Math.toIntExact(sectionBase + (sectionCount + 1L) * SECTION_RECORD_SIZE);
+        sectionOrderBase = Math.toIntExact(pairBase + (long) pairCount * PAIR_RECORD_SIZE);
+        pairOrderBase = Math.toIntExact(sectionOrderBase + (long) sectionCount * Integer.BYTES);
+        offsetBase = Math.toIntExact(pairOrderBase + (long) pairCount * Integer.BYTES);
+        stringBase = Math.toIntExact(offsetBase + (stringCount + 1L) * Integer.BYTES);
+
+        if (sectionCount < 0 || pairCount < 0 || stringCount < 0 || stringBase > buffer.capacity()
+                || stringBase + buffer.getInt(stringBase - Integer.BYTES) != buffer.capacity()) {
+            throw new CompiledFileException("Corrupted compiled INI-file");
+        }
+
+        strings = new String[stringCount];
+        values = new Value[pairCount];
+    }
+
+    /**
+     * Memory-maps and validates a compiled file.
+     *
+     * @param path path of the compiled file.
+     * @return the loaded file.
+     * @throws CompiledFileException if the file is no valid compiled INI-file.
+     * @throws IOException           if an I/O-error occurs.
+     */
+    public static CompiledIniFile load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new CompiledFileException("Compiled INI-file too large");
+            }
+
+            return new CompiledIniFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | ArithmeticException e) {
+            throw new CompiledFileException("Corrupted compiled INI-file");
+        }
+    }
+
+    /**
+     * Checks if the file was compiled from the current version of the source, by comparing the
+     * size and modification time of the source with the values stored at compile time.
+     *
+     * @param source path of the INI-file.
+     * @return {@code true} if the source did not change since it was compiled.
+     * @throws IOException if an I/O-error occurs.
+     */
+    public boolean isUpToDate(Path source) throws IOException {
+        if (sourceSize == UNKNOWN) {
+            return false;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        return attributes.size() == sourceSize && attributes.lastModifiedTime().toMillis() == sourceModified;
+    }
+
+    private String string(int index) {
+        if (index < 0) {
+            return null;
+        }
+
+        String string = strings[index];
+
+        if (string == null) {
+            int start = buffer.getInt(offsetBase + index * Integer.BYTES);
+            byte[] bytes = new byte[buffer.getInt(offsetBase + (index + 1) * Integer.BYTES) - start];
+            buffer.get(stringBase + start, bytes);
+            strings[index] = string = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return string;
+    }
+
+    private int sectionRecord(int section) {
+        return sectionBase + section * SECTION_RECORD_SIZE;
+    }
+
+    private int pairRecord(int pair) {
+        return pairBase + pair * PAIR_RECORD_SIZE;
+    }
+
+    /**
+     * @return the index of the section record, {@code 0} for {@code null} or {@code -1} if there is no such section.
+     */
+    private int findSection(String name) {
+        if (name == null) {
+            return 0;
+        }
+
+        int hash = name.hashCode();
+        int low = 1;
+        int high = sectionCount;
+
+        // the first record with a hash not lower than the hash of the name
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (buffer.getInt(sectionRecord(mid)) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        for (int i = low; i <= sectionCount && buffer.getInt(sectionRecord(i)) == hash; i++) {
+            if (name.equals(string(buffer.getInt(sectionRecord(i) + 4)))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the index of the pair record, or {@code -1} if there is no such section or key.
+     */
+    private int findPair(String section, String key) {
+        int s = findSection(section);
+
+        if (s < 0) {
+            return -1;
+        }
+
+        int first = buffer.getInt(sectionRecord(s) + 12);
+        int end = first + buffer.getInt(sectionRecord(s) + 16);
+        int hash = key.hashCode();
+        int low = first;
+        int high = end - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (buffer.getInt(pairRecord(mid)) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        for (int i = low; i < end && buffer.getInt(pairRecord(i)) == hash; i++) {
+            if (key.equals(string(buffer.getInt(pairRecord(i) + 4)))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private Value value(int pair) {
+        Value value = values[pair];
+
+        if (value == null) {
+            int index = buffer.getInt(pairRecord(pair) + 12);
+            values[pair] = value = index < 0 ? Value.EMPTY_VALUE : new Value(string(index));
+        }
+
+        return value;
+    }
+
+    private int type(int pair) {
+        return buffer.getInt(pairRecord(pair) + 16);
+    }
+
+    private long bits(int pair) {
+        return buffer.getLong(pairRecord(pair) + 20);
+    }
+
+    /**
+     * @param key name of the global key.
+     * @return the value of the key, or {@code null} if there is no such global key.
+     */
+    public Value getValue(String key) {
+        return getValue(null, key);
+    }
+
+    /**
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @return the value of the key, or {@code null} if there is no such section or key.
+     */
+    public Value getValue(String section, String key) {
+        int pair = findPair(section, key);
+        return pair < 0 ? null : value(pair);
+    }
+
+    /**
+     * @param section      name of the section.
+     * @param key          name of the key.
+     * @param defaultValue the value to return if there is no such section or key.
+     * @return the value as a long.
+     * @throws me.gregorgott.tonojip.exceptions.ValueConvertError if the value is not a valid long.
+     */
+    public long getLong(String section, String key, long defaultValue) {
+        int pair = findPair(section, key);
+
+        if (pair < 0) {
+            return defaultValue;
+        }
+
+        return type(pair) == TYPE_LONG ? bits(pair) : value(pair).getAsLong();
+    }
+
+    /**
+     * @param section      name of the section.
+     * @param key          name of the key.
+     * @param defaultValue the value to return if there is no such section or key.
+     * @return the value as an integer.
+     * @throws me.gregorgott.tonojip.exceptions.ValueConvertError if the value is not a valid integer.
+     */
+    public int getInt(String section, String key, int defaultValue) {
+        int pair = findPair(section, key);
+
+        if (pair < 0) {
+            return defaultValue;
+        }
+
+        if (type(pair) == TYPE_LONG) {
+            long bits = bits(pair);
+
+            if (bits == (int) bits) {
+                return (int) bits;
+            }
+        }
+
+        return value(pair).getAsInt();
+    }
+
+    /**
+     * @param section      name of the section.
+     * @param key          name of the key.
+     * @param defaultValue the value to return if there is no such section or key.
+     * @return the value as a double.
+     * @throws me.gregorgott.tonojip.exceptions.ValueConvertError if the value is not a valid double.
+     */
+    public double getDouble(String section, String key, double defaultValue) {
+        int pair = findPair(section, key);
+
+        if (pair < 0) {
+            return defaultValue;
+        }
+
+        return type(pair) == TYPE_DOUBLE ? Double.longBitsToDouble(bits(pair)) : value(pair).getAsDouble();
+    }
+
+    /**
+     * @param section      name of the section.
+     * @param key          name of the key.
+     * @param defaultValue the value to return if there is no such section or key.
+     * @return the value as a boolean.
+     * @throws me.gregorgott.tonojip.exceptions.ValueConvertError if the value is not a valid boolean.
+     */
+    public boolean getBoolean(String section, String key, boolean defaultValue) {
+        int pair = findPair(section, key);
+
+        if (pair < 0) {
+            return defaultValue;
+        }
+
+        return type(pair) == TYPE_BOOLEAN ? bits(pair) != 0 : value(pair).getAsBoolean();
+    }
+
+    /**
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @return the comment of the key, or {@code null} if there is no such key or the key has no comment.
+     */
+    public String getComment(String section, String key) {
+        int pair = findPair(section, key);
+        return pair < 0 ? null : string(buffer.getInt(pairRecord(pair) + 8));
+    }
+
+    /**
+     * @param section name of the section.
+     * @return the comment of the section, or {@code null} if there is no such section or the section has no comment.
+     */
+    public String getSectionComment(String section) {
+        int s = findSection(section);
+        return s <= 0 ? null : string(buffer.getInt(sectionRecord(s) + 8));
+    }
+
+    /**
+     * @param section name of the section.
+     * @return {@code true} if this file has a section with the given name.
+     */
+    public boolean containsSection(String section) {
+        return section != null && findSection(section) > 0;
+    }
+
+    /**
+     * @param position position of the section in the source, starting with {@code 0}.
+     * @return the index of the section record.
+     */
+    private int sectionAt(int position) {
+        return buffer.getInt(sectionOrderBase + position * Integer.BYTES);
+    }
+
+    /**
+     * @return the names of all sections, in the order of the source.
+     */
+    public List<String> getSectionNames() {
+        List<String> names = new ArrayList<>(sectionCount);
+
+        for (int i = 0; i < sectionCount; i++) {
+            names.add(string(buffer.getInt(sectionRecord(sectionAt(i)) + 4)));
+        }
+
+        return names;
+    }
+
+    /**
+     * Creates a mutable {@link IniFile} with the content of this file. Sections and keys are
+     * in the order of the source.
+     *
+     * @return a new {@code IniFile}.
+     */
+    public IniFile toIniFile() {
+        IniFile iniFile = new IniFile();
+        copyPairs(0, iniFile.getGlobalValues());
+
+        for (int i = 0; i < sectionCount; i++) {
+            int s = sectionAt(i);
+            Section section = new Section(string(buffer.getInt(sectionRecord(s) + 8)));
+            copyPairs(s, section.getPairMap());
+            iniFile.getSections().put(string(buffer.getInt(sectionRecord(s) + 4)), section);
+        }
+
+        return iniFile;
+    }
+
+    private void copyPairs(int section, KeyValuePairMap pairMap) {
+        int first = buffer.getInt(sectionRecord(section) + 12);
+        int end = first + buffer.getInt(sectionRecord(section) + 16);
+
+        for (int i = first; i < end; i++) {
+            int pair = buffer.getInt(pairOrderBase + i * Integer.BYTES);
+            Key key = new Key(string(buffer.getInt(pairRecord(pair) + 4)));
+            key.setComment(string(buffer.getInt(pairRecord(pair) + 8)));
+            pairMap.put(key, value(pair));
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.Value;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, lock-free {@link InternPool}. Strings and values are kept in two tables with a
+ * fixed number of slots. Every slot holds one entry; a new entry replaces the older of the two
+ * entries in its pair of slots, so the pool never grows and entries that are no longer used
+ * are dropped over time. If two threads add entries to the same slot at the same time, one of
+ * them is lost, which only costs a later miss.
+ *
+ * <p>Strings longer than {@link #getMaxLength()} are not pooled, because long values are
+ * rarely repeated and would only displace short ones.
+ *
+ * <p>The pool counts hits and misses, so the effect of sharing can be checked with
+ * {@link #getHitRate()}.
+ *
+ * @author Gregor Gottschewski
+ */
+public final class ConcurrentInternPool implements InternPool {
+    /**
+     * Default number of slots of each table.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Default maximum length of pooled strings.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 128;
+
+    private final Table<String> strings;
+    private final Table<Value> values;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a pool with {@link #DEFAULT_CAPACITY} slots per table that pools strings of up to
+     * {@link #DEFAULT_MAX_LENGTH} characters.
+     */
+    public ConcurrentInternPool() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param capacity  number of slots of each table, rounded up to a power of two.
+     * @param maxLength maximum length of pooled strings.
+     * @throws IllegalArgumentException if the capacity is not positive or larger than 2^30,
+     *                                  or if the maximum length is negative.
+     */
+    public ConcurrentInternPool(int capacity, int maxLength) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Invalid maximum length: " + maxLength);
+        }
+
+        int slots = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.strings = new Table<>(slots, s -> s);
+        this.values = new Table<>(slots, Value::getAsString);
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * A table of slots. The slots {@code 2i} and {@code 2i+1} form a pair; the first slot of a
+     * pair holds the newer entry.
+     */
+    private static final class Table<T> {
+        private final AtomicReferenceArray<T> slots;
+        private final Function<T, String> chars;
+
+        Table(int size, Function<T, String> chars) {
+            this.slots = new AtomicReferenceArray<>(size);
+            this.chars = chars;
+        }
+
+        T get(CharSequence key, int pair) {
+            T entry = slots.getAcquire(pair);
+
+            if (entry != null && contentEquals(chars.apply(entry), key)) {
+                return entry;
+            }
+
+            entry = slots.getAcquire(pair + 1);
+            return entry != null && contentEquals(chars.apply(entry), key) ? entry : null;
+        }
+
+        void add(T entry, int pair) {
+            T newer = slots.getAcquire(pair);
+
+            if (newer != null) {
+                slots.setRelease(pair + 1, newer);
+            }
+
+            slots.setRelease(pair, entry);
+        }
+
+        int pair(int hash) {
+            hash ^= hash >>> 16;
+            return (hash * 0x9E3779B9) & (slots.length() - 2);
+        }
+    }
+
+    @Override
+    public String intern(CharSequence chars) {
+        if (chars.length() > maxLength) {
+            return chars.toString();
+        }
+
+        int pair = strings.pair(hash(chars));
+        String string = strings.get(chars, pair);
+
+        if (string != null) {
+            hits.increment();
+            return string;
+        }
+
+        misses.increment();
+        string = chars.toString();
+        strings.add(string, pair);
+        return string;
+    }
+
+    @Override
+    public Value internValue(CharSequence chars) {
+        if (chars.length() > maxLength) {
+            return new Value(chars.toString());
+        }
+
+        int pair = values.pair(hash(chars));
+        Value value = values.get(chars, pair);
+
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        value = new Value(intern(chars));
+        values.add(value, pair);
+        return value;
+    }
+
+    /**
+     * @return the maximum length of pooled strings.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return the number of lookups that returned a pooled instance.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * A value that is not in the pool still counts as a hit if its string is in the pool.
+     *
+     * @return the number of lookups that created a new instance.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the share of lookups that returned a pooled instance, or {@code 0} if there were
+     * no lookups.
+     */
+    public double getHitRate() {
+        long hits = this.hits.sum();
+        long total = hits + misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Resets the hit and miss counts. The pooled instances are kept.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Computes the hash code of the characters like {@link String#hashCode()}.
+     */
+    private static int hash(CharSequence chars) {
+        if (chars instanceof String string) {
+            return string.hashCode();
+        }
+
+        int h = 0;
+
+        for (int i = 0; i < chars.length(); i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+
+        return h;
+    }
+
+    private static boolean contentEquals(String string, CharSequence chars) {
+        int length = string.length();
+
+        if (length != chars.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
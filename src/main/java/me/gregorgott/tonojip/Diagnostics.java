@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The syntax errors that a lenient parse skipped instead of throwing a {@link FileSyntaxError}.
+ * Each error is a line, a column and a {@link Kind}. They are stored in one {@code int} array
+ * and not as objects with the text of the line, so collecting many errors is cheap:
+ * <pre>{@code
+ * Diagnostics diagnostics = new Diagnostics();
+ * IniFile file = new IniFileReader(path).parseLenient(diagnostics);
+ *
+ * for (int i = 0; i < diagnostics.size(); i++) {
+ *     System.out.println(diagnostics.getLineNumber(i) + ": " + diagnostics.getKind(i));
+ * }
+ * }</pre>
+ *
+ * <p>The same diagnostics can be used for several files after {@link #clear()}. They are not
+ * thread-safe.
+ *
+ * @author Gregor Gottschewski
+ * @see IniFileReader#parseLenient(Diagnostics)
+ * @see IniEventReader#setDiagnostics(Diagnostics)
+ */
+public final class Diagnostics {
+    private static final Kind[] KINDS = Kind.values();
+    private static final int FIELDS = 3;
+
+    /**
+     * The line, column and kind of every error, one after another.
+     */
+    private int[] data = new int[FIELDS * 8];
+    private int size;
+
+    /**
+     * The kinds of syntax errors.
+     */
+    public enum Kind {
+        /**
+         * A line that is neither a comment, a section header nor a key-value assignment.
+         */
+        INVALID_LINE("invalid line"),
+        /**
+         * A line that starts with {@code [} but is no valid section header, e.g. {@code [a} or
+         * {@code [a]b}.
+         */
+        INVALID_SECTION_HEADER("invalid section header"),
+        /**
+         * A section header whose name starts with a dot, e.g. {@code [.a]}.
+         */
+        CHILD_SECTION_WITHOUT_PARENT("child section without parent"),
+        /**
+         * A key-value assignment without a key, e.g. {@code =value}.
+         */
+        EMPTY_KEY("empty key");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+
+        /**
+         * @return a short description of the error.
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * One syntax error, created on demand by {@link #get(int)}.
+     *
+     * @param lineNumber line of the error, starting at 1.
+     * @param column     column of the error, starting at 1.
+     * @param kind       kind of the error.
+     */
+    public record Diagnostic(int lineNumber, int column, Kind kind) {
+        /**
+         * @return the error, e.g. {@code line 3, column 1: invalid line}.
+         */
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ", column " + column + ": " + kind.getDescription();
+        }
+    }
+
+    /**
+     * Adds a syntax error.
+     *
+     * @param lineNumber line of the error.
+     * @param column     column of the error.
+     * @param kind       kind of the error.
+     */
+    void add(int lineNumber, int column, Kind kind) {
+        int offset = size * FIELDS;
+
+        if (offset == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+
+        data[offset] = lineNumber;
+        data[offset + 1] = column;
+        data[offset + 2] = kind.ordinal();
+        size++;
+    }
+
+    /**
+     * @return the number of errors.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index index of the error.
+     * @return the line of the error, starting at 1.
+     * @throws IndexOutOfBoundsException if there is no such error.
+     */
+    public int getLineNumber(int index) {
+        return data[offset(index)];
+    }
+
+    /**
+     * @param index index of the error.
+     * @return the column of the error, starting at 1.
+     * @throws IndexOutOfBoundsException if there is no such error.
+     */
+    public int getColumn(int index) {
+        return data[offset(index) + 1];
+    }
+
+    /**
+     * @param index index of the error.
+     * @return the kind of the error.
+     * @throws IndexOutOfBoundsException if there is no such error.
+     */
+    public Kind getKind(int index) {
+        return KINDS[data[offset(index) + 2]];
+    }
+
+    /**
+     * @param index index of the error.
+     * @return the error as an object.
+     * @throws IndexOutOfBoundsException if there is no such error.
+     */
+    public Diagnostic get(int index) {
+        return new Diagnostic(getLineNumber(index), getColumn(index), getKind(index));
+    }
+
+    /**
+     * @return a view of the errors in the order they were found.
+     */
+    public List<Diagnostic> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Diagnostic get(int index) {
+                return Diagnostics.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Removes all errors.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private int offset(int index) {
+        return Objects.checkIndex(index, size) * FIELDS;
+    }
+
+    /**
+     * @return all errors, one per line.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < size; i++) {
+            sb.append(get(i)).append('\n');
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import me.gregorgott.tonojip.iniobjects.KeyValuePairMap;
+import me.gregorgott.tonojip.iniobjects.Section;
+import me.gregorgott.tonojip.iniobjects.SectionMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Parses a file again and again, but only decodes the sections whose bytes changed since the
+ * previous parse.
+ *
+ * <pre>{@code
+ * IncrementalIniFileReader reader = new IncrementalIniFileReader(Path.of("config.ini"));
+ * IniFile file = reader.parse().iniFile();
+ * // later, after the file was changed
+ * IniFileChanges changes = reader.parse();
+ * for (String name : changes.changedSections()) {
+ *     // invalidate what depends on the section
+ * }
+ * }</pre>
+ *
+ * <p>Every parse builds an index of the sections and computes a fingerprint of the bytes of
+ * each section, including the comments in front of its header. Sections with the same name and
+ * fingerprint as before are taken over from the previous {@link IniFile}; all others are decoded.
+ * Each parse returns a new {@code IniFile}, so the previous one is not modified.
+ *
+ * <p>If a parse fails, the previous state is kept and the next parse is compared with it.
+ *
+ * @author Gregor Gottschewski
+ */
+public class IncrementalIniFileReader {
+    private final Path path;
+    private boolean parseComments = true;
+    private IniFile iniFile;
+    private long globalFingerprint;
+    private Map<String, Long> fingerprints = Map.of();
+
+    /**
+     * @param path path of the UTF-8 encoded INI-file.
+     */
+    public IncrementalIniFileReader(Path path) {
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the file of the last successful parse, or {@code null} if the file was not parsed yet.
+     */
+    public IniFile getIniFile() {
+        return iniFile;
+    }
+
+    public boolean isParsingComments() {
+        return parseComments;
+    }
+
+    /**
+     * By disabling comment parsing, all comments will be ignored.
+     * Changing this setting makes the next parse decode all sections.
+     *
+     * @param parseComments a boolean setting the parse-comments-mode.
+     */
+    public void setParseComments(boolean parseComments) {
+        if (this.parseComments != parseComments) {
+            this.parseComments = parseComments;
+            iniFile = null;
+            fingerprints = Map.of();
+        }
+    }
+
+    /**
+     * Parses the file and decodes only the sections that changed since the previous parse.
+     * The first parse decodes all sections and reports them as added.
+     *
+     * @return the new {@code IniFile} and the changes since the previous parse.
+     * @throws IOException     if an I/O-error occurs.
+     * @throws FileSyntaxError if a line of a decoded section is invalid.
+     */
+    public IniFileChanges parse() throws IOException {
+        // read instead of mapped, as the file may be truncated by a writer while it is parsed
+        ByteBuffer source = ByteBuffer.wrap(Files.readAllBytes(path));
+        SectionIndex index = SectionIndex.scan(source);
+        List<SectionIndex.Entry> entries = index.entries();
+
+        long newGlobalFingerprint = SectionIndex.fingerprint(source, 0, index.globalEnd());
+        boolean globalValuesChanged = iniFile == null || newGlobalFingerprint != globalFingerprint;
+        KeyValuePairMap globalValues;
+
+        if (globalValuesChanged) {
+            globalValues = new KeyValuePairMap();
+            new IniFileBuilder(globalValues, parseComments).build(new IniEventReader(IniFileReader.range(source, 0, index.globalEnd()), 0));
+        } else {
+            globalValues = iniFile.getGlobalValues();
+        }
+
+        // a later section replaces an earlier one with the same name, but keeps its position
+        Map<String, Integer> effective = new HashMap<>();
+
+        for (int i = 0; i < entries.size(); i++) {
+            effective.put(entries.get(i).name(), i);
+        }
+
+        Map<String, Long> newFingerprints = new HashMap<>();
+        Section[] decoded = new Section[entries.size()];
+        Set<String> added = new HashSet<>();
+        Set<String> changed = new HashSet<>();
+
+        for (int i = 0; i < entries.size(); i++) {
+            SectionIndex.Entry entry = entries.get(i);
+
+            if (effective.get(entry.name()) != i) {
+                // replaced later, but decoded to find syntax errors like a full parse
+                decode(source, entry);
+                continue;
+            }
+
+            long fingerprint = SectionIndex.fingerprint(source, entry.start(), entry.end());
+            Long previous = fingerprints.get(entry.name());
+            newFingerprints.put(entry.name(), fingerprint);
+
+            if (previous != null && previous == fingerprint) {
+                decoded[i] = iniFile.getSections().get(entry.name());
+                continue;
+            }
+
+            decoded[i] = decode(source, entry);
+            (previous == null ? added : changed).add(entry.name());
+        }
+
+        SectionMap sections = new SectionMap();
+
+        for (SectionIndex.Entry entry : entries) {
+            if (!sections.containsKey(entry.name())) {
+                sections.put(entry.name(), decoded[effective.get(entry.name())]);
+            }
+        }
+
+        Set<String> removed = new HashSet<>(fingerprints.keySet());
+        removed.removeAll(newFingerprints.keySet());
+
+        iniFile = new IniFile(globalValues, sections);
+        globalFingerprint = newGlobalFingerprint;
+        fingerprints = newFingerprints;
+
+        return new IniFileChanges(iniFile, globalValuesChanged, Collections.unmodifiableSet(added),
+                Collections.unmodifiableSet(removed), Collections.unmodifiableSet(changed));
+    }
+
+    private Section decode(ByteBuffer source, SectionIndex.Entry entry) throws IOException {
+        Section section = new Section(parseComments ? IniFileReader.readComments(IniFileReader.range(source, entry.start(), entry.headerStart())) : "");
+        new IniFileBuilder(section.getPairMap(), parseComments).build(new IniEventReader(IniFileReader.range(source, entry.bodyStart(), entry.end()), entry.headerLine()));
+        return section;
+    }
+}
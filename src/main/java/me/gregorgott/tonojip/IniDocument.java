@@ -0,0 +1,550 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.exceptions.KeyNullException;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * A lossless view of an INI-file that can change single values without rewriting the file.
+ *
+ * <pre>{@code
+ * IniDocument document = IniDocument.load(Path.of("config.ini"));
+ * document.set("server", "timeout", "30");
+ * document.save();
+ * }</pre>
+ *
+ * <p>The document keeps the UTF-8 bytes of the file and the byte ranges of all values, so the
+ * order of keys and sections, blank lines, comments, comment markers and the formatting around
+ * {@code =} stay as they are. {@link #set(String, String, String)} only records a change: a
+ * changed value replaces the bytes of the old value, a new key is inserted after the last key
+ * of its section, and a new section is appended at the end of the file. New lines use the line
+ * separator of the first line of the file.
+ *
+ * <p>{@link #save()} patches the loaded file in place. If every change keeps the length of its
+ * value, only the changed bytes are written and patched into the loaded bytes, so the cost depends
+ * on the size of the changes, not of the file; otherwise the file is written from the first change
+ * onwards. In contrast to {@link IniFileWriter#write(IniFile, Path)} this is not atomic.
+ *
+ * <p>The same rules as for the {@link IniFileReader} apply: a later section replaces an earlier
+ * one with the same name and a later key replaces an earlier one, so the effective occurrence is
+ * changed. Methods that take a section name treat {@code null} as the global key-value-pairs.
+ *
+ * @author Gregor Gottschewski
+ */
+public class IniDocument {
+    private final Path path;
+    private byte[] source;
+    private FileTime lastModified;
+    private String lineSeparator;
+    private SectionSpan globals;
+    private Map<String, SectionSpan> sections;
+    private final List<KeySpan> changedKeys = new ArrayList<>();
+
+    /**
+     * The effective occurrence of a section (or the global values) in the source.
+     */
+    private static final class SectionSpan {
+        private final Map<String, KeySpan> keys = new HashMap<>();
+        private final Map<String, String> addedPairs = new LinkedHashMap<>();
+        private final boolean added;
+        private int insertAt;
+        private boolean terminated = true;
+
+        private SectionSpan(boolean added) {
+            this.added = added;
+        }
+    }
+
+    /**
+     * A key-value-pair in the source. The value range excludes leading and trailing whitespaces.
+     */
+    private static final class KeySpan {
+        private final int valueStart;
+        private final int valueEnd;
+        private final boolean hasValue;
+        private boolean changed;
+        private String value;
+
+        private KeySpan(int valueStart, int valueEnd, boolean hasValue) {
+            this.valueStart = valueStart;
+            this.valueEnd = valueEnd;
+            this.hasValue = hasValue;
+        }
+    }
+
+    /**
+     * Replaces the bytes from {@code start} to {@code end} of the source.
+     */
+    private record Splice(int start, int end, byte[] bytes) {
+    }
+
+    private IniDocument(Path path, byte[] source, FileTime lastModified) {
+        this.path = path;
+        this.lastModified = lastModified;
+        index(source);
+    }
+
+    /**
+     * Loads the given UTF-8 encoded INI-file.
+     *
+     * @param path path of the INI-file.
+     * @return the document of the file.
+     * @throws IOException       if an I/O-error occurs.
+     * @throws FileSyntaxError   if a line is invalid.
+     * @throws KeyNullException  if a key is empty.
+     */
+    public static IniDocument load(Path path) throws IOException {
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        return new IniDocument(path, Files.readAllBytes(path), lastModified);
+    }
+
+    /**
+     * Creates a document of the given content. Such a document cannot be {@linkplain #save() saved}.
+     *
+     * @param content content of an INI-file.
+     * @return the document of the content.
+     * @throws FileSyntaxError  if a line is invalid.
+     * @throws KeyNullException if a key is empty.
+     */
+    public static IniDocument parse(String content) {
+        return new IniDocument(null, content.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    /**
+     * Scans the source for sections and key-value-pairs with the rules of the {@link IniEventReader}.
+     */
+    private void index(byte[] source) {
+        this.source = source;
+        changedKeys.clear();
+        lineSeparator = null;
+        globals = new SectionSpan(false);
+        sections = new LinkedHashMap<>();
+
+        ByteBuffer buffer = ByteBuffer.wrap(source);
+        SectionSpan current = globals;
+        int pos = 0;
+        int lineNum = 0;
+
+        while (pos < source.length) {
+            int start = pos;
+
+            while (pos < source.length && source[pos] != '\n' && source[pos] != '\r') {
+                pos++;
+            }
+
+            int end = pos;
+            boolean terminated = pos < source.length;
+
+            if (terminated) {
+                pos++;
+
+                if (source[end] == '\r' && pos < source.length && source[pos] == '\n') {
+                    pos++;
+                }
+
+                if (lineSeparator == null) {
+                    lineSeparator = new String(source, end, pos - end, StandardCharsets.ISO_8859_1);
+                }
+            }
+
+            lineNum++;
+
+            if (SectionIndex.isBlank(buffer, start, end) || source[start] == '#' || source[start] == ';') {
+                continue;
+            }
+
+            if (SectionIndex.isSection(buffer, start, end)) {
+                if (source[start + 1] == '.') {
+                    throw new FileSyntaxError(lineNum, decode(start, end), "child section without parent");
+                }
+
+                current = new SectionSpan(false);
+                sections.put(decode(start + 1, end - 1), current);
+            } else {
+                int assign = indexOf(start, end, (byte) '=');
+
+                if (assign < 0) {
+                    throw new FileSyntaxError(lineNum, decode(start, end));
+                }
+
+                int keyStart = skipWhitespace(start, assign);
+                int keyEnd = skipTrailingWhitespace(keyStart, assign);
+
+                if (keyStart == keyEnd) {
+                    throw new KeyNullException();
+                }
+
+                int valueStart = skipWhitespace(assign + 1, end);
+                int valueEnd = skipTrailingWhitespace(valueStart, end);
+                current.keys.put(decode(keyStart, keyEnd), new KeySpan(valueStart, valueEnd, assign + 1 < end));
+            }
+
+            current.insertAt = pos;
+            current.terminated = terminated;
+        }
+
+        if (lineSeparator == null) {
+            lineSeparator = "\n";
+        }
+    }
+
+    private int indexOf(int start, int end, byte b) {
+        for (int i = start; i < end; i++) {
+            if (source[i] == b) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int skipWhitespace(int start, int end) {
+        while (start < end && (source[start] & 0xFF) <= ' ') {
+            start++;
+        }
+
+        return start;
+    }
+
+    private int skipTrailingWhitespace(int start, int end) {
+        while (end > start && (source[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+
+        return end;
+    }
+
+    private String decode(int start, int end) {
+        return new String(source, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private SectionSpan getSectionSpan(String section) {
+        return section == null ? globals : sections.get(section);
+    }
+
+    /**
+     * Returns the current value of a key, including changes that are not saved yet.
+     *
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @return the value without leading and trailing whitespaces, or {@code null} if there is
+     * no such key or nothing follows the {@code =}.
+     */
+    public String get(String section, String key) {
+        SectionSpan span = getSectionSpan(section);
+
+        if (span == null) {
+            return null;
+        }
+
+        KeySpan keySpan = span.keys.get(key);
+
+        if (keySpan == null) {
+            return span.addedPairs.get(key);
+        }
+
+        if (keySpan.changed) {
+            return keySpan.value;
+        }
+
+        return keySpan.hasValue ? decode(keySpan.valueStart, keySpan.valueEnd) : null;
+    }
+
+    /**
+     * Sets the value of a key. A missing key is added after the last key of its section,
+     * a missing section is added at the end of the file.
+     *
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @param value   the new value, or {@code null} to write nothing after the {@code =}.
+     * @throws KeyNullException         if the key is null or blank.
+     * @throws IllegalArgumentException if the section, key or value would change the structure of the file.
+     */
+    public void set(String section, String key, String value) {
+        if (key == null || key.isBlank()) {
+            throw new KeyNullException();
+        }
+
+        checkText(key, "key");
+
+        if (key.indexOf('=') >= 0 || !key.equals(key.trim()) || key.charAt(0) == '#' || key.charAt(0) == ';' || key.charAt(0) == '[') {
+            throw new IllegalArgumentException("Invalid key: '" + key + "'");
+        }
+
+        if (value != null) {
+            checkText(value, "value");
+
+            if (!value.equals(value.trim())) {
+                throw new IllegalArgumentException("The value must not start or end with whitespaces: '" + value + "'");
+            }
+        }
+
+        SectionSpan span = getSectionSpan(section);
+
+        if (span == null) {
+            checkText(section, "section");
+
+            if (section.isEmpty() || section.charAt(0) == '.' || section.indexOf('[') >= 0 || section.indexOf(']') >= 0) {
+                throw new IllegalArgumentException("Invalid section name: '" + section + "'");
+            }
+
+            span = new SectionSpan(true);
+            sections.put(section, span);
+        }
+
+        KeySpan keySpan = span.keys.get(key);
+
+        if (keySpan == null) {
+            span.addedPairs.put(key, value);
+        } else {
+            if (!keySpan.changed) {
+                changedKeys.add(keySpan);
+            }
+
+            keySpan.changed = true;
+            keySpan.value = value;
+        }
+    }
+
+    private static void checkText(String text, String name) {
+        if (text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("The " + name + " must not contain line breaks");
+        }
+    }
+
+    /**
+     * @return {@code true} if there are changes that are not saved yet.
+     */
+    public boolean isModified() {
+        return !splices().isEmpty();
+    }
+
+    /**
+     * @return the changes in the order of the source.
+     */
+    private List<Splice> splices() {
+        List<Splice> splices = new ArrayList<>();
+        List<Splice> insertions = new ArrayList<>();
+        StringBuilder added = new StringBuilder();
+        addSplices(globals, splices, insertions);
+
+        for (Map.Entry<String, SectionSpan> entry : sections.entrySet()) {
+            SectionSpan span = entry.getValue();
+
+            if (span.added) {
+                added.append('[').append(entry.getKey()).append(']').append(lineSeparator);
+                appendPairs(span, added);
+            } else {
+                addSplices(span, splices, insertions);
+            }
+        }
+
+        splices.addAll(insertions);
+
+        if (!added.isEmpty()) {
+            // insertions end with a line separator, too
+            boolean terminated = source.length == 0 || source[source.length - 1] == '\n' || source[source.length - 1] == '\r'
+                    || insertions.stream().anyMatch(insertion -> insertion.start() == source.length);
+            splices.add(new Splice(source.length, source.length, bytes(terminated ? "" : lineSeparator, added)));
+        }
+
+        // stable, so an insertion follows a changed value at the same position
+        splices.sort(Comparator.comparingInt(Splice::start));
+        return splices;
+    }
+
+    private void addSplices(SectionSpan span, List<Splice> splices, List<Splice> insertions) {
+        for (KeySpan keySpan : span.keys.values()) {
+            if (keySpan.changed) {
+                String value = keySpan.value != null ? keySpan.value : "";
+                splices.add(new Splice(keySpan.valueStart, keySpan.valueEnd, value.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        if (!span.addedPairs.isEmpty()) {
+            StringBuilder pairs = new StringBuilder();
+            appendPairs(span, pairs);
+            insertions.add(new Splice(span.insertAt, span.insertAt, bytes(span.terminated ? "" : lineSeparator, pairs)));
+        }
+    }
+
+    private void appendPairs(SectionSpan span, StringBuilder sb) {
+        span.addedPairs.forEach((key, value) -> {
+            sb.append(key).append('=');
+
+            if (value != null) {
+                sb.append(value);
+            }
+
+            sb.append(lineSeparator);
+        });
+    }
+
+    private static byte[] bytes(String prefix, CharSequence text) {
+        return (prefix + text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the source with all changes as buffers.
+     */
+    private ByteBuffer[] render(List<Splice> splices) {
+        List<ByteBuffer> buffers = new ArrayList<>(splices.size() * 2 + 1);
+        int pos = 0;
+
+        for (Splice splice : splices) {
+            buffers.add(ByteBuffer.wrap(source, pos, splice.start() - pos));
+            buffers.add(ByteBuffer.wrap(splice.bytes()));
+            pos = splice.end();
+        }
+
+        buffers.add(ByteBuffer.wrap(source, pos, source.length - pos));
+        return buffers.toArray(new ByteBuffer[0]);
+    }
+
+    private byte[] content(List<Splice> splices) {
+        ByteBuffer[] buffers = render(splices);
+        long size = 0;
+
+        for (ByteBuffer buffer : buffers) {
+            size += buffer.remaining();
+        }
+
+        ByteBuffer content = ByteBuffer.allocate(Math.toIntExact(size));
+
+        for (ByteBuffer buffer : buffers) {
+            content.put(buffer);
+        }
+
+        return content.array();
+    }
+
+    /**
+     * Writes the whole document with all changes.
+     *
+     * @param out the channel to write to.
+     * @throws IOException if an I/O-error occurs.
+     */
+    public void writeTo(WritableByteChannel out) throws IOException {
+        for (ByteBuffer buffer : render(splices())) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Writes the changes into the loaded file. Afterward, the document represents the saved file.
+     *
+     * @throws IOException           if an I/O-error occurs or the file was changed since it was loaded.
+     * @throws IllegalStateException if the document was not loaded from a file.
+     */
+    public void save() throws IOException {
+        if (path == null) {
+            throw new IllegalStateException("The document was not loaded from a file");
+        }
+
+        List<Splice> splices = splices();
+
+        if (splices.isEmpty()) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() != source.length || !Files.getLastModifiedTime(path).equals(lastModified)) {
+                throw new IOException("The file was changed since it was loaded: " + path);
+            }
+
+            if (splices.stream().allMatch(splice -> splice.bytes().length == splice.end() - splice.start())) {
+                // only changed values of the same length, so all offsets stay valid
+                for (Splice splice : splices) {
+                    write(channel, ByteBuffer.wrap(splice.bytes()), splice.start());
+                }
+
+                channel.force(true);
+
+                for (Splice splice : splices) {
+                    System.arraycopy(splice.bytes(), 0, source, splice.start(), splice.bytes().length);
+                }
+
+                for (KeySpan keySpan : changedKeys) {
+                    keySpan.changed = false;
+                    keySpan.value = null;
+                }
+
+                changedKeys.clear();
+            } else {
+                byte[] saved = content(splices);
+                int from = splices.getFirst().start();
+                write(channel, ByteBuffer.wrap(saved, from, saved.length - from), from);
+                channel.truncate(saved.length);
+                channel.force(true);
+                index(saved);
+            }
+        }
+
+        lastModified = Files.getLastModifiedTime(path);
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * @return a new {@code IniFile} with the content of this document, including unsaved changes.
+     */
+    public IniFile toIniFile() {
+        IniFile iniFile = new IniFile();
+
+        try {
+            new IniFileBuilder(iniFile, true).build(new IniEventReader(ByteBuffer.wrap(content(splices())), 0));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return iniFile;
+    }
+
+    /**
+     * @return the content of the document, including unsaved changes.
+     */
+    @Override
+    public String toString() {
+        return new String(content(splices()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+/**
+ * The events emitted by an {@link IniEventReader}.
+ *
+ * @author Gregor Gottschewski
+ */
+public enum IniEvent {
+    /**
+     * A section header like {@code [section]}.
+     *
+     * @see IniEventReader#getSectionName()
+     */
+    SECTION_START,
+    /**
+     * A comment line starting with {@code #} or {@code ;}.
+     *
+     * @see IniEventReader#getComment()
+     */
+    COMMENT,
+    /**
+     * A key-value assignment like {@code key=value}.
+     *
+     * @see IniEventReader#getKey()
+     * @see IniEventReader#getValue()
+     */
+    KEY_VALUE,
+    /**
+     * The end of the INI-file. No further events follow.
+     */
+    END
+}
@@ -0,0 +1,576 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static me.gregorgott.tonojip.Symbols.*;
+
+/**
+ * A pull reader for INI-files. In contrast to the {@link IniFileReader} it does not build an
+ * {@code IniFile}, but reports one {@link IniEvent} per line, so files of any size can be
+ * read in constant memory.
+ *
+ * <p>The section name, comment, key and value of the current event are views into the
+ * reader's buffer. They are only valid until the next call of {@link #next()}; call
+ * {@code toString()} on them to keep them.
+ * <pre>{@code
+ * try (IniEventReader reader = new IniEventReader(in)) {
+ *     IniEvent event;
+ *     while ((event = reader.next()) != IniEvent.END) {
+ *         if (event == IniEvent.KEY_VALUE) {
+ *             System.out.println(reader.getKey() + " -> " + reader.getValue());
+ *         }
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Blank lines are skipped. A line that is neither a comment, a section header nor a
+ * key-value assignment causes a {@link FileSyntaxError}. With {@link #setDiagnostics(Diagnostics)},
+ * such lines and assignments without a key are recorded and skipped instead.
+ *
+ * @author Gregor Gottschewski
+ * @see IniEvent
+ */
+public class IniEventReader implements Closeable {
+    private static final char HASHTAG = COMMENT_HASHTAG.charAt(0);
+    private static final char SEMICOLON = COMMENT_SEMICOLON.charAt(0);
+    private static final char OPEN_BRACKET = SECTION_START.charAt(0);
+    private static final char CLOSE_BRACKET = SECTION_END.charAt(0);
+    private static final char EQUALS = ASSIGN.charAt(0);
+
+    private final LineSource source;
+    private final Slice line = new Slice();
+    private final Slice sectionName = new Slice();
+    private final Slice comment = new Slice();
+    private final Slice key = new Slice();
+    private final Slice value = new Slice();
+    private IniEvent event;
+    private int lineNum;
+    private boolean hasValue;
+    private Diagnostics diagnostics;
+
+    /**
+     * Constructs a new event reader that reads the INI-file from the given reader.
+     *
+     * @param in {@code reader} containing the INI-file.
+     */
+    public IniEventReader(Reader in) {
+        this(new ReaderSource(in), 0);
+    }
+
+    /**
+     * Constructs a new event reader that memory-maps the given UTF-8 encoded file.
+     * Lines with ASCII characters only are read directly from the mapped bytes.
+     *
+     * @param path path of the INI-file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public IniEventReader(Path path) throws IOException {
+        this(new BufferSource(FileChannel.open(path, StandardOpenOption.READ)), 0);
+    }
+
+    /**
+     * Constructs a new event reader that reads the UTF-8 encoded bytes between the position
+     * and the limit of the given buffer.
+     *
+     * @param buffer    buffer containing the INI-file or a part of it.
+     * @param firstLine number of the line before the first line of the buffer.
+     */
+    IniEventReader(ByteBuffer buffer, int firstLine) {
+        this(new BufferSource(buffer), firstLine);
+    }
+
+    private IniEventReader(LineSource source, int firstLine) {
+        this.source = source;
+        this.lineNum = firstLine;
+    }
+
+    /**
+     * Reads the next event.
+     *
+     * @return the next event, or {@link IniEvent#END} if the end of the file is reached.
+     * @throws IOException     if an I/O-error occurs.
+     * @throws FileSyntaxError if the next non-blank line is invalid and no diagnostics are set.
+     */
+    public IniEvent next() throws IOException {
+        while (source.nextLine(line)) {
+            lineNum++;
+
+            if (line.isBlank()) {
+                continue;
+            }
+
+            char first = line.charAt(0);
+
+            if (first == HASHTAG || first == SEMICOLON) {
+                comment.set(line, 1, line.length());
+                return event = IniEvent.COMMENT;
+            }
+
+            if (isSection(line)) {
+                if (line.charAt(1) == '.') {
+                    if (recover(Diagnostics.Kind.CHILD_SECTION_WITHOUT_PARENT, 2)) {
+                        continue;
+                    }
+
+                    throw new FileSyntaxError(lineNum, line.toString(), "child section without parent");
+                }
+
+                sectionName.set(line, 1, line.length() - 1);
+                return event = IniEvent.SECTION_START;
+            }
+
+            int assign = line.indexOf(EQUALS);
+
+            if (assign >= 0) {
+                key.setTrimmed(line, 0, assign);
+
+                if (key.length() == 0 && recover(Diagnostics.Kind.EMPTY_KEY, assign + 1)) {
+                    continue;
+                }
+
+                hasValue = assign < line.length() - 1;
+
+                if (hasValue) {
+                    value.setTrimmed(line, assign + 1, line.length());
+                }
+
+                return event = IniEvent.KEY_VALUE;
+            }
+
+            if (recover(first == OPEN_BRACKET ? Diagnostics.Kind.INVALID_SECTION_HEADER : Diagnostics.Kind.INVALID_LINE, 1)) {
+                continue;
+            }
+
+            throw new FileSyntaxError(lineNum, line.toString());
+        }
+
+        return event = IniEvent.END;
+    }
+
+    /**
+     * Records an error of the current line if diagnostics are set.
+     *
+     * @return {@code true} if the line is to be skipped, {@code false} if the error is to be thrown.
+     */
+    private boolean recover(Diagnostics.Kind kind, int column) {
+        if (diagnostics == null) {
+            return false;
+        }
+
+        diagnostics.add(lineNum, column, kind);
+        return true;
+    }
+
+    public Diagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Sets the diagnostics that record invalid lines, which are then skipped instead of causing
+     * a {@link FileSyntaxError}. Assignments without a key, which an {@code IniFile} does not
+     * accept, are recorded and skipped as well. By default, there are no diagnostics.
+     *
+     * @param diagnostics the diagnostics, or {@code null} to throw errors.
+     */
+    public void setDiagnostics(Diagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * @return the current event, or {@code null} if {@link #next()} has not been called yet.
+     */
+    public IniEvent getEventType() {
+        return event;
+    }
+
+    /**
+     * @return the number of the line of the current event, starting at 1.
+     */
+    public int getLineNumber() {
+        return lineNum;
+    }
+
+    /**
+     * @return the number of bytes (or characters of a {@code Reader}) read so far; after
+     * {@link IniEvent#END} the size of the source.
+     */
+    long getSize() {
+        return source.size();
+    }
+
+    /**
+     * @return the name of the section without brackets if the current event is {@link IniEvent#SECTION_START}.
+     */
+    public CharSequence getSectionName() {
+        return event == IniEvent.SECTION_START ? sectionName : null;
+    }
+
+    /**
+     * @return the comment without the leading {@code #} or {@code ;} if the current event is {@link IniEvent#COMMENT}.
+     */
+    public CharSequence getComment() {
+        return event == IniEvent.COMMENT ? comment : null;
+    }
+
+    /**
+     * @return the key without leading and trailing whitespaces if the current event is {@link IniEvent#KEY_VALUE}.
+     */
+    public CharSequence getKey() {
+        return event == IniEvent.KEY_VALUE ? key : null;
+    }
+
+    /**
+     * Returns the value without leading and trailing whitespaces if the current event is
+     * {@link IniEvent#KEY_VALUE}. Nothing after the {@code =} (like in {@code key=}) is
+     * reported as {@code null}, while whitespaces only (like in {@code key= }) are reported
+     * as an empty value.
+     *
+     * @return the value of the current key-value-pair.
+     */
+    public CharSequence getValue() {
+        return event == IniEvent.KEY_VALUE && hasValue ? value : null;
+    }
+
+    /**
+     * Closes the underlying reader or file.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    /**
+     * Checks if the given line is a section header.
+     * A section header has to match these rules
+     * <ol>
+     *     <li>the opening bracket '{@code [}' is the first character in the line</li>
+     *     <li>the closing bracket '{@code ]}' is the last character in the line</li>
+     *     <li>there is only one closing and opening bracket in the line</li>
+     * </ol>
+     *
+     * @param line the line to check
+     * @return {@code true} if the line is a section header, {@code false} otherwise
+     */
+    private static boolean isSection(Slice line) {
+        int last = line.length() - 1;
+
+        if (last < 1 || line.charAt(0) != OPEN_BRACKET || line.charAt(last) != CLOSE_BRACKET) {
+            return false;
+        }
+
+        for (int i = 1; i < last; i++) {
+            char c = line.charAt(i);
+
+            if (c == OPEN_BRACKET || c == CLOSE_BRACKET) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A source of lines. Lines are terminated like in {@link java.io.BufferedReader#readLine()}
+     * by {@code \n}, {@code \r} or {@code \r\n}.
+     */
+    private abstract static class LineSource implements Closeable {
+        /**
+         * Points the given slice to the next line without line terminator.
+         *
+         * @return {@code false} if there are no more lines.
+         */
+        abstract boolean nextLine(Slice line) throws IOException;
+
+        /**
+         * @return the number of bytes or characters read so far.
+         */
+        abstract long size();
+    }
+
+    /**
+     * Reads lines from a {@code Reader} into a reusable buffer that grows with the longest line.
+     */
+    private static final class ReaderSource extends LineSource {
+        private final Reader in;
+        private char[] buffer = new char[8192];
+        private int pos;
+        private int limit;
+        private boolean skipLineFeed;
+        private boolean eof;
+        private long read;
+
+        ReaderSource(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        boolean nextLine(Slice line) throws IOException {
+            if (skipLineFeed) {
+                if (pos == limit && !fill()) {
+                    return false;
+                }
+
+                if (buffer[pos] == '\n') {
+                    pos++;
+                }
+
+                skipLineFeed = false;
+            }
+
+            int scan = pos;
+
+            while (true) {
+                while (scan < limit) {
+                    char c = buffer[scan];
+
+                    if (c == '\n' || c == '\r') {
+                        line.set(buffer, pos, scan);
+                        pos = scan + 1;
+                        skipLineFeed = c == '\r';
+                        return true;
+                    }
+
+                    scan++;
+                }
+
+                int scanned = scan - pos;
+
+                if (!fill()) {
+                    if (pos < limit) {
+                        line.set(buffer, pos, limit);
+                        pos = limit;
+                        return true;
+                    }
+
+                    return false;
+                }
+
+                scan = pos + scanned;
+            }
+        }
+
+        /**
+         * Moves the unread characters to the start of the buffer and reads more characters.
+         *
+         * @return {@code false} if the end of the stream is reached.
+         */
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+
+            if (pos > 0) {
+                System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            }
+
+            if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int read = in.read(buffer, limit, buffer.length - limit);
+
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+
+            limit += read;
+            this.read += read;
+            return true;
+        }
+
+        @Override
+        long size() {
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads lines from UTF-8 encoded bytes. A file is memory-mapped window by window, every
+     * window except the last one ends after a line feed, so no line is split. Lines with ASCII
+     * characters only are viewed directly, other lines are decoded into a reusable buffer.
+     */
+    private static final class BufferSource extends LineSource {
+        /**
+         * Maximum number of bytes mapped at once.
+         */
+        private static final long MAP_WINDOW = 1L << 30;
+
+        private final FileChannel channel;
+        private long mapped;
+        private ByteBuffer buffer;
+        private ByteBuffer decodeView;
+        private int pos;
+        private int limit;
+        private CharsetDecoder decoder;
+        private CharBuffer decoded;
+        private long size;
+
+        BufferSource(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        BufferSource(ByteBuffer buffer) {
+            this.channel = null;
+            this.size = buffer.remaining();
+            setBuffer(buffer, buffer.position(), buffer.limit());
+        }
+
+        @Override
+        boolean nextLine(Slice line) throws IOException {
+            if (pos == limit && !mapNextWindow()) {
+                return false;
+            }
+
+            int start = pos;
+            int ascii = 0;
+            byte b = 0;
+
+            while (pos < limit && (b = buffer.get(pos)) != '\n' && b != '\r') {
+                ascii |= b;
+                pos++;
+            }
+
+            int end = pos;
+
+            if (pos < limit) {
+                pos++;
+
+                if (b == '\r' && pos < limit && buffer.get(pos) == '\n') {
+                    pos++;
+                }
+            }
+
+            if (ascii < 0) {
+                decode(line, start, end);
+            } else {
+                line.set(buffer, start, end);
+            }
+
+            return true;
+        }
+
+        private boolean mapNextWindow() throws IOException {
+            if (channel == null) {
+                return false;
+            }
+
+            long fileSize = channel.size();
+
+            if (mapped >= fileSize) {
+                return false;
+            }
+
+            long length = Math.min(MAP_WINDOW, fileSize - mapped);
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, mapped, length);
+            int windowLimit = (int) length;
+
+            if (mapped + length < fileSize) {
+                windowLimit = lastLineEnd(window, windowLimit);
+            }
+
+            setBuffer(window, 0, windowLimit);
+            mapped += windowLimit;
+            size = mapped;
+            return true;
+        }
+
+        private static int lastLineEnd(ByteBuffer window, int limit) throws IOException {
+            for (int i = limit - 1; i >= 0; i--) {
+                if (window.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+
+            throw new IOException("Line is longer than " + MAP_WINDOW + " bytes");
+        }
+
+        private void setBuffer(ByteBuffer buffer, int pos, int limit) {
+            this.buffer = buffer;
+            this.decodeView = null;
+            this.pos = pos;
+            this.limit = limit;
+        }
+
+        private void decode(Slice line, int start, int end) {
+            if (decoder == null) {
+                decoder = StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            }
+
+            if (decodeView == null) {
+                decodeView = buffer.duplicate();
+            }
+
+            // UTF-8 never decodes to more chars than bytes
+            if (decoded == null || decoded.capacity() < end - start) {
+                decoded = CharBuffer.allocate(Math.max(end - start, 256));
+            }
+
+            decodeView.clear().position(start).limit(end);
+            decoded.clear();
+            decoder.reset();
+            decoder.decode(decodeView, decoded, true);
+            decoder.flush(decoded);
+            line.set(decoded.array(), 0, decoded.position());
+        }
+
+        @Override
+        long size() {
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
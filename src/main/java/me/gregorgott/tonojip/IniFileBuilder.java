@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.*;
+
+import java.io.IOException;
+
+/**
+ * Builds the objects of an {@link IniFile} from the events of an {@link IniEventReader}.
+ * Comments are collected and attached to the next section or key.
+ *
+ * @author Gregor Gottschewski
+ */
+final class IniFileBuilder {
+    private final IniFile iniFile;
+    private final boolean parseComments;
+    private final InternPool internPool;
+    private final StringBuilder commentBuilder = new StringBuilder();
+    private KeyValuePairMap currentPairs;
+    private SchemaValidator validator;
+    private int lines;
+    private int sections;
+    private int pairs;
+    private int comments;
+
+    /**
+     * Creates a builder that adds sections and pairs to the given {@code IniFile}.
+     * Pairs before the first section are global values.
+     *
+     * @param iniFile       the file to build.
+     * @param parseComments {@code false} to ignore all comments.
+     */
+    IniFileBuilder(IniFile iniFile, boolean parseComments) {
+        this(iniFile, parseComments, InternPool.NONE);
+    }
+
+    /**
+     * Creates a builder that adds sections and pairs to the given {@code IniFile} and takes
+     * names and values from the given pool.
+     *
+     * @param iniFile       the file to build.
+     * @param parseComments {@code false} to ignore all comments.
+     * @param internPool    the pool of names and values.
+     */
+    IniFileBuilder(IniFile iniFile, boolean parseComments, InternPool internPool) {
+        this(iniFile, iniFile.getGlobalValues(), parseComments, internPool);
+    }
+
+    /**
+     * Creates a builder that adds all pairs to the given map. Used to decode the
+     * body of a single section, which contains no section headers.
+     *
+     * @param pairs         the map to add pairs to.
+     * @param parseComments {@code false} to ignore all comments.
+     */
+    IniFileBuilder(KeyValuePairMap pairs, boolean parseComments) {
+        this(pairs, parseComments, InternPool.NONE);
+    }
+
+    /**
+     * Creates a builder that adds all pairs to the given map and takes names and values from
+     * the given pool.
+     *
+     * @param pairs         the map to add pairs to.
+     * @param parseComments {@code false} to ignore all comments.
+     * @param internPool    the pool of names and values.
+     */
+    IniFileBuilder(KeyValuePairMap pairs, boolean parseComments, InternPool internPool) {
+        this(null, pairs, parseComments, internPool);
+    }
+
+    private IniFileBuilder(IniFile iniFile, KeyValuePairMap pairs, boolean parseComments, InternPool internPool) {
+        this.iniFile = iniFile;
+        this.currentPairs = pairs;
+        this.parseComments = parseComments;
+        this.internPool = internPool;
+    }
+
+    /**
+     * Consumes all events of the given reader.
+     *
+     * @param events the reader to consume.
+     * @throws IOException if an I/O-error occurs.
+     */
+    void build(IniEventReader events) throws IOException {
+        int firstLine = events.getLineNumber();
+        IniEvent event;
+
+        while ((event = events.next()) != IniEvent.END) {
+            switch (event) {
+                case COMMENT -> handleComment(events.getComment());
+                case SECTION_START -> handleSection(events.getSectionName(), events.getLineNumber());
+                case KEY_VALUE -> handleKeyAssignment(events.getKey(), events.getValue(), events.getLineNumber());
+            }
+        }
+
+        lines += events.getLineNumber() - firstLine;
+    }
+
+    /**
+     * Appends the comment to the comment of the next section or key if comment parsing is enabled.
+     *
+     * @param comment the comment without the leading {@code #} or {@code ;}.
+     */
+    void handleComment(CharSequence comment) {
+        comments++;
+
+        if (parseComments) {
+            commentBuilder.append(comment);
+        }
+    }
+
+    /**
+     * Starts a new section. All following key-value-pairs are added to this section.
+     *
+     * @param sectionName the name of the section without brackets.
+     * @param lineNum     the line of the section header.
+     */
+    void handleSection(CharSequence sectionName, int lineNum) {
+        sections++;
+        Section section = new Section();
+        section.setComment(getComment());
+        String name = internPool.intern(sectionName);
+        iniFile.getSections().put(name, section);
+        currentPairs = section.getPairMap();
+
+        if (validator != null) {
+            validator.section(name, lineNum);
+        }
+    }
+
+    /**
+     * Adds the key-value-pair to the current section or global values.
+     *
+     * @param key     the key of the assignment.
+     * @param value   the value of the assignment or {@code null} if the assignment has no value.
+     * @param lineNum the line of the assignment.
+     */
+    void handleKeyAssignment(CharSequence key, CharSequence value, int lineNum) {
+        pairs++;
+        Key k = getKey(key);
+        Value v = getValue(value);
+        currentPairs.put(k, v);
+
+        if (validator != null) {
+            validator.pair(k.getKey(), v, lineNum);
+        }
+    }
+
+    /**
+     * Sets the validator that checks all following sections and key-value-pairs.
+     *
+     * @param validator the validator, or {@code null} to check nothing.
+     */
+    void setValidator(SchemaValidator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Saves the {@code commentBuilder} in a string and resets the builder if comment parsing is enabled.
+     *
+     * @return the current comment as a string if comment parsing is enabled, an empty string otherwise.
+     */
+    String getComment() {
+        if (!parseComments) {
+            return "";
+        }
+
+        String comment = commentBuilder.toString();
+        commentBuilder.setLength(0);
+        return comment;
+    }
+
+    /**
+     * Adds the numbers of the lines, section headers, key-value-pairs and comment lines this
+     * builder has consumed to the given counts.
+     *
+     * @param counts the counts to add to.
+     */
+    void addCounts(ParseCounts counts) {
+        counts.lines += lines;
+        counts.sections += sections;
+        counts.pairs += pairs;
+        counts.comments += comments;
+    }
+
+    private Key getKey(CharSequence name) {
+        Key key = new Key(internPool.intern(name));
+        key.setComment(getComment());
+        return key;
+    }
+
+    private Value getValue(CharSequence value) {
+        return value != null ? internPool.internValue(value) : Value.EMPTY_VALUE;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.IniFile;
+
+import java.util.Set;
+
+/**
+ * The result of an {@link IncrementalIniFileReader#parse()}: the new {@link IniFile} and what
+ * changed since the previous parse. Sections that are not listed as added or changed are the
+ * same {@link me.gregorgott.tonojip.iniobjects.Section} instances as in the previous {@code IniFile}.
+ *
+ * @param iniFile             the parsed file.
+ * @param globalValuesChanged {@code true} if the global values were decoded again.
+ * @param addedSections       names of the sections that are new.
+ * @param removedSections     names of the sections that no longer exist.
+ * @param changedSections     names of the sections that were decoded again.
+ * @author Gregor Gottschewski
+ */
+public record IniFileChanges(IniFile iniFile, boolean globalValuesChanged, Set<String> addedSections,
+                             Set<String> removedSections, Set<String> changedSections) {
+    /**
+     * @return {@code true} if anything changed since the previous parse.
+     */
+    public boolean hasChanges() {
+        return globalValuesChanged || !addedSections.isEmpty() || !removedSections.isEmpty() || !changedSections.isEmpty();
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+import static me.gregorgott.tonojip.CompiledFormat.*;
+
+/**
+ * Compiles {@link IniFile}s into a binary format that can be loaded as {@link CompiledIniFile}
+ * without parsing text.
+ *
+ * <pre>{@code
+ * CompiledIniFile config = IniFileCompiler.loadOrCompile(Path.of("config.ini"), Path.of("config.ini.bin"));
+ * }</pre>
+ *
+ * <p>The compiled file contains a table of all distinct strings, the sections and keys sorted
+ * by hash for binary search together with their order in the source, and the values converted
+ * to long, double or boolean where possible.
+ * It also stores the size and modification time of the source file, so a stale compiled file is
+ * detected, and a checksum of its content.
+ *
+ * @author Gregor Gottschewski
+ * @see CompiledIniFile
+ */
+public final class IniFileCompiler {
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+    private int stringBytes;
+
+    private IniFileCompiler() {
+    }
+
+    /**
+     * Parses the source and compiles it. The compiled file remembers the size and modification
+     * time of the source, see {@link CompiledIniFile#isUpToDate(Path)}.
+     *
+     * @param source path of the UTF-8 encoded INI-file.
+     * @param target path of the compiled file, which is replaced atomically.
+     * @throws IOException                                        if an I/O-error occurs.
+     * @throws me.gregorgott.tonojip.exceptions.FileSyntaxError if a line of the source is invalid.
+     */
+    public static void compile(Path source, Path target) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        IniFile iniFile = IniFileReader.parse(source);
+        AtomicFiles.replace(target, new IniFileCompiler().compile(iniFile, attributes.size(), attributes.lastModifiedTime().toMillis()));
+    }
+
+    /**
+     * Compiles the given {@code IniFile}. The compiled file is never up-to-date with a source.
+     *
+     * @param iniFile the file to compile.
+     * @param target  path of the compiled file, which is replaced atomically.
+     * @throws IOException if an I/O-error occurs.
+     */
+    public static void compile(IniFile iniFile, Path target) throws IOException {
+        AtomicFiles.replace(target, new IniFileCompiler().compile(iniFile, UNKNOWN, UNKNOWN));
+    }
+
+    /**
+     * Loads the compiled file if it is valid and up-to-date with the source. Otherwise, the source
+     * is compiled again and the new compiled file is loaded.
+     *
+     * @param source   path of the UTF-8 encoded INI-file.
+     * @param compiled path of the compiled file.
+     * @return the loaded compiled file.
+     * @throws IOException                                        if an I/O-error occurs.
+     * @throws me.gregorgott.tonojip.exceptions.FileSyntaxError if a line of the source is invalid.
+     */
+    public static CompiledIniFile loadOrCompile(Path source, Path compiled) throws IOException {
+        if (Files.exists(compiled)) {
+            try {
+                CompiledIniFile loaded = CompiledIniFile.load(compiled);
+
+                if (loaded.isUpToDate(source)) {
+                    return loaded;
+                }
+            } catch (IOException e) {
+                // invalid or unreadable, compile again
+            }
+        }
+
+        compile(source, compiled);
+        return CompiledIniFile.load(compiled);
+    }
+
+    private ByteBuffer compile(IniFile iniFile, long sourceSize, long sourceModified) {
+        List<Map.Entry<String, Section>> sections = new ArrayList<>(iniFile.getSections().entrySet());
+        int[] sortedSections = sortByHash(sections.size(), i -> sections.get(i).getKey().hashCode());
+
+        int pairCount = iniFile.getGlobalValues().size();
+
+        for (Map.Entry<String, Section> section : sections) {
+            pairCount += section.getValue().getPairMap().size();
+        }
+
+        ByteBuffer sectionRecords = ByteBuffer.allocate((sections.size() + 1) * SECTION_RECORD_SIZE);
+        ByteBuffer pairRecords = ByteBuffer.allocate(pairCount * PAIR_RECORD_SIZE);
+        ByteBuffer sectionOrder = ByteBuffer.allocate(sections.size() * Integer.BYTES);
+        ByteBuffer pairOrder = ByteBuffer.allocate(pairCount * Integer.BYTES);
+
+        writeSection(sectionRecords, pairRecords, pairOrder, 0, null, null, iniFile.getGlobalValues());
+
+        for (int i = 0; i < sortedSections.length; i++) {
+            Map.Entry<String, Section> section = sections.get(sortedSections[i]);
+            Section value = section.getValue();
+            sectionOrder.putInt(sortedSections[i] * Integer.BYTES, i + 1);
+            writeSection(sectionRecords, pairRecords, pairOrder, section.getKey().hashCode(), section.getKey(), value.getComment(), value.getPairMap());
+        }
+
+        int payloadLength = COUNTS_SIZE + sectionRecords.capacity() + pairRecords.capacity()
+                + sectionOrder.capacity() + pairOrder.capacity() + (strings.size() + 1) * Integer.BYTES + stringBytes;
+        ByteBuffer file = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+
+        file.position(HEADER_SIZE);
+        file.putInt(sections.size()).putInt(pairCount).putInt(strings.size());
+        file.put(sectionRecords.flip()).put(pairRecords.flip()).put(sectionOrder).put(pairOrder);
+
+        int offset = 0;
+
+        for (byte[] string : strings) {
+            file.putInt(offset);
+            offset += string.length;
+        }
+
+        file.putInt(offset);
+
+        for (byte[] string : strings) {
+            file.put(string);
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(file.flip().position(HEADER_SIZE));
+
+        file.putInt(0, MAGIC).putShort(4, VERSION).putShort(6, (short) 0)
+                .putLong(SOURCE_SIZE_OFFSET, sourceSize).putLong(SOURCE_MODIFIED_OFFSET, sourceModified)
+                .putInt(PAYLOAD_LENGTH_OFFSET, payloadLength).putInt(CHECKSUM_OFFSET, (int) checksum.getValue());
+        return file.rewind();
+    }
+
+    private void writeSection(ByteBuffer sectionRecords, ByteBuffer pairRecords, ByteBuffer pairOrder, int hash, String name, String comment, KeyValuePairMap pairs) {
+        List<Map.Entry<Key, Value>> entries = new ArrayList<>(pairs.entrySet());
+        int[] sortedEntries = sortByHash(entries.size(), i -> entries.get(i).getKey().hashCode());
+        int firstPair = pairRecords.position() / PAIR_RECORD_SIZE;
+
+        sectionRecords.putInt(hash).putInt(stringIndex(name)).putInt(stringIndex(comment))
+                .putInt(firstPair).putInt(entries.size());
+
+        for (int i = 0; i < sortedEntries.length; i++) {
+            Key key = entries.get(sortedEntries[i]).getKey();
+            Value value = entries.get(sortedEntries[i]).getValue();
+            pairOrder.putInt((firstPair + sortedEntries[i]) * Integer.BYTES, firstPair + i);
+            pairRecords.putInt(key.hashCode()).putInt(stringIndex(key.getKey())).putInt(stringIndex(key.getComment()))
+                    .putInt(stringIndex(value.getAsString()));
+            writeTypedValue(pairRecords, value);
+        }
+    }
+
+    /**
+     * @return the positions {@code 0} to {@code count - 1} sorted by their hash, equal hashes
+     * in their original order.
+     */
+    private static int[] sortByHash(int count, IntUnaryOperator hash) {
+        return IntStream.range(0, count).boxed()
+                .sorted(Comparator.comparingInt(hash::applyAsInt))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Writes the type of the value and the value converted to this type.
+     */
+    private static void writeTypedValue(ByteBuffer pairRecords, Value value) {
+        int type = TYPE_STRING;
+        long bits = 0;
+        OptionalLong longValue;
+        OptionalDouble doubleValue;
+
+        if (value.isNull()) {
+            type = TYPE_NULL;
+        } else if ((longValue = value.tryGetAsLong()).isPresent()) {
+            type = TYPE_LONG;
+            bits = longValue.getAsLong();
+        } else if ((doubleValue = value.tryGetAsDouble()).isPresent()) {
+            type = TYPE_DOUBLE;
+            bits = Double.doubleToRawLongBits(doubleValue.getAsDouble());
+        } else if (value.getAsBoolean(false) == value.getAsBoolean(true)) {
+            // only a valid boolean does not fall back to the default
+            type = TYPE_BOOLEAN;
+            bits = value.getAsBoolean(false) ? 1 : 0;
+        }
+
+        pairRecords.putInt(type).putLong(bits);
+    }
+
+    private int stringIndex(String string) {
+        if (string == null) {
+            return -1;
+        }
+
+        return stringIndexes.computeIfAbsent(string, s -> {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            strings.add(bytes);
+            stringBytes += bytes.length;
+            return strings.size() - 1;
+        });
+    }
+}
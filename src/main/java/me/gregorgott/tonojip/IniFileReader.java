@@ -24,14 +24,19 @@
 package me.gregorgott.tonojip;
 
 import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.exceptions.SchemaValidationError;
 import me.gregorgott.tonojip.iniobjects.*;
 
-import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
-
-import static me.gregorgott.tonojip.Symbols.*;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A reader for INI-files that parses the content into an {@link IniFile} object.
@@ -45,16 +50,28 @@ import static me.gregorgott.tonojip.Symbols.*;
  * }
  * }</pre>
  *
+ * <p>Files on disk can be read without a {@link Reader}. They are memory-mapped and
+ * parsed directly from their UTF-8 bytes, which is faster for large files:
+ * <pre>{@code
+ * IniFile file = IniFileReader.parse(Path.of("config.ini"));
+ * }</pre>
+ *
+ * <p>The reader is built on top of the {@link IniEventReader}, which can be used directly
+ * to stream through files without building an {@code IniFile}.
+ *
  * @author Gregor Gottschewski
  * @version 2025-20-01 (ISO 8601)
  */
 public class IniFileReader implements Closeable {
-    private final BufferedReader in;
-    private int lineNum;
-    private IniFile iniFile;
+    private final Reader in;
+    private final Path path;
     private boolean parseComments;
-    private Section currentSection;
-    private StringBuilder commentBuilder;
+    private boolean lazy;
+    private ForkJoinPool pool;
+    private int minChunkSize = ParallelParser.MIN_CHUNK_SIZE;
+    private InternPool internPool = InternPool.NONE;
+    private IniListener listener;
+    private IniSchema schema;
 
     /**
      * Constructs a new INI-file reader. Comment parsing is enabled by default.
@@ -62,46 +79,178 @@ public class IniFileReader implements Closeable {
      * @param in {@code reader} containing the INI-File.
      */
     public IniFileReader(Reader in) {
-        this.in = new BufferedReader(in);
+        this.in = in;
+        this.path = null;
         parseComments = true;
     }
 
     /**
-     * Parses the INI-file in the input reader into an {@code IniFile}-object.
+     * Constructs a new INI-file reader for a file. The file is memory-mapped on {@link #parse()}
+     * and its UTF-8 bytes are scanned directly. Comment parsing is enabled by default.
+     *
+     * @param path path of the INI-file.
+     */
+    public IniFileReader(Path path) {
+        this.in = null;
+        this.path = path;
+        parseComments = true;
+    }
+
+    /**
+     * Parses the given UTF-8 encoded INI-file with comment parsing enabled.
      *
+     * @param path path of the INI-file.
      * @return an {@code IniFile}-object representing the INI-file.
      * @throws IOException if an I/O-error occurs.
+     * @see #IniFileReader(Path)
+     */
+    public static IniFile parse(Path path) throws IOException {
+        try (IniFileReader reader = new IniFileReader(path)) {
+            return reader.parse();
+        }
+    }
+
+    /**
+     * Parses the INI-file in the input reader into an {@code IniFile}-object.
+     *
+     * @return an {@code IniFile}-object representing the INI-file.
+     * @throws IOException     if an I/O-error occurs.
+     * @throws FileSyntaxError if a line is invalid. If the file was read from a path, the
+     *                         error returns it with {@link FileSyntaxError#getPath()}.
+     * @throws SchemaValidationError if a schema is set and the file does not match it.
+     * @see #setSchema(IniSchema)
+     * @see #setListener(IniListener)
+     * @see #setLazy(boolean)
+     * @see #setParallel(boolean)
+     * @see #parseLenient(Diagnostics)
      */
     public IniFile parse() throws IOException {
-        reset();
+        return parseLenient(null);
+    }
 
-        String line;
+    /**
+     * Parses the INI-file leniently: invalid lines and assignments without a key are recorded
+     * in the given diagnostics and skipped, and the rest of the file is parsed as usual. No
+     * {@link FileSyntaxError} is thrown. Like a schema, diagnostics disable the lazy and the
+     * parallel mode.
+     *
+     * <pre>{@code
+     * Diagnostics diagnostics = new Diagnostics();
+     * IniFile file = reader.parseLenient(diagnostics);
+     * diagnostics.asList().forEach(System.out::println);   // line 3, column 1: invalid line
+     * }</pre>
+     *
+     * @param diagnostics the diagnostics to add the skipped errors to, or {@code null} to
+     *                    throw the first error like {@link #parse()}.
+     * @return an {@code IniFile}-object with all valid lines of the INI-file.
+     * @throws IOException           if an I/O-error occurs.
+     * @throws SchemaValidationError if a schema is set and the file does not match it.
+     */
+    public IniFile parseLenient(Diagnostics diagnostics) throws IOException {
+        ParseEvent event = new ParseEvent();
 
-        while ((line = in.readLine()) != null) {
-            lineNum++;
+        if (listener == null && !event.isEnabled()) {
+            return parseChecked(null, diagnostics);
+        }
 
-            if (line.isBlank()) {
-                continue;
+        ParseCounts counts = new ParseCounts();
+        int skipped = diagnostics != null ? diagnostics.size() : 0;
+        event.begin();
+        long start = System.nanoTime();
+
+        try {
+            IniFile iniFile = parseChecked(counts, diagnostics);
+            // the diagnostics may already hold the errors of former parses
+            counts.syntaxErrors = diagnostics != null ? diagnostics.size() - skipped : 0;
+            report(counts.toStats(path, System.nanoTime() - start, null), event);
+            return iniFile;
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof FileSyntaxError error) {
+                counts.lines = error.getLineNumber();
+                counts.syntaxErrors = 1;
             }
 
-            if (handleComment(line)) {
-                continue;
+            report(counts.toStats(path, System.nanoTime() - start, e), event);
+            throw e;
+        }
+    }
+
+    private void report(IniStats stats, ParseEvent event) {
+        event.report(stats, path != null ? path.toString() : in.getClass().getName());
+
+        if (listener != null) {
+            listener.onOperation(stats);
+        }
+    }
+
+    /**
+     * @param counts      the counts to collect the figures of the parse in, or {@code null}.
+     * @param diagnostics the diagnostics of a lenient parse, or {@code null}.
+     */
+    private IniFile parseChecked(ParseCounts counts, Diagnostics diagnostics) throws IOException {
+        try {
+            return parseSource(counts, diagnostics);
+        } catch (FileSyntaxError e) {
+            throw path == null || e.getPath() != null ? e : e.withPath(path);
+        }
+    }
+
+    private IniFile parseSource(ParseCounts counts, Diagnostics diagnostics) throws IOException {
+        // a schema and diagnostics are checked in the one sequential pass that sees every line
+        boolean sequential = schema != null || diagnostics != null;
+
+        if (!sequential && lazy) {
+            ByteBuffer source = readSource();
+
+            if (source != null) {
+                return parseLazy(source, counts);
             }
+        } else if (!sequential && pool != null && path != null) {
+            IniFile iniFile = parseParallel(counts);
 
-            if (handleSection(line)) {
-                continue;
+            if (iniFile != null) {
+                return iniFile;
             }
+        }
+
+        IniFile iniFile = new IniFile();
+        IniFileBuilder builder = new IniFileBuilder(iniFile, parseComments, internPool);
+        SchemaValidator validator = schema != null ? schema.compile() : null;
+        builder.setValidator(validator);
 
-            if (handleKeyAssignment(line)) {
-                continue;
+        if (path == null) {
+            IniEventReader events = new IniEventReader(in);
+            events.setDiagnostics(diagnostics);
+            build(builder, events, counts);
+        } else {
+            try (IniEventReader events = new IniEventReader(path)) {
+                events.setDiagnostics(diagnostics);
+                build(builder, events, counts);
             }
+        }
 
-            throw new FileSyntaxError(lineNum, line);
+        if (validator != null) {
+            validator.finish();
         }
 
         return iniFile;
     }
 
+    private static void build(IniFileBuilder builder, IniEventReader events, ParseCounts counts) throws IOException {
+        if (counts == null) {
+            builder.build(events);
+            return;
+        }
+
+        // the figures are also reported if the parse fails
+        try {
+            builder.build(events);
+        } finally {
+            counts.size = events.getSize();
+            builder.addCounts(counts);
+        }
+    }
+
     public boolean isParsingComments() {
         return parseComments;
     }
@@ -117,138 +266,196 @@ public class IniFileReader implements Closeable {
         this.parseComments = parseComments;
     }
 
-    private void reset() {
-        iniFile = new IniFile();
-        currentSection = null;
-        commentBuilder = new StringBuilder();
-        lineNum = 0;
+    public boolean isLazy() {
+        return lazy;
     }
 
     /**
-     * Handles a comment line.
+     * Enables or disables the lazy mode, which is disabled by default.
+     *
+     * <p>In lazy mode, {@link #parse()} only builds an index of the sections and decodes the
+     * global values. The key-value-pairs of a section are decoded when the section's
+     * {@link Section#getPairMap()} is called for the first time (e.g. after
+     * {@code getSections().get(name)}), so reading a few sections of a large file is cheap.
+     * The decoding is thread-safe and happens only once per section. Syntax errors inside a
+     * section are thrown when the section is decoded.
+     *
+     * <p>The source stays in memory until all sections are decoded: a file stays mapped, the
+     * content of a {@code Reader} is read completely. Files of 2 GB and more are parsed eagerly.
      *
-     * @param line the line to handle.
-     * @return {@code true} if the line is a comment, {@code false} otherwise
+     * @param lazy {@code true} to enable the lazy mode.
      */
-    private boolean handleComment(String line) {
-        if (!isComment(line)) {
-            return false;
-        }
-
-        commentBuilder.append(line.substring(1));
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
 
-        return true;
+    public boolean isParallel() {
+        return pool != null;
     }
 
     /**
-     * Handles a section header line.
+     * Enables or disables parallel parsing, which is disabled by default.
      *
-     * @param line the line to handle
-     * @return {@code true} if the line is a section header, {@code false} otherwise
+     * <p>Large files read from a {@link Path} are split at section headers and the parts are
+     * parsed on the common {@link ForkJoinPool}. The result is the same as of a sequential parse,
+     * a later section still replaces an earlier one with the same name. Files smaller than a few
+     * megabytes, {@code Reader} sources and the lazy mode are not affected.
+     *
+     * @param parallel {@code true} to enable parallel parsing.
      */
-    private boolean handleSection(String line) {
-        if (!isSection(line)) {
-            return false;
-        }
-
-        String sectionName = line.replace(SECTION_START, EMPTY).replace(SECTION_END, EMPTY);
+    public void setParallel(boolean parallel) {
+        setParallel(parallel ? ForkJoinPool.commonPool() : null);
+    }
 
-        if (sectionName.startsWith(".")) {
-            throw new FileSyntaxError(lineNum, line, "child section without parent");
-        }
+    /**
+     * Enables parallel parsing on the given pool or disables it if the pool is {@code null}.
+     *
+     * @param pool the pool to parse on.
+     * @see #setParallel(boolean)
+     */
+    public void setParallel(ForkJoinPool pool) {
+        this.pool = pool;
+    }
 
-        currentSection = new Section();
-        currentSection.setComment(getComment());
-        iniFile.getSections().put(sectionName, currentSection);
-        return true;
+    /**
+     * Sets the minimal size of a chunk of a parallel parse, so tests can split small files.
+     *
+     * @param minChunkSize the minimal size in bytes, {@link ParallelParser#MIN_CHUNK_SIZE} by default.
+     */
+    void setMinChunkSize(int minChunkSize) {
+        this.minChunkSize = minChunkSize;
     }
 
+    public InternPool getInternPool() {
+        return internPool;
+    }
 
     /**
-     * This method checks if the line contains a key-value assignment.
-     * If found, it parses the key-value-pair to the current section or global values.
+     * Sets the pool that parsed section names, key names and values are taken from, so equal
+     * names and values of many files share one instance. By default, nothing is shared.
      *
-     * @param line the line to handle
-     * @return {@code true} if the line contains a key-value assignment, {@code false} otherwise
+     * @param internPool the pool, or {@code null} to share nothing.
+     * @see ConcurrentInternPool
      */
-    private boolean handleKeyAssignment(String line) {
-        if (!line.contains(ASSIGN)) {
-            return false;
-        }
-        sortKeyValuePair(getKey(line), getValue(line));
-        return true;
+    public void setInternPool(InternPool internPool) {
+        this.internPool = internPool != null ? internPool : InternPool.NONE;
+    }
+
+    public IniSchema getSchema() {
+        return schema;
     }
 
     /**
-     * Saves the {@code commentBuilder} in a string and resets the builder if comment parsing is enabled.
+     * Sets the schema that {@link #parse()} validates the file against. The file is checked
+     * while it is parsed, and all violations are thrown at once in a
+     * {@link SchemaValidationError}. A file with a schema is always parsed sequentially and
+     * eagerly, the lazy and the parallel mode are not used. By default, there is no schema.
      *
-     * @return the current comment as a string if comment parsing is enabled, an empty string otherwise.
+     * @param schema the schema, or {@code null} to not validate the file.
      */
-    private String getComment() {
-        if (!parseComments) {
-            return "";
-        }
+    public void setSchema(IniSchema schema) {
+        this.schema = schema;
+    }
 
-        String comment = commentBuilder.toString();
-        commentBuilder.setLength(0);
-        return comment;
+    public IniListener getListener() {
+        return listener;
     }
 
     /**
-     * Checks if the given line is a section header.
-     * A section header has to match these rules
-     * <ol>
-     *     <li>the line starts with an opening bracket '{@code [}'</li>
-     *     <li>the line ends with a closing bracket '{@code ]}'</li>
-     *     <li>the opening bracket is the first character in the line</li>
-     *     <li>the closing bracket is the last character in the line</li>
-     *     <li>there is only one closing and opening bracket in the line</li>
-     * </ol>
+     * Sets the listener that receives the figures of every parse, e.g. an {@link IniMetrics}.
+     * Without a listener, which is the default, no figures are collected.
      *
-     * @param line the line to check
-     * @return {@code true} if the line is a section header, {@code false} otherwise
+     * @param listener the listener, or {@code null} to remove the listener.
      */
-    private static boolean isSection(String line) {
-        return line.startsWith(SECTION_START) && line.endsWith(SECTION_END) && line.indexOf(SECTION_START) == line.lastIndexOf(SECTION_START) && line.indexOf(SECTION_END) == line.lastIndexOf(SECTION_END);
+    public void setListener(IniListener listener) {
+        this.listener = listener;
     }
 
-    private void sortKeyValuePair(Key key, Value value) {
-        if (currentSection == null) {
-            iniFile.getGlobalValues().put(key, value);
-        } else {
-            currentSection.getPairMap().put(key, value);
+    /**
+     * @return the parsed file, or {@code null} if it is too small to be split.
+     */
+    private IniFile parseParallel(ParseCounts counts) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ParallelParser parser = new ParallelParser(pool, parseComments, internPool, minChunkSize);
+            IniFile iniFile = parser.parse(channel);
+
+            if (iniFile != null && counts != null) {
+                parser.addCounts(counts);
+                counts.size = channel.size();
+            }
+
+            return iniFile;
         }
     }
 
-    private Key getKey(String line) {
-        Key key = new Key(line.substring(0, line.indexOf(ASSIGN)).trim());
-        key.setComment(getComment());
-        return key;
+    /**
+     * Builds an {@code IniFile} with {@link LazySection}s from the section index of the source.
+     */
+    private IniFile parseLazy(ByteBuffer source, ParseCounts counts) throws IOException {
+        SectionIndex index = SectionIndex.scan(source);
+        IniFile iniFile = new IniFile();
+        IniFileBuilder builder = new IniFileBuilder(iniFile, parseComments, internPool);
+        builder.build(new IniEventReader(range(source, 0, index.globalEnd()), 0));
+
+        if (counts != null) {
+            builder.addCounts(counts);
+            counts.size = source.remaining();
+            counts.lines = -1;
+            counts.sections = index.entries().size();
+        }
+
+        for (SectionIndex.Entry entry : index.entries()) {
+            LazySection section = new LazySection(range(source, entry.bodyStart(), entry.end()), entry.headerLine(), parseComments, internPool);
+            section.setComment(parseComments ? readComments(range(source, entry.start(), entry.headerStart())) : "");
+            iniFile.getSections().put(internPool.intern(entry.name()), section);
+        }
+
+        return iniFile;
     }
 
-    private Value getValue(String line) {
-        int index = line.indexOf(ASSIGN);
-        return index < line.length() - 1 ? new Value(line.substring(index + 1).trim()) : Value.EMPTY_VALUE;
+    /**
+     * Concatenates the comment lines in front of a section header.
+     */
+    static String readComments(ByteBuffer comments) throws IOException {
+        StringBuilder comment = new StringBuilder();
+        IniEventReader events = new IniEventReader(comments, 0);
+
+        while (events.next() == IniEvent.COMMENT) {
+            comment.append(events.getComment());
+        }
+
+        return comment.toString();
     }
 
     /**
-     * Checks if the given line is a comment by checking whether it starts with
-     * an {@code #}, {@code ;} or not.
-     *
-     * @param line the line to check
-     * @return {@code true} if the line is a comment, {@code false} otherwise
+     * Returns the whole source as UTF-8 bytes, or {@code null} if the file is too large to be mapped at once.
      */
-    private static boolean isComment(String line) {
-        return line.isBlank() || line.startsWith(COMMENT_HASHTAG) || line.startsWith(COMMENT_SEMICOLON);
+    private ByteBuffer readSource() throws IOException {
+        if (path == null) {
+            StringWriter content = new StringWriter();
+            in.transferTo(content);
+            return ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            return size < Integer.MAX_VALUE ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+        }
+    }
+
+    static ByteBuffer range(ByteBuffer source, int start, int end) {
+        return source.duplicate().position(start).limit(end);
     }
 
     /**
-     * Closes the input stream.
+     * Closes the input stream. Readers of a {@link Path} have nothing to close.
      *
      * @throws IOException if an I/O error occurs
      */
     @Override
     public void close() throws IOException {
-        in.close();
+        if (in != null) {
+            in.close();
+        }
     }
-}
\ No newline at end of file
+}
@@ -27,8 +27,14 @@ import me.gregorgott.tonojip.iniobjects.*;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 
 import static me.gregorgott.tonojip.Symbols.*;
 
@@ -43,62 +49,203 @@ import static me.gregorgott.tonojip.Symbols.*;
  * }
  * }</pre>
  *
+ * <p>Files can also be replaced atomically with {@link #write(IniFile, Path)}.
+ *
  * @author Gregor Gottschewski
  * @version 2025-02-02 (ISO 8601)
  * @see IniFile
  */
 public class IniFileWriter implements Closeable {
+    private static final char NEW_LINE_CHAR = NEW_LINE.charAt(0);
+    private static final char ASSIGN_CHAR = ASSIGN.charAt(0);
+
     private final Writer out;
+    private final WriteBuffer buffer;
+    private final BiConsumer<Key, Value> pairWriter = this::writeKeyValuePair;
+    private final BiConsumer<String, Section> sectionWriter = this::writeSection;
     private boolean sectionNewline;
+    private IniListener listener;
+    private int comments;
 
     /**
      * Constructs a new {@code IniFileWriter} with the given writer.
      * The {@code sectionNewline} attribute is set to false by default.
      *
+     * <p>The text is collected in a buffer and written to the writer in large chunks.
+     * When {@link #write(IniFile)} returns, all text has been passed to the writer.
+     *
      * @param out the writer to write the INI-File to.
      */
     public IniFileWriter(Writer out) {
         this.out = out;
+        this.buffer = new WriteBuffer(out, WriteBuffer.DEFAULT_CAPACITY);
         sectionNewline = false;
     }
 
     /**
      * Writes the given {@code IniFile}.
+     * Writing a file creates no objects per key-value-pair.
      *
      * @param iniFile the {@code IniFile}-object to write
      * @throws IOException if an I/O-error occurs.
      */
     public void write(IniFile iniFile) throws IOException {
-        for (Map.Entry<Key, Value> entry : iniFile.getGlobalValues().entrySet()) {
-            out.write(getKeyValuePair(entry.getKey(), entry.getValue()));
+        WriteEvent event = new WriteEvent();
+
+        if (listener == null && !event.isEnabled()) {
+            writeContent(iniFile);
+            return;
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        long written = buffer.written();
+        int comments = this.comments;
+
+        try {
+            writeContent(iniFile);
+        } catch (IOException | RuntimeException e) {
+            report(new IniStats(IniStats.Operation.WRITE, null, buffer.written() - written,
+                    0, 0, 0, 0, 0, System.nanoTime() - start, e), event);
+            throw e;
+        }
+
+        long nanos = System.nanoTime() - start;
+        int sections = iniFile.getSections().size();
+        int pairs = countPairs(iniFile);
+        comments = this.comments - comments;
+        int lines = pairs + sections + comments + (sectionNewline ? sections : 0);
+        report(new IniStats(IniStats.Operation.WRITE, null, buffer.written() - written,
+                lines, sections, pairs, comments, 0, nanos, null), event);
+    }
+
+    private void report(IniStats stats, WriteEvent event) {
+        event.report(stats, out.getClass().getName());
+
+        if (listener != null) {
+            listener.onOperation(stats);
+        }
+    }
+
+    private static int countPairs(IniFile iniFile) {
+        int pairs = iniFile.getGlobalValues().size();
+
+        for (Section section : iniFile.getSections().values()) {
+            pairs += section.getPairMap().size();
+        }
+
+        return pairs;
+    }
+
+    private void writeContent(IniFile iniFile) throws IOException {
+        try {
+            iniFile.getGlobalValues().forEach(pairWriter);
+            iniFile.getSections().forEach(sectionWriter);
+            buffer.flush();
+        } catch (UncheckedIOException e) {
+            // the text of a failed file must not be written in front of the next file
+            buffer.clear();
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            buffer.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the given {@code IniFile} to a file as UTF-8 and replaces the file atomically.
+     *
+     * <p>The sections of large files are serialized in parallel on the common {@link ForkJoinPool}.
+     * The parts are written with a gathering write into a temporary file in the same directory,
+     * which is forced to the storage device and then moved over the target. Readers of the target
+     * see either the old or the complete new content, even if the process crashes while writing.
+     * The content is the same as written by {@link #write(IniFile)} of a new writer: sections
+     * do not end with an empty line (see {@link #setNewlineAtSection(boolean)}). No
+     * {@link IniListener} is notified, the figures are only recorded as a Flight Recorder event.
+     *
+     * @param iniFile the {@code IniFile}-object to write.
+     * @param path    path of the file to replace or create.
+     * @throws IOException if an I/O-error occurs. The target is not changed in this case.
+     */
+    public static void write(IniFile iniFile, Path path) throws IOException {
+        WriteEvent event = new WriteEvent();
+
+        if (!event.isEnabled()) {
+            new ParallelWriter(ForkJoinPool.commonPool(), ParallelWriter.CHUNK_PAIRS).write(iniFile, path);
+            return;
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        long size = 0;
+        Exception error = null;
+
+        try {
+            size = new ParallelWriter(ForkJoinPool.commonPool(), ParallelWriter.CHUNK_PAIRS).write(iniFile, path);
+        } catch (IOException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            event.report(new IniStats(IniStats.Operation.WRITE, path, size, -1, iniFile.getSections().size(),
+                    countPairs(iniFile), -1, 0, System.nanoTime() - start, error), path.toString());
+        }
+    }
+
+    /**
+     * Serializes a part of an {@code IniFile} to UTF-8 bytes. The characters of the buffer are
+     * encoded directly into the byte buffers.
+     *
+     * @param globalValues global key-value-pairs of the part, or {@code null} if it has none.
+     * @param sections     sections of the part.
+     * @return the bytes of the part in order.
+     */
+    static ByteBuffer[] serialize(KeyValuePairMap globalValues, List<Map.Entry<String, Section>> sections) {
+        ByteBufferWriter out = new ByteBufferWriter();
+        IniFileWriter writer = new IniFileWriter(out);
+
+        if (globalValues != null) {
+            globalValues.forEach(writer.pairWriter);
         }
 
-        for (Map.Entry<String, Section> entry : iniFile.getSections().entrySet()) {
-            writeSection(entry.getKey(), entry.getValue());
+        for (Map.Entry<String, Section> section : sections) {
+            writer.writeSection(section.getKey(), section.getValue());
         }
+
+        writer.buffer.flush();
+        return out.toByteBuffers();
     }
 
     /**
-     * Writes the given section to the writer.
+     * Writes the given section to the buffer.
      * The section header is written first, the key-value-pairs follow.
      * If the {@code sectionNewline} attribute is set to true, an empty line is written at the end.
      *
      * @param sectionName name of the section without brackets.
      * @param section     {@code Section}-object to write.
-     * @throws IOException if an I/O-error occurs.
      */
-    private void writeSection(String sectionName, Section section) throws IOException {
-        out.write(getSectionHeader(section, sectionName.trim()));
-
-        for (Map.Entry<Key, Value> entry : section.getPairMap().entrySet()) {
-            out.write(getKeyValuePair(entry.getKey(), entry.getValue()));
-        }
+    private void writeSection(String sectionName, Section section) {
+        writeSectionHeader(section, sectionName);
+        section.getPairMap().forEach(pairWriter);
 
         if (sectionNewline) {
-            out.write(NEW_LINE);
+            buffer.append(NEW_LINE_CHAR);
         }
     }
 
+    public IniListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the listener that receives the figures of every {@link #write(IniFile)}, e.g. an
+     * {@link IniMetrics}. Without a listener, which is the default, no figures are collected.
+     *
+     * @param listener the listener, or {@code null} to remove the listener.
+     */
+    public void setListener(IniListener listener) {
+        this.listener = listener;
+    }
+
     /**
      * Sets newline at section end parameter that is {@code false} by default.
      */
@@ -106,39 +253,56 @@ public class IniFileWriter implements Closeable {
         this.sectionNewline = sectionNewline;
     }
 
-    private String getSectionHeader(Section section, String name) {
-        return writeComment(section).append(SECTION_START).append(name).append(SECTION_END).append(NEW_LINE).toString();
+    /**
+     * Writes the comment and the header of the section. Leading and trailing whitespaces
+     * of the name are skipped like {@link String#trim()} does.
+     */
+    private void writeSectionHeader(Section section, String name) {
+        int start = 0;
+        int end = name.length();
+
+        while (start < end && name.charAt(start) <= ' ') {
+            start++;
+        }
+
+        while (end > start && name.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        writeComment(section);
+        buffer.append(SECTION_START).append(name, start, end).append(SECTION_END).append(NEW_LINE_CHAR);
     }
 
     /**
-     * Builds a key value pair of the following structure (with new line at the end):
+     * Writes a key value pair of the following structure (with new line at the end):
      *
      * <pre>{@code
      * # <comment>
      * <key>=<value>
      * }</pre>
-     *
-     * @return a {@code String} containing the key value pair
      */
-    private String getKeyValuePair(Key key, Value value) {
-        return writeComment(key).append(key).append(ASSIGN).append(value).append(NEW_LINE).toString();
+    private void writeKeyValuePair(Key key, Value value) {
+        writeComment(key);
+        buffer.append(text(key)).append(ASSIGN_CHAR).append(text(value)).append(NEW_LINE_CHAR);
     }
 
     /**
-     * Creates a {@code StringBuilder} and appends the comment of the given
-     * {@code Commentable}-object. A hashtag introduces a comment.
-     * If the given object has no comment, it just returns an empty string builder.
-     *
-     * @return a string builder containing the comment of the given commentable-object.
+     * Writes the comment of the given {@code Commentable}-object without its line breaks.
+     * A hashtag introduces a comment. If the given object has no comment, nothing is written.
      */
-    private StringBuilder writeComment(Commentable commentable) {
-        StringBuilder stringBuilder = new StringBuilder();
-
+    private void writeComment(Commentable commentable) {
         if (commentable.hasComment()) {
-            stringBuilder.append(COMMENT_HASHTAG).append(" ").append(commentable.getComment().replace(NEW_LINE, EMPTY)).append(NEW_LINE);
+            comments++;
+            buffer.append(COMMENT_HASHTAG).append(' ').appendWithout(commentable.getComment(), NEW_LINE_CHAR).append(NEW_LINE_CHAR);
         }
+    }
 
-        return stringBuilder;
+    /**
+     * @return the text of the object like {@link StringBuilder#append(Object)} writes it.
+     */
+    private static String text(Object o) {
+        String s = String.valueOf(o);
+        return s != null ? s : "null";
     }
 
     /**
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Parses many INI-files at once.
+ *
+ * <pre>{@code
+ * IniFiles.Result result = IniFiles.parseAll(paths);
+ * result.errors().forEach((path, error) -> log.warn("Cannot load {}", path, error));
+ * Map<Path, IniFile> iniFiles = result.iniFiles();
+ * }</pre>
+ *
+ * @author Gregor Gottschewski
+ */
+public final class IniFiles {
+    /**
+     * Default maximum number of files that are parsed at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    private IniFiles() {
+    }
+
+    /**
+     * The result of a bulk parse. Both maps iterate in the order of the given paths; every path
+     * is either in {@code iniFiles} or in {@code errors}.
+     *
+     * @param iniFiles the parsed files.
+     * @param errors   the errors of the files that could not be parsed, e.g. an
+     *                 {@link IOException} or a {@link FileSyntaxError}.
+     */
+    public record Result(Map<Path, IniFile> iniFiles, Map<Path, Exception> errors) {
+        /**
+         * @return {@code true} if at least one file could not be parsed.
+         */
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+    }
+
+    /**
+     * Parses the given files with at most {@link #DEFAULT_MAX_CONCURRENCY} files at the same time.
+     *
+     * @param paths the paths of the files.
+     * @return the parsed files and the errors.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     * @see #parseAll(Collection, int, Consumer)
+     */
+    public static Result parseAll(Collection<Path> paths) throws InterruptedException {
+        return parseAll(paths, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Parses the given files with at most {@code maxConcurrency} files at the same time.
+     *
+     * @param paths          the paths of the files.
+     * @param maxConcurrency maximum number of files that are parsed at the same time.
+     * @return the parsed files and the errors.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     * @see #parseAll(Collection, int, Consumer)
+     */
+    public static Result parseAll(Collection<Path> paths, int maxConcurrency) throws InterruptedException {
+        return parseAll(paths, maxConcurrency, reader -> {
+        });
+    }
+
+    /**
+     * Parses the given files on virtual threads, so the files are read in parallel and a slow
+     * file does not hold up the others. The number of files parsed at the same time is limited,
+     * e.g. to stay below the limit of open files.
+     *
+     * <p>A file that cannot be parsed does not affect the other files; its error is returned in
+     * {@link Result#errors()}. A {@link FileSyntaxError} returns the path of its file with
+     * {@link FileSyntaxError#getPath()}.
+     *
+     * @param paths          the paths of the files.
+     * @param maxConcurrency maximum number of files that are parsed at the same time.
+     * @param setup          configures the reader of each file, e.g. to disable comment parsing
+     *                       or to set a shared {@link InternPool}. It is called concurrently.
+     * @return the parsed files and the errors.
+     * @throws InterruptedException     if the current thread is interrupted while waiting.
+     *                                  Files that are parsed at that time are cancelled.
+     * @throws IllegalArgumentException if {@code maxConcurrency} is not positive.
+     */
+    public static Result parseAll(Collection<Path> paths, int maxConcurrency, Consumer<? super IniFileReader> setup)
+            throws InterruptedException {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid maximum concurrency: " + maxConcurrency);
+        }
+
+        List<Path> files = List.copyOf(paths);
+        IniFile[] iniFiles = new IniFile[files.size()];
+        Exception[] errors = new Exception[files.size()];
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<?>> futures = new ArrayList<>(files.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+
+                    try (IniFileReader reader = new IniFileReader(files.get(index))) {
+                        setup.accept(reader);
+                        iniFiles[index] = reader.parse();
+                    } catch (Exception e) {
+                        errors[index] = e;
+                    } finally {
+                        permits.release();
+                    }
+
+                    return null;
+                }));
+            }
+        }
+
+        if (Thread.interrupted()) {
+            throw new InterruptedException("Interrupted while parsing");
+        }
+
+        Map<Path, IniFile> parsed = new LinkedHashMap<>();
+        Map<Path, Exception> failed = new LinkedHashMap<>();
+
+        for (int i = 0; i < files.size(); i++) {
+            if (futures.get(i).state() == Future.State.FAILED && futures.get(i).exceptionNow() instanceof Error error) {
+                throw error;
+            }
+
+            if (errors[i] != null) {
+                failed.put(files.get(i), errors[i]);
+            } else {
+                parsed.put(files.get(i), iniFiles[i]);
+            }
+        }
+
+        return new Result(Collections.unmodifiableMap(parsed), Collections.unmodifiableMap(failed));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+/**
+ * Receives the figures of every parse of an {@link IniFileReader} and every write of an
+ * {@link IniFileWriter} it is set on, e.g. to export them into a metrics system.
+ * Readers and writers without a listener collect no figures.
+ *
+ * <p>The listener is called on the thread that parsed or wrote, after the operation finished
+ * and before its result is returned or its error is thrown. A listener that is set on several
+ * readers or writers must be thread-safe.
+ *
+ * @author Gregor Gottschewski
+ * @see IniMetrics
+ */
+@FunctionalInterface
+public interface IniListener {
+    /**
+     * Called after a parse or write.
+     *
+     * @param stats the figures of the operation.
+     */
+    void onOperation(IniStats stats);
+}
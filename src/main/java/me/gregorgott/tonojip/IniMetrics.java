@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link IniListener} that sums the figures of all operations. The sums are kept in
+ * striped counters, so many threads can report at the same time without contention.
+ * <pre>{@code
+ * IniMetrics metrics = new IniMetrics();
+ * reader.setListener(metrics);
+ * ...
+ * metrics.snapshot().forEach(registry::gauge);
+ * }</pre>
+ *
+ * <p>Counts of {@code -1} (unknown) are not added.
+ *
+ * @author Gregor Gottschewski
+ */
+public class IniMetrics implements IniListener {
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder parseErrors = new LongAdder();
+    private final LongAdder syntaxErrors = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAccumulator maxParseNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAccumulator maxBytesRead = new LongAccumulator(Math::max, 0);
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder sections = new LongAdder();
+    private final LongAdder pairs = new LongAdder();
+    private final LongAdder comments = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    @Override
+    public void onOperation(IniStats stats) {
+        if (stats.operation() == IniStats.Operation.WRITE) {
+            writes.increment();
+            writeNanos.add(stats.nanos());
+            addKnown(bytesWritten, stats.size());
+
+            if (stats.error() != null) {
+                writeErrors.increment();
+            }
+
+            return;
+        }
+
+        parses.increment();
+        parseNanos.add(stats.nanos());
+        maxParseNanos.accumulate(stats.nanos());
+        addKnown(bytesRead, stats.size());
+        maxBytesRead.accumulate(stats.size());
+        addKnown(lines, stats.lines());
+        addKnown(sections, stats.sections());
+        addKnown(pairs, stats.pairs());
+        addKnown(comments, stats.comments());
+        syntaxErrors.add(stats.syntaxErrors());
+
+        if (stats.error() != null) {
+            parseErrors.increment();
+        }
+    }
+
+    private static void addKnown(LongAdder adder, long value) {
+        if (value > 0) {
+            adder.add(value);
+        }
+    }
+
+    /**
+     * @return the number of parses, including failed parses.
+     */
+    public long getParses() {
+        return parses.sum();
+    }
+
+    /**
+     * @return the number of failed parses.
+     */
+    public long getParseErrors() {
+        return parseErrors.sum();
+    }
+
+    /**
+     * @return the number of syntax errors of all parses, i.e. the lines skipped by lenient parses
+     * and the parses that failed because of a syntax error.
+     */
+    public long getSyntaxErrors() {
+        return syntaxErrors.sum();
+    }
+
+    /**
+     * @return the total time of all parses in nanoseconds.
+     */
+    public long getParseNanos() {
+        return parseNanos.sum();
+    }
+
+    /**
+     * @return the time of the slowest parse in nanoseconds.
+     */
+    public long getMaxParseNanos() {
+        return maxParseNanos.get();
+    }
+
+    /**
+     * @return the number of bytes (or characters of {@code Reader}s) of all parses.
+     */
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * @return the number of bytes (or characters of a {@code Reader}) of the largest parsed file.
+     */
+    public long getMaxBytesRead() {
+        return maxBytesRead.get();
+    }
+
+    /**
+     * @return the number of parsed lines.
+     */
+    public long getLines() {
+        return lines.sum();
+    }
+
+    /**
+     * @return the number of parsed section headers.
+     */
+    public long getSections() {
+        return sections.sum();
+    }
+
+    /**
+     * @return the number of parsed key-value-pairs.
+     */
+    public long getPairs() {
+        return pairs.sum();
+    }
+
+    /**
+     * @return the number of parsed comment lines.
+     */
+    public long getComments() {
+        return comments.sum();
+    }
+
+    /**
+     * @return the number of writes, including failed writes.
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * @return the number of failed writes.
+     */
+    public long getWriteErrors() {
+        return writeErrors.sum();
+    }
+
+    /**
+     * @return the total time of all writes in nanoseconds.
+     */
+    public long getWriteNanos() {
+        return writeNanos.sum();
+    }
+
+    /**
+     * @return the number of written bytes (or characters of {@code Writer}s).
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Returns all figures by name, e.g. {@code parse.nanos}, to export them.
+     * The figures are read one after another, so they are not consistent with each other
+     * while operations are reported.
+     *
+     * @return the figures by name.
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("parse.count", getParses());
+        snapshot.put("parse.errors", getParseErrors());
+        snapshot.put("parse.syntax_errors", getSyntaxErrors());
+        snapshot.put("parse.nanos", getParseNanos());
+        snapshot.put("parse.max_nanos", getMaxParseNanos());
+        snapshot.put("parse.bytes", getBytesRead());
+        snapshot.put("parse.max_bytes", getMaxBytesRead());
+        snapshot.put("parse.lines", getLines());
+        snapshot.put("parse.sections", getSections());
+        snapshot.put("parse.pairs", getPairs());
+        snapshot.put("parse.comments", getComments());
+        snapshot.put("write.count", getWrites());
+        snapshot.put("write.errors", getWriteErrors());
+        snapshot.put("write.nanos", getWriteNanos());
+        snapshot.put("write.bytes", getBytesWritten());
+        return snapshot;
+    }
+
+    /**
+     * Resets all figures to zero.
+     */
+    public void reset() {
+        for (LongAdder adder : new LongAdder[]{parses, parseErrors, syntaxErrors, parseNanos, bytesRead, lines,
+                sections, pairs, comments, writes, writeErrors, writeNanos, bytesWritten}) {
+            adder.reset();
+        }
+
+        maxParseNanos.reset();
+        maxBytesRead.reset();
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A push parser for INI-files that arrive in chunks, e.g. from a non-blocking channel.
+ * In contrast to the {@link IniFileReader} it does not read a source, but is fed with the
+ * UTF-8 encoded bytes of the file with {@link #feed(ByteBuffer)} as they arrive.
+ * <pre>{@code
+ * IniPushParser parser = new IniPushParser();
+ * while (channel.read(buffer) >= 0) {
+ *     parser.feed(buffer.flip());
+ *     buffer.clear();
+ * }
+ * IniFile iniFile = parser.finish();
+ * }</pre>
+ *
+ * <p>Every line is parsed as soon as its line terminator has arrived. Complete lines are read
+ * directly from the fed buffer; only the unterminated line at the end of a chunk is copied
+ * until the rest of it arrives. Lines are split at {@code \n} and {@code \r}, which never
+ * occur within a multibyte UTF-8 sequence, so characters split between chunks are decoded
+ * together with their line.
+ *
+ * <p>By default, the parser builds an {@code IniFile}. A parser created with a {@link Handler}
+ * reports the events of the lines to the handler instead, like an {@link IniEventReader}.
+ *
+ * <p>A parser is not thread-safe. After a {@link FileSyntaxError}, the parser must not be used.
+ *
+ * @author Gregor Gottschewski
+ */
+public class IniPushParser {
+    private final Handler handler;
+    private IniFile iniFile;
+    private IniFileBuilder builder;
+    private boolean parseComments = true;
+    private InternPool internPool = InternPool.NONE;
+    private ByteBuffer carry = ByteBuffer.allocate(256);
+    private IniEventReader events;
+    private int lineNum;
+    private boolean skipLineFeed;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * Receives the events of a push parser.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * Called for every event of the fed lines and for {@link IniEvent#END} on
+         * {@link #finish()}. The section name, comment, key and value of the event are
+         * returned by the getters of the parser and are only valid during this call.
+         *
+         * @param event  the event.
+         * @param parser the parser that reports the event.
+         */
+        void handle(IniEvent event, IniPushParser parser);
+    }
+
+    /**
+     * Creates a parser that builds an {@code IniFile}. Comment parsing is enabled by default.
+     */
+    public IniPushParser() {
+        this.handler = null;
+    }
+
+    /**
+     * Creates a parser that reports the events to the given handler.
+     *
+     * @param handler the handler of the events.
+     */
+    public IniPushParser(Handler handler) {
+        this.handler = handler;
+    }
+
+    public boolean isParsingComments() {
+        return parseComments;
+    }
+
+    /**
+     * Enables or disables comment parsing of the built {@code IniFile}.
+     *
+     * @param parseComments a boolean setting the parse-comments-mode.
+     * @throws IllegalStateException if bytes have already been fed.
+     * @see IniFileReader#setParseComments(boolean)
+     */
+    public void setParseComments(boolean parseComments) {
+        checkNotStarted();
+        this.parseComments = parseComments;
+    }
+
+    public InternPool getInternPool() {
+        return internPool;
+    }
+
+    /**
+     * Sets the pool that the names and values of the built {@code IniFile} are taken from.
+     *
+     * @param internPool the pool, or {@code null} to share nothing.
+     * @throws IllegalStateException if bytes have already been fed.
+     * @see IniFileReader#setInternPool(InternPool)
+     */
+    public void setInternPool(InternPool internPool) {
+        checkNotStarted();
+        this.internPool = internPool != null ? internPool : InternPool.NONE;
+    }
+
+    /**
+     * Parses all complete lines of the bytes between the position and the limit of the given
+     * buffer and keeps an unterminated line at the end until the next call. The position of
+     * the buffer is set to its limit. The buffer can be reused after the call.
+     *
+     * @param chunk the next bytes of the file.
+     * @throws FileSyntaxError       if a complete line is invalid.
+     * @throws IllegalStateException if the parser is finished.
+     */
+    public void feed(ByteBuffer chunk) {
+        if (finished) {
+            throw new IllegalStateException("Parser is finished");
+        }
+
+        started = true;
+        int pos = chunk.position();
+        int limit = chunk.limit();
+
+        if (pos == limit) {
+            return;
+        }
+
+        if (skipLineFeed) {
+            if (chunk.get(pos) == '\n') {
+                pos++;
+            }
+
+            skipLineFeed = false;
+        }
+
+        if (carry.position() > 0) {
+            int end = lineEnd(chunk, pos, limit);
+
+            if (end < 0) {
+                append(chunk, pos, limit);
+                chunk.position(limit);
+                return;
+            }
+
+            append(chunk, pos, end);
+            parse(carry.flip());
+            carry.clear();
+            pos = end;
+        }
+
+        int last = lastLineEnd(chunk, pos, limit);
+
+        if (last > pos) {
+            parse(chunk.duplicate().limit(last).position(pos));
+        }
+
+        append(chunk, last, limit);
+        skipLineFeed = last == limit && chunk.get(limit - 1) == '\r';
+        chunk.position(limit);
+    }
+
+    /**
+     * Parses the last line if it is not terminated and ends the file.
+     *
+     * @return the built {@code IniFile}, or {@code null} if the parser reports to a handler.
+     * @throws FileSyntaxError       if the last line is invalid.
+     * @throws IllegalStateException if the parser is already finished.
+     */
+    public IniFile finish() {
+        if (finished) {
+            throw new IllegalStateException("Parser is finished");
+        }
+
+        started = true;
+
+        if (carry.position() > 0) {
+            parse(carry.flip());
+            carry = null;
+        }
+
+        finished = true;
+        events = null;
+        handle(IniEvent.END);
+        return iniFile;
+    }
+
+    /**
+     * @return {@code true} if {@link #finish()} has been called.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return the number of the line of the current event, or the number of parsed lines
+     * outside of events.
+     */
+    public int getLineNumber() {
+        return events != null ? events.getLineNumber() : lineNum;
+    }
+
+    /**
+     * @return the name of the section without brackets if the current event is {@link IniEvent#SECTION_START}.
+     * @see IniEventReader#getSectionName()
+     */
+    public CharSequence getSectionName() {
+        return events != null ? events.getSectionName() : null;
+    }
+
+    /**
+     * @return the comment without the leading {@code #} or {@code ;} if the current event is {@link IniEvent#COMMENT}.
+     * @see IniEventReader#getComment()
+     */
+    public CharSequence getComment() {
+        return events != null ? events.getComment() : null;
+    }
+
+    /**
+     * @return the key without leading and trailing whitespaces if the current event is {@link IniEvent#KEY_VALUE}.
+     * @see IniEventReader#getKey()
+     */
+    public CharSequence getKey() {
+        return events != null ? events.getKey() : null;
+    }
+
+    /**
+     * @return the value of the current key-value-pair.
+     * @see IniEventReader#getValue()
+     */
+    public CharSequence getValue() {
+        return events != null ? events.getValue() : null;
+    }
+
+    /**
+     * Parses the complete lines between the position and the limit of the given buffer.
+     */
+    private void parse(ByteBuffer lines) {
+        events = new IniEventReader(lines, lineNum);
+        IniEvent event;
+
+        try {
+            while ((event = events.next()) != IniEvent.END) {
+                handle(event);
+            }
+        } catch (IOException e) {
+            // a buffer source does not read
+            throw new UncheckedIOException(e);
+        }
+
+        lineNum = events.getLineNumber();
+        events = null;
+    }
+
+    private void handle(IniEvent event) {
+        if (handler != null) {
+            handler.handle(event, this);
+            return;
+        }
+
+        if (builder == null) {
+            iniFile = new IniFile();
+            builder = new IniFileBuilder(iniFile, parseComments, internPool);
+        }
+
+        switch (event) {
+            case COMMENT -> builder.handleComment(getComment());
+            case SECTION_START -> builder.handleSection(getSectionName(), getLineNumber());
+            case KEY_VALUE -> builder.handleKeyAssignment(getKey(), getValue(), getLineNumber());
+        }
+    }
+
+    private void append(ByteBuffer chunk, int start, int end) {
+        int length = end - start;
+
+        if (carry.remaining() < length) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(carry.capacity() * 2, carry.position() + length));
+            carry = grown.put(carry.flip());
+        }
+
+        carry.put(carry.position(), chunk, start, length);
+        carry.position(carry.position() + length);
+    }
+
+    private void checkNotStarted() {
+        if (started) {
+            throw new IllegalStateException("Parser has already started");
+        }
+    }
+
+    /**
+     * @return the index after the first line terminator, or {@code -1} if there is none.
+     */
+    private static int lineEnd(ByteBuffer chunk, int pos, int limit) {
+        for (int i = pos; i < limit; i++) {
+            byte b = chunk.get(i);
+
+            if (b == '\n') {
+                return i + 1;
+            }
+
+            if (b == '\r') {
+                return i + 1 < limit && chunk.get(i + 1) == '\n' ? i + 2 : i + 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the index after the last line terminator, or {@code pos} if there is none.
+     */
+    private static int lastLineEnd(ByteBuffer chunk, int pos, int limit) {
+        for (int i = limit - 1; i >= pos; i--) {
+            byte b = chunk.get(i);
+
+            if (b == '\n' || b == '\r') {
+                return i + 1;
+            }
+        }
+
+        return pos;
+    }
+}
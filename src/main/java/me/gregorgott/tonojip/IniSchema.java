@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.SchemaValidationError;
+import me.gregorgott.tonojip.iniobjects.OrderedMap;
+import me.gregorgott.tonojip.iniobjects.Value;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A declarative description of the sections and keys an INI-file must or may contain, with the
+ * types and values of the keys. An {@link IniFileReader} with a schema validates the file while
+ * it parses it and throws a {@link SchemaValidationError} with all violations and their lines:
+ * <pre>{@code
+ * IniSchema schema = new IniSchema();
+ * schema.global().key("name").required();
+ * schema.section("server").required().closed();
+ * schema.section("server").key("port").required().type(IniSchema.Type.INT).range(1, 65535);
+ * schema.section("server").key("mode").oneOf("dev", "prod");
+ * schema.section("server").key("host").pattern("[a-z0-9.-]+");
+ *
+ * IniFileReader reader = new IniFileReader(path);
+ * reader.setSchema(schema);
+ * IniFile file = reader.parse();
+ * }</pre>
+ *
+ * <p>Sections and keys without rules are allowed, unless the schema or the section is
+ * {@linkplain #closed() closed}. The rules are checked without exceptions, so a file with many
+ * invalid values is validated as fast as a valid one, and the converted numbers are cached in
+ * their {@link Value}s. A schema can be changed until it is
+ * used by a reader and can then be shared between readers and threads.
+ *
+ * @author Gregor Gottschewski
+ */
+public final class IniSchema {
+    private final SectionRule global = new SectionRule();
+    private final OrderedMap<String, SectionRule> sections = new OrderedMap<>();
+    private boolean closed;
+
+    /**
+     * The types of values.
+     */
+    public enum Type {
+        /**
+         * Any value, also a key without a value.
+         */
+        STRING,
+        /**
+         * A value that {@link Value#getAsInt()} converts.
+         */
+        INT,
+        /**
+         * A value that {@link Value#getAsLong()} converts.
+         */
+        LONG,
+        /**
+         * A value that {@link Value#getAsDouble()} converts.
+         */
+        DOUBLE,
+        /**
+         * A value that {@link Value#getAsBoolean()} converts.
+         */
+        BOOLEAN
+    }
+
+    /**
+     * The rules of the global key-value-pairs or of a section.
+     */
+    public static final class SectionRule {
+        private final OrderedMap<String, KeyRule> keys = new OrderedMap<>();
+        private boolean required;
+        private boolean closed;
+
+        private SectionRule() {
+        }
+
+        /**
+         * Requires that the file contains this section.
+         *
+         * @return this rule.
+         */
+        public SectionRule required() {
+            required = true;
+            return this;
+        }
+
+        /**
+         * Reports all keys of this section that have no rule.
+         *
+         * @return this rule.
+         */
+        public SectionRule closed() {
+            closed = true;
+            return this;
+        }
+
+        /**
+         * Returns the rule of a key of this section, which is created if it does not exist.
+         *
+         * @param name name of the key.
+         * @return the rule of the key.
+         */
+        public KeyRule key(String name) {
+            Objects.requireNonNull(name);
+            return keys.computeIfAbsent(name, n -> new KeyRule());
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * @return the rules of the keys by their names.
+         */
+        public Map<String, KeyRule> getKeys() {
+            return keys;
+        }
+    }
+
+    /**
+     * The rules of a key. A key without a value only matches {@link Type#STRING} and no
+     * other rule.
+     */
+    public static final class KeyRule {
+        private boolean required;
+        private Type type = Type.STRING;
+        private double min = Double.NEGATIVE_INFINITY;
+        private double max = Double.POSITIVE_INFINITY;
+        private Set<String> values;
+        private Pattern pattern;
+
+        private KeyRule() {
+        }
+
+        /**
+         * Requires that the section contains this key.
+         *
+         * @return this rule.
+         */
+        public KeyRule required() {
+            required = true;
+            return this;
+        }
+
+        /**
+         * Sets the type of the value, which is {@link Type#STRING} by default.
+         *
+         * @param type the type.
+         * @return this rule.
+         */
+        public KeyRule type(Type type) {
+            this.type = Objects.requireNonNull(type);
+            return this;
+        }
+
+        /**
+         * Limits the value to a range. Values of the type {@link Type#STRING} are checked as
+         * {@link Type#DOUBLE}.
+         *
+         * @param min the smallest valid value.
+         * @param max the largest valid value.
+         * @return this rule.
+         * @throws IllegalArgumentException if {@code min} is larger than {@code max}.
+         */
+        public KeyRule range(double min, double max) {
+            if (!(min <= max)) {
+                throw new IllegalArgumentException("Invalid range: " + min + " to " + max);
+            }
+
+            this.min = min;
+            this.max = max;
+            return this;
+        }
+
+        /**
+         * Limits the value to the given values, e.g. the constants of an enum.
+         *
+         * @param values the valid values.
+         * @return this rule.
+         */
+        public KeyRule oneOf(String... values) {
+            this.values = Set.of(values);
+            return this;
+        }
+
+        /**
+         * Requires that the whole value matches a regular expression.
+         *
+         * @param regex the regular expression.
+         * @return this rule.
+         * @throws java.util.regex.PatternSyntaxException if the expression is invalid.
+         */
+        public KeyRule pattern(String regex) {
+            this.pattern = Pattern.compile(regex);
+            return this;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * Checks a value against this rule.
+         *
+         * @return what does not match, or {@code null} if the value is valid.
+         */
+        String check(Value value) {
+            String string = value.getAsString();
+            boolean ranged = min != Double.NEGATIVE_INFINITY || max != Double.POSITIVE_INFINITY;
+
+            if (string == null) {
+                return type == Type.STRING && !ranged && values == null && pattern == null ? null : "missing value";
+            }
+
+            boolean valid = switch (type) {
+                case STRING -> !ranged || value.tryGetAsDouble().isPresent();
+                case INT -> value.tryGetAsInt().isPresent();
+                case LONG -> value.tryGetAsLong().isPresent();
+                case DOUBLE -> value.tryGetAsDouble().isPresent();
+                case BOOLEAN -> isBoolean(string);
+            };
+
+            if (!valid) {
+                return "'" + string + "' is not " + (type == Type.STRING ? "a number" : typeName());
+            }
+
+            if (ranged) {
+                double number = type == Type.INT || type == Type.LONG ? value.getAsLong() : value.getAsDouble();
+
+                if (!(number >= min && number <= max)) {
+                    return "'" + string + "' is not in range " + format(min) + " to " + format(max);
+                }
+            }
+
+            if (values != null && !values.contains(string)) {
+                return "'" + string + "' is not one of " + values.stream().sorted().toList();
+            }
+
+            if (pattern != null && !pattern.matcher(string).matches()) {
+                return "'" + string + "' does not match " + pattern.pattern();
+            }
+
+            return null;
+        }
+
+        private String typeName() {
+            return switch (type) {
+                case INT -> "an integer";
+                case LONG -> "a long";
+                case DOUBLE -> "a double";
+                default -> "a boolean";
+            };
+        }
+
+        private static String format(double bound) {
+            return bound == (long) bound ? Long.toString((long) bound) : Double.toString(bound);
+        }
+    }
+
+    /**
+     * Returns the rule of the global key-value-pairs.
+     *
+     * @return the rule of the global part of the file.
+     */
+    public SectionRule global() {
+        return global;
+    }
+
+    /**
+     * Returns the rule of a section, which is created if it does not exist.
+     *
+     * @param name name of the section.
+     * @return the rule of the section.
+     */
+    public SectionRule section(String name) {
+        Objects.requireNonNull(name);
+        return sections.computeIfAbsent(name, n -> new SectionRule());
+    }
+
+    /**
+     * Reports all sections that have no rule.
+     *
+     * @return this schema.
+     */
+    public IniSchema closed() {
+        closed = true;
+        return this;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return the rules of the sections by their names.
+     */
+    public Map<String, SectionRule> getSections() {
+        return sections;
+    }
+
+    /**
+     * Compiles this schema into a validator for one parse.
+     */
+    SchemaValidator compile() {
+        return new SchemaValidator(closed, global, sections);
+    }
+
+    private static boolean isBoolean(String s) {
+        return s.equals("True") || s.equals("Yes") || s.equals("False") || s.equals("No");
+    }
+}
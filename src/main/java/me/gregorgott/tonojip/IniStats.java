@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+
+import java.nio.file.Path;
+
+/**
+ * The figures of one parse or write, reported to an {@link IniListener}.
+ *
+ * <p>Counts that are not known are {@code -1}, e.g. the lines of a lazy parse, whose sections
+ * are decoded later. The pairs and comments of a lazy parse only include the global part of
+ * the file. A failed parse reports the size and the line of a syntax error, a failed write
+ * only reports the size written up to the error. A lenient parse succeeds, but reports the
+ * lines it skipped as syntax errors.
+ *
+ * @param operation    the operation.
+ * @param path         path of the file, or {@code null} if a {@code Reader} or {@code Writer} was used.
+ * @param size         number of bytes of a file, or number of characters of a {@code Reader} or {@code Writer}.
+ * @param lines        number of lines, including blank lines.
+ * @param sections     number of section headers, including replaced sections.
+ * @param pairs        number of key-value-pairs, including replaced pairs.
+ * @param comments     number of comment lines.
+ * @param syntaxErrors number of syntax errors, i.e. the lines skipped by a lenient parse, or
+ *                     {@code 1} if the parse failed because of a syntax error.
+ * @param nanos        elapsed time in nanoseconds.
+ * @param error        the error of a failed operation, or {@code null} if it succeeded.
+ * @author Gregor Gottschewski
+ */
+public record IniStats(Operation operation, Path path, long size, int lines, int sections, int pairs,
+                       int comments, int syntaxErrors, long nanos, Exception error) {
+    /**
+     * The instrumented operations.
+     */
+    public enum Operation {
+        /**
+         * {@link IniFileReader#parse()}.
+         */
+        PARSE,
+        /**
+         * {@link IniFileWriter#write(me.gregorgott.tonojip.iniobjects.IniFile)}.
+         */
+        WRITE
+    }
+
+    /**
+     * @return {@code true} if the operation failed because of a {@link FileSyntaxError}.
+     */
+    public boolean isSyntaxError() {
+        return error instanceof FileSyntaxError;
+    }
+}
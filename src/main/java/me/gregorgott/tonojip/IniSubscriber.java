@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.IniFile;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link Flow.Subscriber} that feeds the received chunks of an INI-file to an
+ * {@link IniPushParser}, so a file can be parsed while it is still arriving.
+ * <pre>{@code
+ * IniSubscriber subscriber = new IniSubscriber();
+ * publisher.subscribe(subscriber);
+ * IniFile iniFile = subscriber.getResult().join();
+ * }</pre>
+ *
+ * <p>The subscriber requests a few chunks at a time and only requests more after it has parsed
+ * them, so a fast publisher cannot flood it. A chunk can be reused by the publisher after it
+ * was parsed. If a line is invalid, the subscription is cancelled and the result completes
+ * with the {@link me.gregorgott.tonojip.exceptions.FileSyntaxError}.
+ *
+ * @author Gregor Gottschewski
+ */
+public class IniSubscriber implements Flow.Subscriber<ByteBuffer> {
+    /**
+     * Default number of chunks that are requested at a time.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 4;
+
+    private final IniPushParser parser;
+    private final int batchSize;
+    private final CompletableFuture<IniFile> result = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private int pending;
+
+    /**
+     * Creates a subscriber that builds an {@code IniFile} with comment parsing enabled.
+     */
+    public IniSubscriber() {
+        this(new IniPushParser(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a subscriber that feeds the given parser.
+     *
+     * @param parser    the parser to feed; it must not have been fed yet.
+     * @param batchSize number of chunks that are requested at a time.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    public IniSubscriber(IniPushParser parser, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+
+        this.parser = parser;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Completes with the built {@code IniFile} when the publisher completes, or with
+     * {@code null} if the parser reports to a {@link IniPushParser.Handler}. Completes
+     * exceptionally if the publisher fails or a line is invalid.
+     *
+     * @return the result of the parse.
+     */
+    public CompletableFuture<IniFile> getResult() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        pending = batchSize;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(ByteBuffer chunk) {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            parser.feed(chunk);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            result.completeExceptionally(e);
+            return;
+        }
+
+        if (--pending == 0) {
+            pending = batchSize;
+            subscription.request(batchSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            result.complete(parser.finish());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.Value;
+
+/**
+ * A pool that lets parsed files share equal names and values instead of creating a new
+ * {@code String} and {@code Value} for every occurrence. Set it with
+ * {@link IniFileReader#setInternPool(InternPool)}; the same pool can be used by many readers
+ * on many threads.
+ *
+ * <p>{@code Key}s are not shared, because their comments can be changed.
+ *
+ * @author Gregor Gottschewski
+ * @see ConcurrentInternPool
+ */
+@FunctionalInterface
+public interface InternPool {
+    /**
+     * A pool that shares nothing and always creates new instances.
+     */
+    InternPool NONE = CharSequence::toString;
+
+    /**
+     * Returns a string with the given characters, either from the pool or a new one.
+     *
+     * @param chars the characters; the caller may change them after the call.
+     * @return a string equal to {@code chars}.
+     */
+    String intern(CharSequence chars);
+
+    /**
+     * Returns a value with the given characters, either from the pool or a new one.
+     * Values can be shared because they are immutable.
+     *
+     * @param chars the characters; the caller may change them after the call.
+     * @return a value whose {@link Value#getAsString()} is equal to {@code chars}.
+     */
+    default Value internValue(CharSequence chars) {
+        return new Value(intern(chars));
+    }
+}
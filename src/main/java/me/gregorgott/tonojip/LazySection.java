@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.KeyValuePairMap;
+import me.gregorgott.tonojip.iniobjects.Section;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A section whose key-value-pairs are decoded from the source bytes on the first call of
+ * {@link #getPairMap()}. The decoding happens once, even if several threads access the
+ * section at the same time.
+ *
+ * @author Gregor Gottschewski
+ */
+final class LazySection extends Section {
+    private ByteBuffer source;
+    private final int firstLine;
+    private final boolean parseComments;
+    private final InternPool internPool;
+    private volatile boolean decoded;
+
+    /**
+     * @param source        the bytes between position and limit are the body of the section.
+     * @param firstLine     line number of the section header.
+     * @param parseComments {@code false} to ignore the comments of the keys.
+     * @param internPool    the pool of names and values.
+     */
+    LazySection(ByteBuffer source, int firstLine, boolean parseComments, InternPool internPool) {
+        this.source = source;
+        this.firstLine = firstLine;
+        this.parseComments = parseComments;
+        this.internPool = internPool;
+    }
+
+    /**
+     * Decodes the key-value-pairs on the first call.
+     *
+     * @return the key-value pair map of this section.
+     * @throws me.gregorgott.tonojip.exceptions.FileSyntaxError if the body of the section is invalid.
+     */
+    @Override
+    public KeyValuePairMap getPairMap() {
+        if (!decoded) {
+            decode();
+        }
+
+        return super.getPairMap();
+    }
+
+    private synchronized void decode() {
+        if (decoded) {
+            return;
+        }
+
+        KeyValuePairMap pairs = super.getPairMap();
+
+        try {
+            new IniFileBuilder(pairs, parseComments, internPool).build(new IniEventReader(source, firstLine));
+        } catch (IOException e) {
+            pairs.clear();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            pairs.clear();
+            throw e;
+        }
+
+        source = null;
+        decoded = true;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * The common fields of the JDK Flight Recorder events of parses and writes. The duration of
+ * the event is the duration of the operation.
+ *
+ * <p>Callers create the event before the operation and only collect the figures if
+ * {@link #isEnabled()} returns {@code true}, so the events cost nothing while no recording
+ * is running.
+ *
+ * @author Gregor Gottschewski
+ */
+@Category({"TonoJip", "INI-Files"})
+@StackTrace(false)
+abstract class OperationEvent extends Event {
+    @Label("Source")
+    @Description("Path of the file, or class of the Reader or Writer")
+    String source;
+
+    @Label("Size")
+    @Description("Bytes of a file, or characters of a Reader or Writer")
+    @DataAmount
+    long size;
+
+    @Label("Lines")
+    @Description("Number of lines, or -1 if unknown")
+    int lines;
+
+    @Label("Sections")
+    int sections;
+
+    @Label("Pairs")
+    @Description("Number of key-value-pairs")
+    int pairs;
+
+    @Label("Syntax Errors")
+    @Description("Number of lines skipped by a lenient parse, or 1 if the parse failed")
+    int syntaxErrors;
+
+    @Label("Error")
+    @Description("The error of a failed operation")
+    String error;
+
+    /**
+     * Ends the event and commits it with the given figures if it exceeds the threshold of the
+     * recording.
+     *
+     * @param stats  the figures of the operation.
+     * @param source path of the file, or class of the {@code Reader} or {@code Writer}.
+     */
+    void report(IniStats stats, String source) {
+        end();
+
+        if (shouldCommit()) {
+            this.source = source;
+            this.size = stats.size();
+            this.lines = stats.lines();
+            this.sections = stats.sections();
+            this.pairs = stats.pairs();
+            this.syntaxErrors = stats.syntaxErrors();
+            this.error = stats.error() != null ? stats.error().toString() : null;
+            commit();
+        }
+    }
+}
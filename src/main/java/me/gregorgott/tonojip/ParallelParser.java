@@ -0,0 +1,379 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Parses a memory-mapped file in chunks on a {@link ForkJoinPool}.
+ *
+ * <p>A chunk always starts with a section, including the comment lines in front of its header
+ * (see {@link SectionIndex}), so every chunk can be parsed on its own. The sections of the
+ * chunks are merged in file order, so a later section replaces an earlier one with the same
+ * name just like in a sequential parse. Syntax errors report the line number within the file.
+ *
+ * @author Gregor Gottschewski
+ */
+final class ParallelParser {
+    /**
+     * Maximum number of bytes mapped at once.
+     */
+    private static final long MAP_WINDOW = 1L << 30;
+
+    /**
+     * Default minimal size of a chunk. Smaller files are not worth splitting.
+     */
+    static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    private final ForkJoinPool pool;
+    private final boolean parseComments;
+    private final InternPool internPool;
+    private final int minChunkSize;
+    private final List<ByteBuffer> windows = new ArrayList<>();
+    private final List<Chunk> chunks = new ArrayList<>();
+    private IniFileBuilder[] builders;
+
+    /**
+     * A part of a window that starts with a section or at the start of the file.
+     */
+    private record Chunk(int window, int start, int end) {
+    }
+
+    ParallelParser(ForkJoinPool pool, boolean parseComments, int minChunkSize) {
+        this(pool, parseComments, InternPool.NONE, minChunkSize);
+    }
+
+    ParallelParser(ForkJoinPool pool, boolean parseComments, InternPool internPool, int minChunkSize) {
+        this.pool = pool;
+        this.parseComments = parseComments;
+        this.internPool = internPool;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Splits and parses the file.
+     *
+     * @param channel channel of the file.
+     * @return the parsed file, or {@code null} if the file is too small or cannot be split.
+     * @throws IOException if an I/O-error occurs.
+     */
+    IniFile parse(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int targetChunks = pool.getParallelism() * 4;
+
+        if (size < 2L * minChunkSize || targetChunks < 2 || !split(channel, size, targetChunks) || chunks.size() < 2) {
+            return null;
+        }
+
+        List<Callable<IniFile>> tasks = new ArrayList<>(chunks.size());
+        builders = new IniFileBuilder[chunks.size()];
+
+        for (int i = 0; i < chunks.size(); i++) {
+            int index = i;
+            tasks.add(() -> parse(index));
+        }
+
+        List<Future<IniFile>> results = pool.invokeAll(tasks);
+        IniFile iniFile = new IniFile();
+
+        for (int i = 0; i < results.size(); i++) {
+            IniFile part = join(results.get(i), chunks.get(i));
+            iniFile.getGlobalValues().putAll(part.getGlobalValues());
+            iniFile.getSections().putAll(part.getSections());
+        }
+
+        return iniFile;
+    }
+
+    private IniFile parse(int index) throws IOException {
+        Chunk chunk = chunks.get(index);
+        IniFile part = new IniFile();
+        ByteBuffer bytes = windows.get(chunk.window()).duplicate().position(chunk.start()).limit(chunk.end());
+        builders[index] = new IniFileBuilder(part, parseComments, internPool);
+        builders[index].build(new IniEventReader(bytes, 0));
+        return part;
+    }
+
+    /**
+     * Adds the counts of all chunks of a successful {@link #parse(FileChannel)} to the given counts.
+     *
+     * @param counts the counts to add to.
+     */
+    void addCounts(ParseCounts counts) {
+        for (IniFileBuilder builder : builders) {
+            builder.addCounts(counts);
+        }
+    }
+
+    /**
+     * Waits for the result of a chunk and moves the line number of a syntax error to the
+     * line number within the file.
+     */
+    private IniFile join(Future<IniFile> result, Chunk chunk) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof FileSyntaxError error) {
+                throw error.withLineOffset(countLines(chunk));
+            }
+
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Maps the file window by window and splits every window into chunks. Every window except
+     * the last one ends at the start of a section.
+     *
+     * @return {@code false} if a window contains no section to split at.
+     */
+    private boolean split(FileChannel channel, long size, int targetChunks) throws IOException {
+        long position = 0;
+
+        while (position < size) {
+            long length = Math.min(MAP_WINDOW, size - position);
+            ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int limit = (int) length;
+
+            if (position + length < size) {
+                limit = lastSectionStart(window, limit);
+
+                if (limit <= 0) {
+                    return false;
+                }
+            }
+
+            window.limit(limit);
+            int count = (int) Math.max(1, Math.min(((long) targetChunks * limit + size - 1) / size, limit / minChunkSize));
+            int start = 0;
+
+            for (int i = 1; i < count; i++) {
+                int split = nextSectionStart(window, Math.max((int) ((long) limit * i / count), start + 1), limit, start);
+
+                if (split < 0) {
+                    break;
+                }
+
+                if (split > start) {
+                    chunks.add(new Chunk(windows.size(), start, split));
+                    start = split;
+                }
+            }
+
+            chunks.add(new Chunk(windows.size(), start, limit));
+            windows.add(window);
+            position += limit;
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the first section whose header starts at or after {@code from}.
+     *
+     * @return the start of the section, including its comment lines but not in front of
+     * {@code lowerBound}, or {@code -1} if there is no section.
+     */
+    private static int nextSectionStart(ByteBuffer buffer, int from, int limit, int lowerBound) {
+        int pos = from;
+
+        while (pos < limit && !isLineStart(buffer, pos)) {
+            pos++;
+        }
+
+        while (pos < limit) {
+            int end = lineEnd(buffer, pos, limit);
+
+            if (buffer.get(pos) == '[' && SectionIndex.isSection(buffer, pos, end)) {
+                return sectionStart(buffer, pos, lowerBound);
+            }
+
+            pos = nextLineStart(buffer, end, limit);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the start of the last section of a window. The last line of the window may be
+     * incomplete and is ignored.
+     *
+     * @return the start of the section, or {@code 0} if there is none.
+     */
+    private static int lastSectionStart(ByteBuffer buffer, int limit) {
+        int lineStart = limit;
+
+        while (lineStart > 0 && buffer.get(lineStart - 1) != '\n') {
+            lineStart--;
+        }
+
+        while (lineStart > 0) {
+            int end = previousLineEnd(buffer, lineStart);
+            lineStart = lineStartBefore(buffer, end, 0);
+
+            if (buffer.get(lineStart) == '[' && SectionIndex.isSection(buffer, lineStart, end)) {
+                return sectionStart(buffer, lineStart, 0);
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Moves from a section header back over the comment and blank lines in front of it.
+     */
+    private static int sectionStart(ByteBuffer buffer, int headerStart, int lowerBound) {
+        int start = headerStart;
+
+        while (start > lowerBound) {
+            int end = previousLineEnd(buffer, start);
+            int lineStart = lineStartBefore(buffer, end, lowerBound);
+
+            if (!isCommentOrBlank(buffer, lineStart, end)) {
+                break;
+            }
+
+            start = lineStart;
+        }
+
+        return start;
+    }
+
+    private static boolean isCommentOrBlank(ByteBuffer buffer, int start, int end) {
+        if (start == end) {
+            return true;
+        }
+
+        byte first = buffer.get(start);
+        return first == '#' || first == ';' || SectionIndex.isBlank(buffer, start, end);
+    }
+
+    private static boolean isLineStart(ByteBuffer buffer, int pos) {
+        if (pos == 0) {
+            return true;
+        }
+
+        byte previous = buffer.get(pos - 1);
+        return previous == '\n' || (previous == '\r' && buffer.get(pos) != '\n');
+    }
+
+    private static int lineEnd(ByteBuffer buffer, int pos, int limit) {
+        byte b;
+
+        while (pos < limit && (b = buffer.get(pos)) != '\n' && b != '\r') {
+            pos++;
+        }
+
+        return pos;
+    }
+
+    private static int nextLineStart(ByteBuffer buffer, int end, int limit) {
+        if (end < limit && buffer.get(end) == '\r' && end + 1 < limit && buffer.get(end + 1) == '\n') {
+            return end + 2;
+        }
+
+        return end + 1;
+    }
+
+    /**
+     * @return the end of the line in front of the line starting at {@code lineStart}.
+     */
+    private static int previousLineEnd(ByteBuffer buffer, int lineStart) {
+        int end = lineStart - 1;
+
+        if (end > 0 && buffer.get(end) == '\n' && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+
+        return end;
+    }
+
+    private static int lineStartBefore(ByteBuffer buffer, int end, int lowerBound) {
+        int start = end;
+
+        while (start > lowerBound) {
+            byte b = buffer.get(start - 1);
+
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+
+            start--;
+        }
+
+        return start;
+    }
+
+    /**
+     * Counts the lines in front of a chunk. Only needed to report syntax errors.
+     */
+    private int countLines(Chunk chunk) {
+        int lines = 0;
+
+        for (int w = 0; w <= chunk.window(); w++) {
+            ByteBuffer window = windows.get(w);
+            int end = w == chunk.window() ? chunk.start() : window.limit();
+
+            for (int i = 0; i < end; i++) {
+                byte b = window.get(i);
+
+                if (b == '\n') {
+                    lines++;
+                } else if (b == '\r') {
+                    lines++;
+
+                    if (i + 1 < end && window.get(i + 1) == '\n') {
+                        i++;
+                    }
+                }
+            }
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import me.gregorgott.tonojip.iniobjects.Section;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Serializes an {@link IniFile} in parts on a {@link ForkJoinPool} and replaces a file
+ * atomically with the result.
+ *
+ * <p>The sections are split into parts of about the same number of key-value-pairs, the global
+ * values belong to the first part. The parts keep the order of {@link IniFileWriter#write(IniFile)},
+ * so the content of the file is the same. The target is replaced with {@link AtomicFiles}.
+ *
+ * @author Gregor Gottschewski
+ */
+final class ParallelWriter {
+    /**
+     * Default number of key-value-pairs per part. Files with fewer pairs are serialized on the calling thread.
+     */
+    static final int CHUNK_PAIRS = 16_384;
+
+    private final ForkJoinPool pool;
+    private final int chunkPairs;
+
+    ParallelWriter(ForkJoinPool pool, int chunkPairs) {
+        this.pool = pool;
+        this.chunkPairs = chunkPairs;
+    }
+
+    /**
+     * Serializes the file and replaces the target with it.
+     *
+     * @param iniFile the file to write.
+     * @param path    path of the target.
+     * @return the number of written bytes.
+     * @throws IOException if an I/O-error occurs.
+     */
+    long write(IniFile iniFile, Path path) throws IOException {
+        ByteBuffer[] parts = serialize(iniFile);
+        long size = 0;
+
+        for (ByteBuffer part : parts) {
+            size += part.remaining();
+        }
+
+        AtomicFiles.replace(path, parts);
+        return size;
+    }
+
+    /**
+     * @return the bytes of the parts in file order.
+     */
+    private ByteBuffer[] serialize(IniFile iniFile) throws IOException {
+        List<List<Map.Entry<String, Section>>> chunks = new ArrayList<>();
+        List<Map.Entry<String, Section>> chunk = new ArrayList<>();
+        int pairs = iniFile.getGlobalValues().size();
+
+        for (Map.Entry<String, Section> section : iniFile.getSections().entrySet()) {
+            if (pairs >= chunkPairs) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                pairs = 0;
+            }
+
+            chunk.add(section);
+            pairs += section.getValue().getPairMap().size() + 1;
+        }
+
+        chunks.add(chunk);
+
+        if (chunks.size() == 1) {
+            return IniFileWriter.serialize(iniFile.getGlobalValues(), chunk);
+        }
+
+        List<Callable<ByteBuffer[]>> tasks = new ArrayList<>(chunks.size());
+
+        for (int i = 0; i < chunks.size(); i++) {
+            List<Map.Entry<String, Section>> sections = chunks.get(i);
+            boolean first = i == 0;
+            tasks.add(() -> IniFileWriter.serialize(first ? iniFile.getGlobalValues() : null, sections));
+        }
+
+        List<Future<ByteBuffer[]>> results = pool.invokeAll(tasks);
+        List<ByteBuffer> parts = new ArrayList<>();
+
+        for (Future<ByteBuffer[]> result : results) {
+            parts.addAll(Arrays.asList(join(result)));
+        }
+
+        return parts.toArray(new ByteBuffer[0]);
+    }
+
+    private static ByteBuffer[] join(Future<ByteBuffer[]> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+}
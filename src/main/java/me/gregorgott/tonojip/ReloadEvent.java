@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of {@link ReloadingIniFile#reload()}, which is also called when
+ * the watched file changes. The duration of the event is the duration of the reload.
+ *
+ * @author Gregor Gottschewski
+ */
+@Name("me.gregorgott.tonojip.Reload")
+@Label("INI-File Reload")
+@Description("Reloading of a watched INI-file")
+@Category({"TonoJip", "INI-Files"})
+@StackTrace(false)
+final class ReloadEvent extends Event {
+    @Label("Source")
+    @Description("Path of the file")
+    String source;
+
+    @Label("Global Values Changed")
+    boolean globalValuesChanged;
+
+    @Label("Added Sections")
+    int addedSections;
+
+    @Label("Removed Sections")
+    int removedSections;
+
+    @Label("Changed Sections")
+    int changedSections;
+
+    @Label("Error")
+    @Description("The error of a failed reload")
+    String error;
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the latest {@link IniFile} of a file and parses the file again when it changes.
+ *
+ * <pre>{@code
+ * try (ReloadingIniFile config = new ReloadingIniFile(Path.of("config.ini"))) {
+ *     Value timeout = config.get().getValue("server", "timeout");
+ *     // ...
+ * }
+ * }</pre>
+ *
+ * <p>The directory of the file is watched with a {@link WatchService} on a virtual thread.
+ * Bursts of change events, e.g. of an editor that writes a file in several steps, are
+ * combined: the file is parsed once no event arrived for the debounce time. The new
+ * {@code IniFile} is fully built before it is published, so {@link #get()} never blocks and
+ * never returns a partially parsed file. Only the sections that changed are decoded again, the
+ * other {@link me.gregorgott.tonojip.iniobjects.Section}s are taken over from the previous file
+ * (see {@link IncrementalIniFileReader}).
+ *
+ * <p>If the file cannot be parsed, e.g. because of a {@link FileSyntaxError}, the last good
+ * {@code IniFile} is kept and the error is available from {@link #getLastError()} until the
+ * next successful parse.
+ *
+ * <p>The returned {@code IniFile}s are shared with all callers and should not be modified.
+ *
+ * @author Gregor Gottschewski
+ */
+public final class ReloadingIniFile implements Closeable {
+    /**
+     * The default time without change events before the file is parsed again.
+     */
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(100);
+
+    private final Path path;
+    private final Duration debounce;
+    private final IncrementalIniFileReader reader;
+    private final AtomicReference<IniFile> current = new AtomicReference<>();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final WatchService watchService;
+    private final Thread watcher;
+    private volatile Exception lastError;
+
+    /**
+     * Parses the file and starts watching it with the {@link #DEFAULT_DEBOUNCE} time.
+     *
+     * @param path path of the INI-file.
+     * @throws IOException     if an I/O-error occurs.
+     * @throws FileSyntaxError if a line of the file is invalid.
+     */
+    public ReloadingIniFile(Path path) throws IOException {
+        this(path, DEFAULT_DEBOUNCE);
+    }
+
+    /**
+     * Parses the file and starts watching it.
+     *
+     * @param path     path of the INI-file.
+     * @param debounce time without change events before the file is parsed again.
+     * @throws IOException     if an I/O-error occurs.
+     * @throws FileSyntaxError if a line of the file is invalid.
+     */
+    public ReloadingIniFile(Path path, Duration debounce) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.debounce = Objects.requireNonNull(debounce);
+        reader = new IncrementalIniFileReader(this.path);
+        current.set(reader.parse().iniFile());
+
+        watchService = this.path.getFileSystem().newWatchService();
+
+        try {
+            this.path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+
+        watcher = Thread.ofVirtual().name("tonojip-reload-" + this.path.getFileName()).start(this::watch);
+    }
+
+    /**
+     * @return the latest successfully parsed file.
+     */
+    public IniFile get() {
+        return current.get();
+    }
+
+    /**
+     * @return the error of the last parse, or {@code null} if the last parse was successful.
+     */
+    public Exception getLastError() {
+        return lastError;
+    }
+
+    /**
+     * @return the absolute path of the watched file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Parses the file now and publishes the result. If the file cannot be parsed, the last
+     * good {@code IniFile} is kept, the error is recorded and thrown.
+     *
+     * @return the new {@code IniFile}.
+     * @throws IOException     if an I/O-error occurs.
+     * @throws FileSyntaxError if a line of the file is invalid.
+     */
+    public IniFile reload() throws IOException {
+        ReloadEvent event = new ReloadEvent();
+        event.begin();
+        reloadLock.lock();
+
+        try {
+            IniFileChanges changes = reader.parse();
+            current.set(changes.iniFile());
+            lastError = null;
+
+            if (event.isEnabled()) {
+                event.globalValuesChanged = changes.globalValuesChanged();
+                event.addedSections = changes.addedSections().size();
+                event.removedSections = changes.removedSections().size();
+                event.changedSections = changes.changedSections().size();
+            }
+
+            return changes.iniFile();
+        } catch (IOException | RuntimeException e) {
+            lastError = e;
+
+            if (event.isEnabled()) {
+                event.error = e.toString();
+            }
+
+            throw e;
+        } finally {
+            reloadLock.unlock();
+            event.end();
+
+            if (event.shouldCommit()) {
+                event.source = path.toString();
+                event.commit();
+            }
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean changed = isChanged(watchService.take());
+                WatchKey key;
+
+                while ((key = watchService.poll(debounce.toNanos(), TimeUnit.NANOSECONDS)) != null) {
+                    changed |= isChanged(key);
+                }
+
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (IOException | RuntimeException e) {
+                        // recorded as last error, the last good file is kept
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // closed
+        }
+    }
+
+    /**
+     * Consumes the events of the key and checks if one of them affects the watched file.
+     */
+    private boolean isChanged(WatchKey key) {
+        boolean changed = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || path.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Stops watching the file. The last {@code IniFile} stays available.
+     *
+     * @throws IOException if an I/O-error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+
+        try {
+            watcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
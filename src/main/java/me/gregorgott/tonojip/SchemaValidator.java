@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.SchemaValidationError;
+import me.gregorgott.tonojip.exceptions.SchemaValidationError.Violation;
+import me.gregorgott.tonojip.iniobjects.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the sections and key-value-pairs of one parse against an {@link IniSchema} while
+ * they are built. The rules are compiled into tables that number the sections and required
+ * keys, so the rules of a section are looked up once per header and the sections and keys
+ * that were seen are marked in arrays.
+ *
+ * @author Gregor Gottschewski
+ */
+final class SchemaValidator {
+    private final boolean closed;
+    private final Map<String, SectionRules> sections = new HashMap<>();
+    private final List<SectionRules> requiredSections = new ArrayList<>();
+    private final List<Violation> violations = new ArrayList<>();
+    private final boolean[] seenSections;
+    private SectionRules section;
+    private String sectionName;
+    private int sectionLine;
+    private boolean[] seenKeys;
+
+    /**
+     * The compiled rules of a section.
+     *
+     * @param name         name of the section, or {@code null} for the global part.
+     * @param index        index of a required section, {@code -1} otherwise.
+     * @param closed       {@code true} if keys without rules are reported.
+     * @param keys         the rules of the keys by their names.
+     * @param requiredKeys names of the required keys, by their index.
+     */
+    private record SectionRules(String name, int index, boolean closed, Map<String, KeyRules> keys, String[] requiredKeys) {
+    }
+
+    /**
+     * The compiled rules of a key.
+     *
+     * @param rule  the rule to check the values with.
+     * @param index index of a required key, {@code -1} otherwise.
+     */
+    private record KeyRules(IniSchema.KeyRule rule, int index) {
+    }
+
+    SchemaValidator(boolean closed, IniSchema.SectionRule global, Map<String, IniSchema.SectionRule> sections) {
+        this.closed = closed;
+
+        for (Map.Entry<String, IniSchema.SectionRule> entry : sections.entrySet()) {
+            boolean required = entry.getValue().isRequired();
+            SectionRules rules = compile(entry.getKey(), required ? requiredSections.size() : -1, entry.getValue());
+            this.sections.put(entry.getKey(), rules);
+
+            if (required) {
+                requiredSections.add(rules);
+            }
+        }
+
+        this.seenSections = new boolean[requiredSections.size()];
+        enter(compile(null, -1, global), null, 0);
+    }
+
+    private static SectionRules compile(String name, int index, IniSchema.SectionRule rule) {
+        Map<String, KeyRules> keys = new HashMap<>();
+        List<String> requiredKeys = new ArrayList<>();
+
+        for (Map.Entry<String, IniSchema.KeyRule> entry : rule.getKeys().entrySet()) {
+            boolean required = entry.getValue().isRequired();
+            keys.put(entry.getKey(), new KeyRules(entry.getValue(), required ? requiredKeys.size() : -1));
+
+            if (required) {
+                requiredKeys.add(entry.getKey());
+            }
+        }
+
+        return new SectionRules(name, index, rule.isClosed(), keys, requiredKeys.toArray(String[]::new));
+    }
+
+    /**
+     * Checks a section header and the missing keys of the previous section.
+     *
+     * @param name    name of the section.
+     * @param lineNum line of the header.
+     */
+    void section(String name, int lineNum) {
+        leave();
+        SectionRules rules = sections.get(name);
+
+        if (rules == null && closed) {
+            violations.add(new Violation(lineNum, name, null, "unknown section"));
+        }
+
+        if (rules != null && rules.index() >= 0) {
+            seenSections[rules.index()] = true;
+        }
+
+        enter(rules, name, lineNum);
+    }
+
+    /**
+     * Checks a key-value-pair of the current section.
+     *
+     * @param key     name of the key.
+     * @param value   value of the key.
+     * @param lineNum line of the pair.
+     */
+    void pair(String key, Value value, int lineNum) {
+        if (section == null) {
+            return;
+        }
+
+        KeyRules rules = section.keys().get(key);
+
+        if (rules == null) {
+            if (section.closed()) {
+                violations.add(new Violation(lineNum, sectionName, key, "unknown key"));
+            }
+
+            return;
+        }
+
+        if (rules.index() >= 0) {
+            seenKeys[rules.index()] = true;
+        }
+
+        String message = rules.rule().check(value);
+
+        if (message != null) {
+            violations.add(new Violation(lineNum, sectionName, key, message));
+        }
+    }
+
+    /**
+     * Checks the missing keys of the last section and the missing sections.
+     *
+     * @throws SchemaValidationError if the file does not match the schema.
+     */
+    void finish() {
+        leave();
+        seenKeys = null;
+
+        for (SectionRules rules : requiredSections) {
+            if (!seenSections[rules.index()]) {
+                violations.add(new Violation(0, rules.name(), null, "missing section"));
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new SchemaValidationError(violations);
+        }
+    }
+
+    private void enter(SectionRules rules, String name, int lineNum) {
+        section = rules;
+        sectionName = name;
+        sectionLine = lineNum;
+        seenKeys = rules != null && rules.requiredKeys().length > 0 ? new boolean[rules.requiredKeys().length] : null;
+    }
+
+    private void leave() {
+        if (seenKeys == null) {
+            return;
+        }
+
+        String[] requiredKeys = section.requiredKeys();
+
+        for (int i = 0; i < requiredKeys.length; i++) {
+            if (!seenKeys[i]) {
+                violations.add(new Violation(sectionLine, sectionName, requiredKeys[i], "missing key"));
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An index of the sections in the UTF-8 bytes of an INI-file. Finding the sections only
+ * needs a look at the first byte of most lines, so no keys or values are decoded.
+ *
+ * <p>The range of a section starts with the comment lines in front of its header, because
+ * these comments belong to the section, and ends where the range of the next section starts.
+ * Everything in front of the first section belongs to the global values.
+ *
+ * @author Gregor Gottschewski
+ */
+final class SectionIndex {
+    private final List<Entry> entries = new ArrayList<>();
+    private final int globalEnd;
+
+    /**
+     * The range of a section.
+     *
+     * @param name         name of the section.
+     * @param start        start of the comments in front of the header, or of the header if there are none.
+     * @param headerStart  start of the header line.
+     * @param headerLine   line number of the header.
+     * @param bodyStart    start of the line after the header.
+     * @param end          end of the section.
+     */
+    record Entry(String name, int start, int headerStart, int headerLine, int bodyStart, int end) {
+    }
+
+    private SectionIndex(int globalEnd) {
+        this.globalEnd = globalEnd;
+    }
+
+    /**
+     * Scans the bytes between position and limit of the given buffer.
+     *
+     * @param buffer the bytes of an INI-file.
+     * @return the index of all sections in the order of the file, duplicates included.
+     * @throws FileSyntaxError if a section header has no parent.
+     */
+    static SectionIndex scan(ByteBuffer buffer) {
+        List<int[]> headers = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int limit = buffer.limit();
+        int pos = buffer.position();
+        int lineNum = 0;
+        int commentStart = -1;
+
+        while (pos < limit) {
+            int start = pos;
+            byte b = 0;
+
+            while (pos < limit && (b = buffer.get(pos)) != '\n' && b != '\r') {
+                pos++;
+            }
+
+            int end = pos;
+
+            if (pos < limit) {
+                pos++;
+
+                if (b == '\r' && pos < limit && buffer.get(pos) == '\n') {
+                    pos++;
+                }
+            }
+
+            lineNum++;
+
+            if (start == end) {
+                continue;
+            }
+
+            byte first = buffer.get(start);
+
+            if (first == '#' || first == ';') {
+                if (commentStart < 0) {
+                    commentStart = start;
+                }
+            } else if (first == '[' && isSection(buffer, start, end)) {
+                String name = decode(buffer, start + 1, end - 1);
+
+                if (name.startsWith(".")) {
+                    throw new FileSyntaxError(lineNum, decode(buffer, start, end), "child section without parent");
+                }
+
+                headers.add(new int[]{commentStart < 0 ? start : commentStart, start, lineNum, pos});
+                names.add(name);
+                commentStart = -1;
+            } else if (!isBlank(buffer, start, end)) {
+                commentStart = -1;
+            }
+        }
+
+        SectionIndex index = new SectionIndex(headers.isEmpty() ? limit : headers.getFirst()[0]);
+
+        for (int i = 0; i < headers.size(); i++) {
+            int[] header = headers.get(i);
+            int end = i + 1 < headers.size() ? headers.get(i + 1)[0] : limit;
+            index.entries.add(new Entry(names.get(i), header[0], header[1], header[2], header[3], end));
+        }
+
+        return index;
+    }
+
+    /**
+     * @return the sections in the order of the file.
+     */
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * @return the end of the global values, which is the start of the first section.
+     */
+    int globalEnd() {
+        return globalEnd;
+    }
+
+    /**
+     * Computes a 64-bit fingerprint of the bytes of a range, e.g. of a section. Ranges with
+     * different bytes have the same fingerprint only with a negligible probability.
+     *
+     * @param buffer the bytes of an INI-file.
+     * @param start  start of the range.
+     * @param end    end of the range.
+     * @return the fingerprint of the range.
+     */
+    static long fingerprint(ByteBuffer buffer, int start, int end) {
+        long h = 0x9E3779B97F4A7C15L ^ (end - start);
+        int i = start;
+
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            h = Long.rotateLeft(h ^ buffer.getLong(i) * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+        }
+
+        for (; i < end; i++) {
+            h = Long.rotateLeft(h ^ (buffer.get(i) & 0xFF) * 0x165667B19E3779F9L, 11) * 0x9E3779B97F4A7C15L;
+        }
+
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB93F5FE1A87BL;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Checks the section header rules of {@link IniEventReader} on the bytes of a line.
+     * Bytes of multibyte UTF-8 characters are never ASCII, so no brackets are missed.
+     */
+    static boolean isSection(ByteBuffer buffer, int start, int end) {
+        if (end - start < 2 || buffer.get(start) != '[' || buffer.get(end - 1) != ']') {
+            return false;
+        }
+
+        for (int i = start + 1; i < end - 1; i++) {
+            byte b = buffer.get(i);
+
+            if (b == '[' || b == ']') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the line is empty or only contains whitespaces like {@link String#isBlank()}.
+     */
+    static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        if (start == end) {
+            return true;
+        }
+
+        byte first = buffer.get(start);
+
+        if (first >= 0 && !Character.isWhitespace(first)) {
+            return false;
+        }
+
+        return decode(buffer, start, end).isBlank();
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable view of a range of characters. The characters are either backed by a
+ * {@code char}-array or by the bytes of a {@link ByteBuffer} that only contains ASCII
+ * characters. A slice does not copy its characters, so it is only valid as long as
+ * its backing array or buffer is not changed.
+ *
+ * @author Gregor Gottschewski
+ */
+final class Slice implements CharSequence {
+    private char[] chars;
+    private ByteBuffer bytes;
+    private int start;
+    private int end;
+    private byte[] scratch;
+
+    /**
+     * Points this slice to the characters {@code [start, end)} of the given array.
+     *
+     * @return this slice
+     */
+    Slice set(char[] chars, int start, int end) {
+        this.chars = chars;
+        this.bytes = null;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Points this slice to the ASCII bytes {@code [start, end)} of the given buffer.
+     *
+     * @return this slice
+     */
+    Slice set(ByteBuffer bytes, int start, int end) {
+        this.chars = null;
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Points this slice to the characters {@code [from, to)} of another slice.
+     *
+     * @return this slice
+     */
+    Slice set(Slice other, int from, int to) {
+        this.chars = other.chars;
+        this.bytes = other.bytes;
+        this.start = other.start + from;
+        this.end = other.start + to;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return chars != null ? chars[start + index] : (char) (bytes.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new Slice().set(this, start, end);
+    }
+
+    /**
+     * @return the index of the first occurrence of the given character or {@code -1}.
+     */
+    int indexOf(char c) {
+        for (int i = 0; i < length(); i++) {
+            if (charAt(i) == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return {@code true} if the slice is empty or only contains whitespaces like {@link String#isBlank()}.
+     */
+    boolean isBlank() {
+        for (int i = 0; i < length(); i++) {
+            if (!Character.isWhitespace(charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Narrows this slice to the characters {@code [from, to)} without leading and trailing
+     * whitespaces like {@link String#trim()}.
+     *
+     * @return this slice
+     */
+    Slice setTrimmed(Slice line, int from, int to) {
+        while (from < to && line.charAt(from) <= ' ') {
+            from++;
+        }
+
+        while (to > from && line.charAt(to - 1) <= ' ') {
+            to--;
+        }
+
+        return set(line, from, to);
+    }
+
+    /**
+     * Creates a string of the characters. ASCII bytes are copied as ISO-8859-1,
+     * which needs no decoding.
+     */
+    @Override
+    public String toString() {
+        if (chars != null) {
+            return new String(chars, start, length());
+        }
+
+        int length = length();
+
+        if (scratch == null || scratch.length < length) {
+            scratch = new byte[Math.max(length, 64)];
+        }
+
+        bytes.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+}
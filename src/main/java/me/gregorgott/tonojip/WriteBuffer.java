@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * A reusable character buffer in front of a {@link Writer}. Text is copied into the buffer
+ * and written to the writer in large chunks, so appending creates no objects.
+ *
+ * <p>The append methods are called from callbacks that cannot throw checked exceptions,
+ * so I/O-errors are thrown as {@link UncheckedIOException}.
+ *
+ * @author Gregor Gottschewski
+ */
+final class WriteBuffer {
+    static final int DEFAULT_CAPACITY = 8192;
+
+    private final Writer out;
+    private final char[] buffer;
+    private int size;
+    private long written;
+
+    WriteBuffer(Writer out, int capacity) {
+        this.out = out;
+        this.buffer = new char[capacity];
+    }
+
+    WriteBuffer append(char c) {
+        if (size == buffer.length) {
+            flush();
+        }
+
+        buffer[size++] = c;
+        return this;
+    }
+
+    WriteBuffer append(String s) {
+        return append(s, 0, s.length());
+    }
+
+    /**
+     * Appends the characters from {@code start} to {@code end} of the string. Strings that do
+     * not fit into the buffer are written directly.
+     */
+    WriteBuffer append(String s, int start, int end) {
+        int length = end - start;
+
+        if (length > buffer.length - size) {
+            flush();
+
+            if (length > buffer.length) {
+                try {
+                    out.write(s, start, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                written += length;
+                return this;
+            }
+        }
+
+        s.getChars(start, end, buffer, size);
+        size += length;
+        return this;
+    }
+
+    /**
+     * Appends the string without the given character.
+     */
+    WriteBuffer appendWithout(String s, char removed) {
+        int start = 0;
+        int end;
+
+        while ((end = s.indexOf(removed, start)) >= 0) {
+            append(s, start, end);
+            start = end + 1;
+        }
+
+        return append(s, start, s.length());
+    }
+
+    /**
+     * Writes the buffered characters to the writer.
+     */
+    void flush() {
+        try {
+            out.write(buffer, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        written += size;
+        size = 0;
+    }
+
+    /**
+     * Discards the buffered characters, e.g. of a file whose writing failed.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return the number of characters written to the writer so far.
+     */
+    long written() {
+        return written;
+    }
+}
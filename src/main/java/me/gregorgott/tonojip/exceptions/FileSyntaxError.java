@@ -23,12 +23,20 @@
 
 package me.gregorgott.tonojip.exceptions;
 
+import java.nio.file.Path;
+
 /**
  * Exception thrown when a syntax error is found in a file.
  *
  * @author Gregor Gottschewski
  */
 public class FileSyntaxError extends RuntimeException {
+    private final int lineNum;
+    private final String line;
+    private final String errorMessage;
+    private transient Path path;
+    private String pathName;
+
     /**
      * Creates a file syntax error exception without an error message.
      *
@@ -37,6 +45,9 @@ public class FileSyntaxError extends RuntimeException {
      */
     public FileSyntaxError(int lineNum, String line) {
         super("Error in line " + lineNum + ": '" + line + "'");
+        this.lineNum = lineNum;
+        this.line = line;
+        this.errorMessage = null;
     }
 
     /**
@@ -48,5 +59,73 @@ public class FileSyntaxError extends RuntimeException {
      */
     public FileSyntaxError(int lineNum, String line, String errorMessage) {
         super("Error '" + errorMessage + "' in line " + lineNum + ": '" + line + "'");
+        this.lineNum = lineNum;
+        this.line = line;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return the line number where the error occurred.
+     */
+    public int getLineNumber() {
+        return lineNum;
+    }
+
+    /**
+     * @return the line/text where the error occurred.
+     */
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * @return the specific error message, or {@code null} if there is none.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return the path of the file where the error occurred, or {@code null} if the file was
+     * not read from a path.
+     */
+    public Path getPath() {
+        // Path is not serializable, so a deserialized error rebuilds it from its name.
+        if (path == null && pathName != null) {
+            path = Path.of(pathName);
+        }
+
+        return path;
+    }
+
+    /**
+     * Creates a copy of this error with the line number moved by the given offset.
+     * Used when a part of a file was parsed on its own.
+     *
+     * @param lineOffset number of lines in front of the parsed part.
+     * @return the moved error.
+     */
+    public FileSyntaxError withLineOffset(int lineOffset) {
+        return copy(lineNum + lineOffset, getPath());
+    }
+
+    /**
+     * Creates a copy of this error that belongs to the given file.
+     *
+     * @param path path of the file where the error occurred.
+     * @return the error with the path.
+     */
+    public FileSyntaxError withPath(Path path) {
+        return copy(lineNum, path);
+    }
+
+    private FileSyntaxError copy(int lineNum, Path path) {
+        FileSyntaxError error = errorMessage == null
+                ? new FileSyntaxError(lineNum, line)
+                : new FileSyntaxError(lineNum, line, errorMessage);
+        error.path = path;
+        error.pathName = path == null ? null : path.toString();
+        error.initCause(this);
+        return error;
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.exceptions;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown when a parsed file does not match its schema. It holds all violations of
+ * the file, not only the first one.
+ *
+ * @author Gregor Gottschewski
+ */
+public class SchemaValidationError extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<Violation> violations;
+
+    /**
+     * A value, key or section that does not match the schema.
+     *
+     * @param lineNumber line of the violation, or {@code 0} if it is about something missing
+     *                   from the global part or the whole file.
+     * @param section    name of the section, or {@code null} for the global part.
+     * @param key        name of the key, or {@code null} if the violation is about a section.
+     * @param message    what does not match the schema.
+     */
+    public record Violation(int lineNumber, String section, String key, String message) implements Serializable {
+        /**
+         * @return the violation, e.g. {@code line 4: [server] port: 'x' is not an integer}.
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("line ").append(lineNumber).append(": ");
+
+            if (section != null) {
+                sb.append('[').append(section).append("] ");
+            }
+
+            if (key != null) {
+                sb.append(key).append(": ");
+            }
+
+            return sb.append(message).toString();
+        }
+    }
+
+    /**
+     * Creates a schema validation error with the given violations.
+     *
+     * @param violations the violations in the order they were found.
+     */
+    public SchemaValidationError(List<Violation> violations) {
+        super(message(violations));
+        this.violations = new ArrayList<>(violations);
+    }
+
+    private static String message(List<Violation> violations) {
+        StringBuilder sb = new StringBuilder().append(violations.size())
+                .append(violations.size() == 1 ? " schema violation" : " schema violations");
+
+        for (Violation violation : violations) {
+            sb.append("\n  ").append(violation);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * @return the violations in the order they were found.
+     */
+    public List<Violation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.iniobjects;
+
+/**
+ * A Bloom filter over 64-bit hashes. It answers "definitely not contained" or "maybe contained";
+ * with about ten bits per element, about one percent of the absent hashes are reported as maybe
+ * contained. Once built, the filter is only read, so it can be shared between threads.
+ *
+ * @author Gregor Gottschewski
+ */
+final class BloomFilter {
+    private static final int BITS_PER_ELEMENT = 10;
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final long[] words;
+    private final int mask;
+
+    /**
+     * @param expectedElements number of elements that will be added.
+     */
+    BloomFilter(int expectedElements) {
+        long bits = Math.max(Long.SIZE, (long) expectedElements * BITS_PER_ELEMENT);
+        int size = (int) Math.min(1L << 30, Long.highestOneBit(bits - 1) << 1);
+        words = new long[size / Long.SIZE];
+        mask = size - 1;
+    }
+
+    void add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (h1 + i * h2) & mask;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @return {@code false} if the hash was definitely not added.
+     */
+    boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (h1 + i * h2) & mask;
+
+            if ((words[bit >>> 6] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Combines two 32-bit hashes into a well distributed 64-bit hash.
+     */
+    static long hash(int first, int second) {
+        long h = ((long) first << 32) ^ (second & 0xFFFFFFFFL);
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB93F5FE1A87BL;
+        return h ^ (h >>> 33);
+    }
+}
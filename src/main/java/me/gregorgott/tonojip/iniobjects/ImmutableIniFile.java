@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.iniobjects;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of an {@link IniFile}, created with {@link IniFile#freeze()}.
+ *
+ * <p>All key-value-pairs are stored in flat arrays, the pairs of a section next to each other.
+ * Sections and keys are found with minimal perfect hash functions, so there are no map entries
+ * per pair. Lookups accept any {@link CharSequence} and do not allocate.
+ *
+ * <p>All fields are final and never change after construction, so a snapshot can be shared
+ * between threads without locks. Changes to the original {@code IniFile} do not affect the snapshot.
+ *
+ * <p>Methods that take a section name treat {@code null} as the global key-value-pairs.
+ *
+ * @author Gregor Gottschewski
+ */
+public final class ImmutableIniFile {
+    private final PerfectHash sectionHash;
+    private final String[] sectionNames;
+    private final String[] sectionComments;
+    /**
+     * {@code sectionOrder[i]} is the slot of the i-th section of the original file.
+     */
+    private final int[] sectionOrder;
+
+    /**
+     * {@code sectionEnds[i]} is the end of the pairs of the section in slot {@code i}; the pairs
+     * of a section start at the end of the previous one. The global pairs end at {@code globalEnd}.
+     */
+    private final int[] sectionEnds;
+    private final int globalEnd;
+
+    private final PerfectHash keyHash;
+    private final int[] keySlots;
+    private final String[] keys;
+    private final String[] keyComments;
+    private final Value[] values;
+
+    ImmutableIniFile(IniFile iniFile) {
+        Map<String, Section> sections = iniFile.getSections();
+        String[] names = sections.keySet().toArray(new String[0]);
+
+        for (String name : names) {
+            if (name == null) {
+                // null stands for the global key-value-pairs in the lookups
+                throw new IllegalArgumentException("Cannot freeze a section without a name");
+            }
+        }
+
+        sectionHash = PerfectHash.build(names.length, i -> names[i], i -> 0);
+        sectionNames = new String[names.length];
+        sectionOrder = new int[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            sectionOrder[i] = sectionHash.slot(names[i], 0);
+            sectionNames[sectionOrder[i]] = names[i];
+        }
+
+        KeyValuePairMap globalValues = iniFile.getGlobalValues();
+        int size = globalValues.size();
+        Section[] ordered = new Section[sectionNames.length];
+
+        for (int i = 0; i < sectionNames.length; i++) {
+            ordered[i] = sections.get(sectionNames[i]);
+            size += ordered[i].getPairMap().size();
+        }
+
+        sectionComments = new String[ordered.length];
+        sectionEnds = new int[ordered.length];
+        keys = new String[size];
+        keyComments = new String[size];
+        values = new Value[size];
+
+        int[] owners = new int[size];
+        int end = copy(globalValues, 0, -1, owners);
+        globalEnd = end;
+
+        for (int i = 0; i < ordered.length; i++) {
+            sectionComments[i] = ordered[i].getComment();
+            end = copy(ordered[i].getPairMap(), end, i, owners);
+            sectionEnds[i] = end;
+        }
+
+        keyHash = PerfectHash.build(size, i -> keys[i], i -> owners[i]);
+        keySlots = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            keySlots[keyHash.slot(keys[i], owners[i])] = i;
+        }
+    }
+
+    private int copy(KeyValuePairMap pairMap, int start, int owner, int[] owners) {
+        int index = start;
+
+        for (Map.Entry<Key, Value> entry : pairMap.entrySet()) {
+            keys[index] = entry.getKey().getKey();
+            keyComments[index] = entry.getKey().getComment();
+            values[index] = entry.getValue();
+            owners[index] = owner;
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * @param name name of the section.
+     * @return the slot of the section, {@code -1} for {@code null}, or {@code -2} if there is no such section.
+     */
+    private int sectionSlot(CharSequence name) {
+        if (name == null) {
+            return -1;
+        }
+
+        int slot = sectionHash.slot(name, 0);
+        return slot >= 0 && sectionNames[slot].contentEquals(name) ? slot : -2;
+    }
+
+    private int start(int slot) {
+        if (slot < 0) {
+            return 0;
+        }
+
+        return slot == 0 ? globalEnd : sectionEnds[slot - 1];
+    }
+
+    private int end(int slot) {
+        return slot < 0 ? globalEnd : sectionEnds[slot];
+    }
+
+    /**
+     * @return the index of the pair, or {@code -1} if there is no such pair.
+     */
+    private int indexOf(CharSequence section, CharSequence key) {
+        int slot = sectionSlot(section);
+
+        if (slot == -2 || keys.length == 0) {
+            return -1;
+        }
+
+        int index = keySlots[keyHash.slot(key, slot)];
+
+        return index >= start(slot) && index < end(slot) && keys[index].contentEquals(key) ? index : -1;
+    }
+
+    /**
+     * @param key name of the global key.
+     * @return the value of the key, or {@code null} if there is no such global key.
+     */
+    public Value getValue(CharSequence key) {
+        return getValue(null, key);
+    }
+
+    /**
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @return the value of the key, or {@code null} if there is no such section or key.
+     */
+    public Value getValue(CharSequence section, CharSequence key) {
+        int index = indexOf(section, key);
+        return index < 0 ? null : values[index];
+    }
+
+    /**
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @return the comment of the key, or {@code null} if there is no such key or the key has no comment.
+     */
+    public String getComment(CharSequence section, CharSequence key) {
+        int index = indexOf(section, key);
+        return index < 0 ? null : keyComments[index];
+    }
+
+    /**
+     * @param section name of the section.
+     * @return the comment of the section, or {@code null} if there is no such section or the section has no comment.
+     */
+    public String getSectionComment(CharSequence section) {
+        int slot = sectionSlot(section);
+        return slot < 0 ? null : sectionComments[slot];
+    }
+
+    /**
+     * @param section name of the section.
+     * @return {@code true} if this file has a section with the given name.
+     */
+    public boolean containsSection(CharSequence section) {
+        return sectionSlot(section) >= 0;
+    }
+
+    /**
+     * @return the names of all sections, in the order of the original file.
+     */
+    public List<String> getSectionNames() {
+        String[] names = new String[sectionOrder.length];
+
+        for (int i = 0; i < sectionOrder.length; i++) {
+            names[i] = sectionNames[sectionOrder[i]];
+        }
+
+        return List.of(names);
+    }
+
+    /**
+     * @param section name of the section.
+     * @return the names of the keys of the section, or an empty list if there is no such section.
+     */
+    public List<String> getKeys(CharSequence section) {
+        int slot = sectionSlot(section);
+
+        if (slot == -2) {
+            return List.of();
+        }
+
+        return List.of(Arrays.copyOfRange(keys, start(slot), end(slot)));
+    }
+
+    /**
+     * Creates a mutable {@link IniFile} with the content of this snapshot, e.g. to write it.
+     * Sections and keys are in the order of the original file.
+     *
+     * @return a new {@code IniFile}.
+     */
+    public IniFile toIniFile() {
+        IniFile iniFile = new IniFile();
+        copyTo(iniFile.getGlobalValues(), 0, globalEnd);
+
+        for (int slot : sectionOrder) {
+            Section section = new Section(sectionComments[slot]);
+            copyTo(section.getPairMap(), start(slot), end(slot));
+            iniFile.getSections().put(sectionNames[slot], section);
+        }
+
+        return iniFile;
+    }
+
+    private void copyTo(KeyValuePairMap pairMap, int start, int end) {
+        for (int i = start; i < end; i++) {
+            Key key = new Key(keys[i]);
+            key.setComment(keyComments[i]);
+            pairMap.put(key, values[i]);
+        }
+    }
+}
@@ -23,7 +23,7 @@
 
 package me.gregorgott.tonojip.iniobjects;
 
-import java.util.HashMap;
+import java.util.Map;
 
 /**
  * The {@code IniFile}-object represents an INI-File with global key-value-pairs and multiple
@@ -45,13 +45,13 @@ import java.util.HashMap;
  */
 public class IniFile {
     private final KeyValuePairMap globalValues;
-    private final HashMap<String, Section> sections;
+    private final SectionMap sections;
 
     /**
      * Creates an empty {@code IniFile} with no global values and sections.
      */
     public IniFile() {
-        this(new KeyValuePairMap(), new HashMap<>());
+        this(new KeyValuePairMap(), new SectionMap());
     }
 
     /**
@@ -60,24 +60,75 @@ public class IniFile {
      * @param globalValues global key-value-pairs
      */
     public IniFile(KeyValuePairMap globalValues) {
-        this(globalValues, new HashMap<>());
+        this(globalValues, new SectionMap());
     }
 
     /**
+     * Creates an {@code IniFile} with the given global values and sections.
      *
-     * @param globalValues
-     * @param sections
+     * <p>A {@link SectionMap} is used as it is, so later changes to it are changes to this file.
+     * The sections of any other map are copied into a new {@code SectionMap}, because its index
+     * of dotted names must see every change; later changes to such a map do not affect this file.
+     *
+     * @param globalValues global key-value-pairs
+     * @param sections     sections by their names
      */
-    public IniFile(KeyValuePairMap globalValues, HashMap<String, Section> sections) {
+    public IniFile(KeyValuePairMap globalValues, Map<String, Section> sections) {
         this.globalValues = globalValues;
-        this.sections = sections;
+        this.sections = sections instanceof SectionMap sectionMap ? sectionMap : new SectionMap(sections);
     }
 
     public KeyValuePairMap getGlobalValues() {
         return globalValues;
     }
 
-    public HashMap<String, Section> getSections() {
+    /**
+     * @return the sections by their names, which also answers queries about dotted section
+     * names like {@link SectionMap#subsections(String)}. Changes to the map are changes to this file.
+     */
+    public SectionMap getSections() {
         return sections;
     }
+
+    /**
+     * @param name name of the section.
+     * @return the section with the given name, or {@code null} if there is no such section.
+     */
+    public Section getSection(String name) {
+        return sections.get(name);
+    }
+
+    /**
+     * Returns the value of a global key without creating a {@code Key}.
+     *
+     * @param key name of the key.
+     * @return the value of the key, or {@code null} if there is no such global key.
+     */
+    public Value getValue(CharSequence key) {
+        return globalValues.get(key);
+    }
+
+    /**
+     * Returns the value of a key in a section without creating a {@code Key}.
+     *
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @return the value of the key, or {@code null} if there is no such section or key.
+     */
+    public Value getValue(String section, CharSequence key) {
+        Section s = sections.get(section);
+        return s != null ? s.getPairMap().get(key) : null;
+    }
+
+    /**
+     * Creates an immutable snapshot of this file for read-only use.
+     * The snapshot needs less memory and can be shared between threads.
+     *
+     * @return an immutable snapshot of this file.
+     * @throws IllegalArgumentException if a section has the name {@code null}.
+     * @see ImmutableIniFile
+     */
+    public ImmutableIniFile freeze() {
+        return new ImmutableIniFile(this);
+    }
 }
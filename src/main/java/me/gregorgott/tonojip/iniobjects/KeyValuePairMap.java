@@ -25,17 +25,23 @@ package me.gregorgott.tonojip.iniobjects;
 
 import me.gregorgott.tonojip.exceptions.KeyNullException;
 
-import java.util.HashMap;
-
 /**
- * A map that stores key-value pairs.
+ * A map that stores key-value pairs in the order they were added, so an {@code IniFile} is
+ * written in the order of its source.
  * This map does not allow null keys.
  *
+ * <p>Besides {@link Key}s, the lookup methods accept the name of a key as {@code String} or
+ * any other {@link CharSequence}. Such lookups do not create a {@code Key}:
+ * <pre>{@code
+ * Value theme = pairMap.get("theme");
+ * }</pre>
+ *
  * @see Key
  * @see Value
  * @author Gregor Gottschewski
  */
-public class KeyValuePairMap extends HashMap<Key, Value> {
+public class KeyValuePairMap extends OrderedMap<Key, Value> {
+    private static final long serialVersionUID = 1L;
 
     /**
      * Associates the specified value with the specified key in this map.
@@ -53,4 +59,44 @@ public class KeyValuePairMap extends HashMap<Key, Value> {
 
         return super.put(key, value);
     }
+
+    /**
+     * Creates a shallow copy of this map: the {@code Key}s and {@code Value}s are shared.
+     *
+     * @return a copy of this map with the same pairs in the same order.
+     */
+    @Override
+    public KeyValuePairMap clone() {
+        return (KeyValuePairMap) super.clone();
+    }
+
+    /**
+     * Returns the value of the key with the given name without creating a {@code Key}.
+     *
+     * @param key name of the key.
+     * @return the value of the key, or {@code null} if there is no such key.
+     */
+    public Value get(CharSequence key) {
+        return super.get(key);
+    }
+
+    /**
+     * Hashes the name of a key like {@link Key#hashCode()}.
+     */
+    @Override
+    protected int hash(Object key) {
+        return key instanceof CharSequence chars ? KeyProbe.hash(chars) : super.hash(key);
+    }
+
+    /**
+     * Matches a {@code CharSequence} with a {@code Key} by its characters.
+     */
+    @Override
+    protected boolean keyEquals(Object key, Object stored) {
+        if (key instanceof CharSequence chars) {
+            return stored instanceof Key k && k.getKey().contentEquals(chars);
+        }
+
+        return super.keyEquals(key, stored);
+    }
 }
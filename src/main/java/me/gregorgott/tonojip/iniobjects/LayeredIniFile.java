@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.iniobjects;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A read-only view that stacks several {@link IniFile}s, e.g. defaults, environment specific
+ * and host specific settings. A key is looked up in the layer with the highest priority first;
+ * nothing is copied.
+ *
+ * <pre>{@code
+ * LayeredIniFile config = new LayeredIniFile(defaults, environment, host);
+ * Value timeout = config.getValue("server", "timeout");
+ * }</pre>
+ *
+ * <p>The layers are given in ascending priority, so a later layer overrides an earlier one.
+ * Every layer has a Bloom filter of its keys, so a lookup skips most layers that do not contain
+ * the key without searching them.
+ *
+ * <p>The filter of a layer is built when the layer is added, so keys that are added to the
+ * {@code IniFile} later are not found. After changing a layer, call {@link #refreshLayer(int)},
+ * or replace it with {@link #setLayer(int, IniFile)}. Both only rebuild the filter of this
+ * layer. Lookups never block and see either the old or the new layer.
+ *
+ * <p>Methods that take a section name treat {@code null} as the global key-value-pairs.
+ *
+ * @author Gregor Gottschewski
+ */
+public class LayeredIniFile {
+    /**
+     * Salt of the hash of global keys, so they do not match keys of a section with hash code 0.
+     */
+    private static final int GLOBAL_HASH = 0x676C6F62;
+
+    private volatile Layer[] layers;
+
+    /**
+     * An {@code IniFile} and the filter of its section and key names.
+     */
+    private record Layer(IniFile iniFile, BloomFilter filter) {
+        static Layer of(IniFile iniFile) {
+            int size = iniFile.getGlobalValues().size();
+
+            for (Section section : iniFile.getSections().values()) {
+                size += section.getPairMap().size();
+            }
+
+            BloomFilter filter = new BloomFilter(size);
+
+            for (Key key : iniFile.getGlobalValues().keySet()) {
+                filter.add(BloomFilter.hash(GLOBAL_HASH, key.hashCode()));
+            }
+
+            for (Map.Entry<String, Section> section : iniFile.getSections().entrySet()) {
+                int sectionHash = section.getKey().hashCode();
+
+                for (Key key : section.getValue().getPairMap().keySet()) {
+                    filter.add(BloomFilter.hash(sectionHash, key.hashCode()));
+                }
+            }
+
+            return new Layer(iniFile, filter);
+        }
+    }
+
+    /**
+     * @param layers the layers in ascending priority.
+     */
+    public LayeredIniFile(IniFile... layers) {
+        Layer[] built = new Layer[layers.length];
+
+        for (int i = 0; i < layers.length; i++) {
+            built[i] = Layer.of(layers[i]);
+        }
+
+        this.layers = built;
+    }
+
+    /**
+     * @return the number of layers.
+     */
+    public int getLayerCount() {
+        return layers.length;
+    }
+
+    /**
+     * @param index index of the layer, {@code 0} is the layer with the lowest priority.
+     * @return the layer.
+     */
+    public IniFile getLayer(int index) {
+        return layers[index].iniFile();
+    }
+
+    /**
+     * Replaces a layer. The other layers are not touched.
+     *
+     * @param index   index of the layer, {@code 0} is the layer with the lowest priority.
+     * @param iniFile the new layer.
+     */
+    public void setLayer(int index, IniFile iniFile) {
+        Layer layer = Layer.of(iniFile);
+
+        synchronized (this) {
+            Layer[] copy = layers.clone();
+            copy[index] = layer;
+            layers = copy;
+        }
+    }
+
+    /**
+     * Rebuilds the filter of a layer after its {@code IniFile} was changed, so lookups find the
+     * keys that were added to it.
+     *
+     * @param index index of the layer, {@code 0} is the layer with the lowest priority.
+     */
+    public void refreshLayer(int index) {
+        setLayer(index, getLayer(index));
+    }
+
+    /**
+     * Adds a layer with a higher priority than all existing layers.
+     *
+     * @param iniFile the new layer.
+     */
+    public void addLayer(IniFile iniFile) {
+        Layer layer = Layer.of(iniFile);
+
+        synchronized (this) {
+            Layer[] copy = Arrays.copyOf(layers, layers.length + 1);
+            copy[layers.length] = layer;
+            layers = copy;
+        }
+    }
+
+    /**
+     * @param key name of the global key.
+     * @return the value of the key in the layer with the highest priority that has the key,
+     * or {@code null} if no layer has the key.
+     */
+    public Value getValue(CharSequence key) {
+        return getValue(null, key);
+    }
+
+    /**
+     * @param section name of the section.
+     * @param key     name of the key.
+     * @return the value of the key in the layer with the highest priority that has the key,
+     * or {@code null} if no layer has the key.
+     */
+    public Value getValue(String section, CharSequence key) {
+        Layer[] layers = this.layers;
+        long hash = BloomFilter.hash(section == null ? GLOBAL_HASH : section.hashCode(), KeyProbe.hash(key));
+
+        for (int i = layers.length - 1; i >= 0; i--) {
+            if (!layers[i].filter().mightContain(hash)) {
+                continue;
+            }
+
+            IniFile iniFile = layers[i].iniFile();
+            Value value = section == null ? iniFile.getValue(key) : iniFile.getValue(section, key);
+
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Merges all layers into a new {@code IniFile}, e.g. to write the effective configuration.
+     * Keys of a layer with a higher priority replace keys of a layer with a lower priority,
+     * including their comments, but keep the position of their first occurrence. A section
+     * comment is taken from the layer with the highest priority that has one.
+     *
+     * @return a new {@code IniFile}.
+     */
+    public IniFile toIniFile() {
+        IniFile merged = new IniFile();
+        OrderedMap<Key, Map.Entry<Key, Value>> globalValues = new OrderedMap<>();
+        OrderedMap<String, OrderedMap<Key, Map.Entry<Key, Value>>> sections = new OrderedMap<>();
+
+        for (Layer layer : layers) {
+            collect(globalValues, layer.iniFile().getGlobalValues());
+
+            for (Map.Entry<String, Section> section : layer.iniFile().getSections().entrySet()) {
+                Section target = merged.getSections().computeIfAbsent(section.getKey(), name -> new Section());
+
+                if (section.getValue().hasComment()) {
+                    target.setComment(section.getValue().getComment());
+                }
+
+                collect(sections.computeIfAbsent(section.getKey(), name -> new OrderedMap<>()), section.getValue().getPairMap());
+            }
+        }
+
+        copy(globalValues, merged.getGlobalValues());
+        sections.forEach((name, pairs) -> copy(pairs, merged.getSection(name).getPairMap()));
+        return merged;
+    }
+
+    /**
+     * Adds the pairs to the collected ones. A pair with an existing key replaces the existing
+     * pair and its {@code Key} in place, whereas {@code putAll} would keep the old {@code Key}
+     * with its comment.
+     */
+    private static void collect(OrderedMap<Key, Map.Entry<Key, Value>> collected, KeyValuePairMap pairs) {
+        for (Map.Entry<Key, Value> pair : pairs.entrySet()) {
+            collected.put(pair.getKey(), new AbstractMap.SimpleImmutableEntry<>(pair));
+        }
+    }
+
+    private static void copy(OrderedMap<Key, Map.Entry<Key, Value>> collected, KeyValuePairMap target) {
+        for (Map.Entry<Key, Value> pair : collected.values()) {
+            target.put(pair.getKey(), pair.getValue());
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.iniobjects;
+
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+/**
+ * Parses numbers from a range of a {@link CharSequence} without creating a {@code String} and
+ * without throwing an exception for invalid input. The ranges can be views into a buffer, like
+ * the values of an {@code IniEventReader}:
+ * <pre>{@code
+ * int port = Numbers.parseInt(reader.getValue(), 0, reader.getValue().length(), 8080);
+ * }</pre>
+ *
+ * <p>The accepted numbers are the same as of {@link Integer#parseInt(String)},
+ * {@link Long#parseLong(String)} and {@link Double#parseDouble(String)}, and the results are
+ * equal. Decimal doubles with up to 15 significant digits and a small exponent, which covers
+ * most values in configuration files, are computed exactly with one multiplication or division
+ * (Clinger's fast path). Other doubles are passed to {@code Double.parseDouble} after their
+ * syntax was checked, so only hexadecimal doubles can make it throw internally.
+ *
+ * @author Gregor Gottschewski
+ * @see Value#tryGetAsInt()
+ */
+public final class Numbers {
+    /**
+     * The powers of ten that are exact doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    /**
+     * The most digits of a mantissa that cannot overflow a {@code long}.
+     */
+    private static final int MAX_DIGITS = 18;
+
+    private Numbers() {
+    }
+
+    /**
+     * Parses a decimal {@code int} like {@link Integer#parseInt(String)}.
+     *
+     * @param chars        the characters.
+     * @param start        index of the first character of the number.
+     * @param end          index after the last character of the number.
+     * @param defaultValue the value to return if the range is no valid {@code int}.
+     * @return the number, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is not within the characters.
+     */
+    public static int parseInt(CharSequence chars, int start, int end, int defaultValue) {
+        long result = parseInt(chars, start, end);
+        return result != NOT_AN_INT ? (int) result : defaultValue;
+    }
+
+    /**
+     * Parses a decimal {@code int} like {@link Integer#parseInt(String)}.
+     *
+     * @param chars the characters.
+     * @param start index of the first character of the number.
+     * @param end   index after the last character of the number.
+     * @return the number, or an empty optional if the range is no valid {@code int}.
+     * @throws IndexOutOfBoundsException if the range is not within the characters.
+     */
+    public static OptionalInt tryParseInt(CharSequence chars, int start, int end) {
+        long result = parseInt(chars, start, end);
+        return result != NOT_AN_INT ? OptionalInt.of((int) result) : OptionalInt.empty();
+    }
+
+    /**
+     * Parses a decimal {@code long} like {@link Long#parseLong(String)}.
+     *
+     * @param chars        the characters.
+     * @param start        index of the first character of the number.
+     * @param end          index after the last character of the number.
+     * @param defaultValue the value to return if the range is no valid {@code long}.
+     * @return the number, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is not within the characters.
+     */
+    public static long parseLong(CharSequence chars, int start, int end, long defaultValue) {
+        return isLong(chars, start, end) ? parseValidLong(chars, start, end) : defaultValue;
+    }
+
+    /**
+     * Parses a decimal {@code long} like {@link Long#parseLong(String)}.
+     *
+     * @param chars the characters.
+     * @param start index of the first character of the number.
+     * @param end   index after the last character of the number.
+     * @return the number, or an empty optional if the range is no valid {@code long}.
+     * @throws IndexOutOfBoundsException if the range is not within the characters.
+     */
+    public static OptionalLong tryParseLong(CharSequence chars, int start, int end) {
+        return isLong(chars, start, end) ? OptionalLong.of(parseValidLong(chars, start, end)) : OptionalLong.empty();
+    }
+
+    /**
+     * Parses a {@code double} like {@link Double#parseDouble(String)}.
+     *
+     * @param chars        the characters.
+     * @param start        index of the first character of the number.
+     * @param end          index after the last character of the number.
+     * @param defaultValue the value to return if the range is no valid {@code double}.
+     * @return the number, or {@code defaultValue}.
+     * @throws IndexOutOfBoundsException if the range is not within the characters.
+     */
+    public static double parseDouble(CharSequence chars, int start, int end, double defaultValue) {
+        long bits = parseDoubleBits(chars, start, end);
+        return bits != INVALID_DOUBLE ? Double.longBitsToDouble(bits) : defaultValue;
+    }
+
+    /**
+     * Parses a {@code double} like {@link Double#parseDouble(String)}.
+     *
+     * @param chars the characters.
+     * @param start index of the first character of the number.
+     * @param end   index after the last character of the number.
+     * @return the number, or an empty optional if the range is no valid {@code double}.
+     * @throws IndexOutOfBoundsException if the range is not within the characters.
+     */
+    public static OptionalDouble tryParseDouble(CharSequence chars, int start, int end) {
+        long bits = parseDoubleBits(chars, start, end);
+        return bits != INVALID_DOUBLE ? OptionalDouble.of(Double.longBitsToDouble(bits)) : OptionalDouble.empty();
+    }
+
+    /**
+     * Marks a range that is no valid {@code int}, as it is outside the range of {@code int}.
+     */
+    static final long NOT_AN_INT = Long.MIN_VALUE;
+
+    /**
+     * Marks an invalid double in {@link #parseDoubleBits(CharSequence, int, int)}. It is a NaN
+     * with a payload that {@link Double#doubleToRawLongBits(double)} never returns for a
+     * parsed number, which is always the canonical NaN.
+     */
+    static final long INVALID_DOUBLE = 0x7FF0_0000_0000_0BADL;
+
+    /**
+     * @return the {@code int}, or {@link #NOT_AN_INT}.
+     */
+    static long parseInt(CharSequence chars, int start, int end) {
+        if (!isLong(chars, start, end)) {
+            return NOT_AN_INT;
+        }
+
+        long result = parseValidLong(chars, start, end);
+        return result == (int) result ? result : NOT_AN_INT;
+    }
+
+    /**
+     * @return {@code true} if the range is a valid {@code long}.
+     */
+    static boolean isLong(CharSequence chars, int start, int end) {
+        Objects.checkFromToIndex(start, end, chars.length());
+        int i = start;
+        boolean negative = false;
+
+        if (i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+            negative = chars.charAt(i) == '-';
+            i++;
+        }
+
+        if (i == end) {
+            return false;
+        }
+
+        // accumulate negatively, as the range of negative numbers is larger
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+
+        for (; i < end; i++) {
+            int digit = digit(chars.charAt(i));
+
+            if (digit < 0 || result < multiplyLimit) {
+                return false;
+            }
+
+            result *= 10;
+
+            if (result < limit + digit) {
+                return false;
+            }
+
+            result -= digit;
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses a range that {@link #isLong(CharSequence, int, int)} accepted.
+     */
+    static long parseValidLong(CharSequence chars, int start, int end) {
+        int i = start;
+        boolean negative = chars.charAt(i) == '-';
+
+        if (negative || chars.charAt(i) == '+') {
+            i++;
+        }
+
+        long result = 0;
+
+        for (; i < end; i++) {
+            result = result * 10 - digit(chars.charAt(i));
+        }
+
+        return negative ? result : -result;
+    }
+
+    /**
+     * @return the value of a decimal digit, also of other scripts like {@code Character.digit}
+     * does, or {@code -1}.
+     */
+    private static int digit(char c) {
+        int digit = c - '0';
+        return digit >= 0 && digit <= 9 ? digit : c < 128 ? -1 : Character.digit(c, 10);
+    }
+
+    /**
+     * Parses a double.
+     *
+     * @return the raw bits of the double, or {@link #INVALID_DOUBLE}.
+     */
+    static long parseDoubleBits(CharSequence chars, int start, int end) {
+        Objects.checkFromToIndex(start, end, chars.length());
+
+        // like Double.parseDouble, ignore leading and trailing whitespace
+        while (start < end && chars.charAt(start) <= ' ') {
+            start++;
+        }
+
+        while (end > start && chars.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+
+        if (i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+            negative = chars.charAt(i) == '-';
+            i++;
+        }
+
+        if (i < end && (chars.charAt(i) == 'N' || chars.charAt(i) == 'I')) {
+            return parseSpecial(chars, i, end, negative);
+        }
+
+        if (end - i > 2 && chars.charAt(i) == '0' && (chars.charAt(i + 1) == 'x' || chars.charAt(i + 1) == 'X')) {
+            return parseHex(chars, start, end);
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+
+        for (; i < end && isAsciiDigit(chars.charAt(i)); i++, digits++) {
+            significantDigits = accumulate(chars.charAt(i), mantissa, significantDigits);
+
+            if (significantDigits <= MAX_DIGITS) {
+                mantissa = mantissa * 10 + (chars.charAt(i) - '0');
+            } else {
+                exponent++;
+            }
+        }
+
+        if (i < end && chars.charAt(i) == '.') {
+            for (i++; i < end && isAsciiDigit(chars.charAt(i)); i++, digits++) {
+                significantDigits = accumulate(chars.charAt(i), mantissa, significantDigits);
+
+                if (significantDigits <= MAX_DIGITS) {
+                    mantissa = mantissa * 10 + (chars.charAt(i) - '0');
+                    exponent--;
+                }
+            }
+        }
+
+        if (digits == 0) {
+            return INVALID_DOUBLE;
+        }
+
+        if (i < end && (chars.charAt(i) == 'e' || chars.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+
+            if (i < end && (chars.charAt(i) == '-' || chars.charAt(i) == '+')) {
+                negativeExponent = chars.charAt(i) == '-';
+                i++;
+            }
+
+            int exponentStart = i;
+            int explicitExponent = 0;
+
+            for (; i < end && isAsciiDigit(chars.charAt(i)); i++) {
+                // larger exponents give zero or infinity anyway
+                explicitExponent = Math.min(explicitExponent * 10 + (chars.charAt(i) - '0'), 100_000);
+            }
+
+            if (i == exponentStart) {
+                return INVALID_DOUBLE;
+            }
+
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        // a type suffix like in Java source code
+        if (i == end - 1 && "fFdD".indexOf(chars.charAt(i)) >= 0) {
+            i++;
+        }
+
+        if (i != end) {
+            return INVALID_DOUBLE;
+        }
+
+        double value;
+
+        if (significantDigits <= MAX_DIGITS && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            // Clinger's fast path: the mantissa and the power of ten are exact doubles, so the
+            // result of one correctly rounded operation is correctly rounded as well
+            value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        } else if (mantissa == 0) {
+            value = 0;
+        } else {
+            value = Double.parseDouble(chars.subSequence(start, end).toString());
+            return Double.doubleToRawLongBits(value);
+        }
+
+        return Double.doubleToRawLongBits(negative ? -value : value);
+    }
+
+    /**
+     * Counts the digits from the first non-zero digit on.
+     */
+    private static int accumulate(char c, long mantissa, int significantDigits) {
+        return mantissa == 0 && c == '0' ? significantDigits : significantDigits + 1;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static long parseSpecial(CharSequence chars, int i, int end, boolean negative) {
+        if (contentEquals(chars, i, end, "NaN")) {
+            return Double.doubleToRawLongBits(Double.NaN);
+        }
+
+        if (contentEquals(chars, i, end, "Infinity")) {
+            return Double.doubleToRawLongBits(negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        }
+
+        return INVALID_DOUBLE;
+    }
+
+    private static boolean contentEquals(CharSequence chars, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < expected.length(); i++) {
+            if (chars.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Hexadecimal doubles like {@code 0x1.8p1} are rare, they are left to {@code Double.parseDouble}.
+     */
+    private static long parseHex(CharSequence chars, int start, int end) {
+        try {
+            return Double.doubleToRawLongBits(Double.parseDouble(chars.subSequence(start, end).toString()));
+        } catch (NumberFormatException e) {
+            return INVALID_DOUBLE;
+        }
+    }
+}
@@ -0,0 +1,697 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.iniobjects;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map that iterates over its entries in the order they were added.
+ *
+ * <p>The entries are stored in dense arrays of keys, values and hash codes in insertion order,
+ * and a separate table of {@code int}s indexes them by hash code with linear probing. So an
+ * entry needs no node object and no links to its neighbors like in a {@code LinkedHashMap}, and
+ * the map needs less memory than a {@code HashMap}. Replacing the value of a key keeps its
+ * position. A removed entry leaves a gap in the arrays, which is closed when the arrays are
+ * full.
+ *
+ * <p>Subclasses can change how keys are hashed and compared with {@link #hash(Object)} and
+ * {@link #keyEquals(Object, Object)}, e.g. to look up keys by other objects.
+ *
+ * <p>Like a {@code HashMap}, this map permits a {@code null} key and {@code null} values, is
+ * {@link Serializable} and {@link Cloneable}, and is not thread-safe. The serialized form is the
+ * number of entries followed by the keys and values in insertion order.
+ *
+ * @param <K> type of the keys.
+ * @param <V> type of the values.
+ * @author Gregor Gottschewski
+ */
+public class OrderedMap<K, V> extends AbstractMap<K, V> implements Serializable, Cloneable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int MIN_CAPACITY = 4;
+    private static final int FIBONACCI = 0x9E3779B9;
+    private static final int FREE = 0;
+    private static final int DELETED = -1;
+    private static final Object REMOVED = new Object();
+    private static final Object[] NO_OBJECTS = {};
+    private static final int[] NO_INTS = {};
+
+    private transient Object[] keys = NO_OBJECTS;
+    private transient Object[] values = NO_OBJECTS;
+    private transient int[] hashes = NO_INTS;
+    /**
+     * The position of an entry plus one, {@link #FREE} or {@link #DELETED} per slot.
+     */
+    private transient int[] index = NO_INTS;
+    private transient int shift;
+    private transient int used;
+    /**
+     * The number of {@link #DELETED} slots in the index.
+     */
+    private transient int deleted;
+    private transient int size;
+    private transient int modCount;
+
+    private transient Set<K> keySet;
+    private transient Collection<V> valueCollection;
+    private transient Set<Entry<K, V>> entrySet;
+
+    /**
+     * Creates an empty map.
+     */
+    public OrderedMap() {
+    }
+
+    /**
+     * Creates an empty map with room for the given number of entries.
+     *
+     * @param expectedSize number of entries the map holds without growing.
+     * @throws IllegalArgumentException if the expected size is negative.
+     */
+    public OrderedMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative expected size: " + expectedSize);
+        }
+
+        if (expectedSize > 0) {
+            allocate(Math.max(MIN_CAPACITY, expectedSize));
+        }
+    }
+
+    /**
+     * Creates a map with the entries of the given map, in the order of its iteration.
+     *
+     * @param map the entries to copy.
+     */
+    @SuppressWarnings("this-escape") // only hash and keyEquals are called, see their docs
+    public OrderedMap(Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAllInternal(map);
+    }
+
+    /**
+     * Computes the hash code of a key or of an object that is looked up. It is also called
+     * while {@link #OrderedMap(Map)} copies the entries, so it must not depend on fields of a
+     * subclass.
+     *
+     * @param key the key, may be {@code null}.
+     * @return the hash code of the key.
+     */
+    protected int hash(Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    /**
+     * Compares an object that is looked up with a key of this map. It is only called if both
+     * have the same {@link #hash(Object)}. Like {@code hash}, it may be called before a
+     * subclass is initialized.
+     *
+     * @param key    the object that is looked up, may be {@code null}.
+     * @param stored a key of this map, may be {@code null}.
+     * @return {@code true} if the object matches the key.
+     */
+    protected boolean keyEquals(Object key, Object stored) {
+        return Objects.equals(key, stored);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) values[i] : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Associates the value with the key. A new key is added after all other keys, the value of
+     * an existing key is replaced in its position.
+     *
+     * @param key   key with which the value is to be associated.
+     * @param value value to be associated with the key.
+     * @return the previous value of the key, or {@code null} if there was no mapping for the key.
+     */
+    @Override
+    public V put(K key, V value) {
+        return putInternal(key, value);
+    }
+
+    /**
+     * Puts the entries without calling {@link #put(Object, Object)}, which a subclass may
+     * override and which must not run from a constructor.
+     */
+    private void putAllInternal(Map<? extends K, ? extends V> map) {
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            putInternal(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V putInternal(K key, V value) {
+        int hash = hash(key);
+        int i = indexOf(key, hash);
+
+        if (i >= 0) {
+            V previous = (V) values[i];
+            values[i] = value;
+            return previous;
+        }
+
+        if (used == keys.length) {
+            // close the gaps of removed entries, or grow if there are only a few
+            allocate(size >= used / 2 ? Math.max(MIN_CAPACITY, keys.length * 2) : keys.length);
+        } else if (size + deleted >= index.length / 2) {
+            // the slots of removed entries would make the probes long, or leave no free slot
+            allocate(keys.length);
+        }
+
+        i = used++;
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = hash;
+        insert(hash, i);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (size == 0) {
+            return null;
+        }
+
+        int hash = hash(key);
+        int mask = index.length - 1;
+
+        for (int slot = slot(hash); index[slot] != FREE; slot = (slot + 1) & mask) {
+            int i = index[slot] - 1;
+
+            if (i >= 0 && hashes[i] == hash && keyEquals(key, keys[i])) {
+                return removeAt(slot, i);
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        if (used > 0) {
+            Arrays.fill(keys, 0, used, null);
+            Arrays.fill(values, 0, used, null);
+            Arrays.fill(index, FREE);
+            deleted = 0;
+            used = 0;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    /**
+     * Performs the action for each entry in insertion order, without creating entry objects.
+     *
+     * @param action the action to perform.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+
+        for (int i = 0; i < used; i++) {
+            Object key = keys[i];
+
+            if (key != REMOVED) {
+                action.accept((K) key, (V) values[i]);
+            }
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> keySet = this.keySet;
+        return keySet != null ? keySet : (this.keySet = new KeySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> values = this.valueCollection;
+        return values != null ? values : (this.valueCollection = new Values());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entrySet = this.entrySet;
+        return entrySet != null ? entrySet : (this.entrySet = new EntrySet());
+    }
+
+    private int indexOf(Object key) {
+        return size == 0 ? -1 : indexOf(key, hash(key));
+    }
+
+    /**
+     * @return the position of the entry with the given key, or {@code -1} if there is none.
+     */
+    private int indexOf(Object key, int hash) {
+        if (size == 0) {
+            return -1;
+        }
+
+        int mask = index.length - 1;
+
+        for (int slot = slot(hash); index[slot] != FREE; slot = (slot + 1) & mask) {
+            int i = index[slot] - 1;
+
+            if (i >= 0 && hashes[i] == hash && keyEquals(key, keys[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int slot(int hash) {
+        // Fibonacci hashing spreads the similar hash codes of similar names over the table
+        return (hash * FIBONACCI) >>> shift;
+    }
+
+    private void insert(int hash, int i) {
+        int mask = index.length - 1;
+        int slot = slot(hash);
+
+        while (index[slot] > FREE) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (index[slot] == DELETED) {
+            deleted--;
+        }
+
+        index[slot] = i + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeAt(int slot, int i) {
+        V previous = (V) values[i];
+        index[slot] = DELETED;
+        deleted++;
+        keys[i] = REMOVED;
+        values[i] = null;
+        size--;
+        modCount++;
+
+        // entries at the end can be reused, as the index no longer refers to them
+        while (used > 0 && keys[used - 1] == REMOVED) {
+            keys[--used] = null;
+        }
+
+        return previous;
+    }
+
+    private void removeAt(int i) {
+        int mask = index.length - 1;
+        int slot = slot(hashes[i]);
+
+        while (index[slot] != i + 1) {
+            slot = (slot + 1) & mask;
+        }
+
+        removeAt(slot, i);
+    }
+
+    /**
+     * Moves the entries to arrays of the given capacity, without gaps, and rebuilds the index.
+     * The index has at least twice as many slots as the arrays, so that it is at most half full,
+     * including the slots of removed entries.
+     */
+    private void allocate(int capacity) {
+        Object[] newKeys = new Object[capacity];
+        Object[] newValues = new Object[capacity];
+        int[] newHashes = new int[capacity];
+        int n = 0;
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED) {
+                newKeys[n] = keys[i];
+                newValues[n] = values[i];
+                newHashes[n] = hashes[i];
+                n++;
+            }
+        }
+
+        int bits = 32 - Integer.numberOfLeadingZeros(capacity * 2 - 1);
+        keys = newKeys;
+        values = newValues;
+        hashes = newHashes;
+        index = new int[1 << bits];
+        shift = 32 - bits;
+        used = n;
+        deleted = 0;
+
+        for (int i = 0; i < n; i++) {
+            insert(hashes[i], i);
+        }
+    }
+
+    /**
+     * Creates a shallow copy of this map: the keys and values themselves are not cloned.
+     *
+     * @return a copy of this map with the same entries in the same order.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public OrderedMap<K, V> clone() {
+        OrderedMap<K, V> clone;
+
+        try {
+            clone = (OrderedMap<K, V>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+
+        clone.keys = keys.clone();
+        clone.values = values.clone();
+        clone.hashes = hashes.clone();
+        clone.index = index.clone();
+        clone.keySet = null;
+        clone.valueCollection = null;
+        clone.entrySet = null;
+        return clone;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED) {
+                out.writeObject(keys[i]);
+                out.writeObject(values[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+
+        if (n < 0) {
+            throw new InvalidObjectException("Negative size: " + n);
+        }
+
+        keys = NO_OBJECTS;
+        values = NO_OBJECTS;
+        hashes = NO_INTS;
+        index = NO_INTS;
+
+        if (n > 0) {
+            allocate(Math.max(MIN_CAPACITY, n));
+        }
+
+        for (int i = 0; i < n; i++) {
+            putInternal((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    /**
+     * Iterates over the positions of the entries in insertion order.
+     */
+    private abstract class Itr<T> implements Iterator<T> {
+        private int next = skip(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private int skip(int i) {
+            while (i < used && keys[i] == REMOVED) {
+                i++;
+            }
+
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        int nextIndex() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+
+            last = next;
+            next = skip(next + 1);
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+        @Override
+        public Iterator<K> iterator() {
+            return new Itr<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public K next() {
+                    return (K) keys[nextIndex()];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!containsKey(o)) {
+                return false;
+            }
+
+            OrderedMap.this.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            OrderedMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new Itr<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    return (V) values[nextIndex()];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            OrderedMap.this.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Itr<>() {
+                @Override
+                public Entry<K, V> next() {
+                    return new OrderedEntry(nextIndex());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry<?, ?> entry)) {
+                return false;
+            }
+
+            int i = indexOf(entry.getKey());
+            return i >= 0 && Objects.equals(values[i], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+
+            OrderedMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            OrderedMap.this.clear();
+        }
+    }
+
+    /**
+     * An entry that reads and writes the arrays at its position.
+     */
+    private final class OrderedEntry implements Entry<K, V> {
+        private final int i;
+        private final K key;
+
+        @SuppressWarnings("unchecked")
+        OrderedEntry(int i) {
+            this.i = i;
+            this.key = (K) keys[i];
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return i < used && keys[i] == key ? (V) values[i] : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            if (i >= used || keys[i] != key) {
+                throw new IllegalStateException("The entry was removed or moved");
+            }
+
+            V previous = (V) values[i];
+            values[i] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry
+                    && Objects.equals(key, entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.iniobjects;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A minimal perfect hash function that maps {@code n} distinct 64-bit hashes to the slots
+ * {@code 0..n-1} without collisions. It is built with the hash-and-displace method: the hashes
+ * are distributed into buckets, and every bucket stores one displacement that moves all of its
+ * hashes to free slots. Buckets with a single hash store the slot directly.
+ *
+ * <p>The hash of an input is derived from the hash code of its characters (which {@code String}
+ * caches) and a group, e.g. the section of a key. If two inputs have the same hash or no
+ * displacement is found, the function is built again with another seed. If that keeps failing,
+ * e.g. because two names have the same hash code, the characters are hashed with the seed instead.
+ *
+ * <p>The function only maps known inputs to distinct slots. Unknown inputs are mapped to an
+ * arbitrary slot, so the caller must compare the input with the entry in the slot.
+ *
+ * @author Gregor Gottschewski
+ */
+final class PerfectHash {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int HASH_CODE_SEEDS = 4;
+    private static final int MAX_SEEDS = 64;
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+
+    private final long seed;
+    private final boolean hashChars;
+    private final int size;
+    private final int[] displacements;
+
+    private PerfectHash(long seed, boolean hashChars, int size, int[] displacements) {
+        this.seed = seed;
+        this.hashChars = hashChars;
+        this.size = size;
+        this.displacements = displacements;
+    }
+
+    /**
+     * Builds a minimal perfect hash function for {@code size} inputs.
+     *
+     * @param size   number of inputs.
+     * @param inputs returns the characters of an input.
+     * @param groups returns the group of an input.
+     * @return the perfect hash function.
+     * @throws IllegalArgumentException if the inputs are not distinct.
+     */
+    static PerfectHash build(int size, IntFunction<CharSequence> inputs, IntUnaryOperator groups) {
+        long seed = GOLDEN_GAMMA;
+        long[] hashes = new long[size];
+
+        for (int attempt = 0; attempt < MAX_SEEDS; attempt++, seed = mix(seed + GOLDEN_GAMMA)) {
+            boolean hashChars = attempt >= HASH_CODE_SEEDS;
+
+            for (int i = 0; i < size; i++) {
+                hashes[i] = hash(inputs.apply(i), groups.applyAsInt(i), seed, hashChars);
+            }
+
+            int[] displacements = displace(hashes);
+
+            if (displacements != null) {
+                return new PerfectHash(seed, hashChars, size, displacements);
+            }
+        }
+
+        throw new IllegalArgumentException("Cannot build a perfect hash function; the inputs are not distinct");
+    }
+
+    private static int[] displace(long[] hashes) {
+        int size = hashes.length;
+        int bucketCount = Math.max(1, (size + 1) / 2);
+        int[] bucketSizes = new int[bucketCount];
+
+        for (long hash : hashes) {
+            bucketSizes[bucket(hash, bucketCount)]++;
+        }
+
+        // group the hashes by bucket
+        int[] bucketStarts = new int[bucketCount + 1];
+
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStarts[b + 1] = bucketStarts[b] + bucketSizes[b];
+        }
+
+        long[] grouped = new long[size];
+        int[] fill = Arrays.copyOf(bucketStarts, bucketCount);
+
+        for (long hash : hashes) {
+            grouped[fill[bucket(hash, bucketCount)]++] = hash;
+        }
+
+        // place the largest buckets first, while most slots are free
+        Integer[] order = new Integer[bucketCount];
+        Arrays.setAll(order, b -> b);
+        Arrays.sort(order, (a, b) -> Integer.compare(bucketSizes[b], bucketSizes[a]));
+
+        int[] displacements = new int[bucketCount];
+        boolean[] occupied = new boolean[size];
+        int[] slots = new int[size];
+        int nextFree = 0;
+
+        for (int b : order) {
+            int start = bucketStarts[b];
+            int count = bucketSizes[b];
+
+            if (count == 0) {
+                break;
+            }
+
+            if (count == 1) {
+                while (occupied[nextFree]) {
+                    nextFree++;
+                }
+
+                occupied[nextFree] = true;
+                displacements[b] = -nextFree - 1;
+                continue;
+            }
+
+            int displacement = findDisplacement(grouped, start, count, size, occupied, slots);
+
+            if (displacement < 0) {
+                return null;
+            }
+
+            for (int i = 0; i < count; i++) {
+                occupied[slots[i]] = true;
+            }
+
+            displacements[b] = displacement;
+        }
+
+        return displacements;
+    }
+
+    private static int findDisplacement(long[] hashes, int start, int count, int size, boolean[] occupied, int[] slots) {
+        for (int i = start + 1; i < start + count; i++) {
+            for (int j = start; j < i; j++) {
+                if (hashes[i] == hashes[j]) {
+                    return -1;
+                }
+            }
+        }
+
+        search:
+        for (int d = 0; d < MAX_DISPLACEMENT; d++) {
+            for (int i = 0; i < count; i++) {
+                int slot = displace(hashes[start + i], d, size);
+
+                if (occupied[slot]) {
+                    continue search;
+                }
+
+                for (int j = 0; j < i; j++) {
+                    if (slots[j] == slot) {
+                        continue search;
+                    }
+                }
+
+                slots[i] = slot;
+            }
+
+            return d;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param chars characters of the input.
+     * @param group group of the input.
+     * @return the slot of the input, or {@code -1} if this function has no slots.
+     */
+    int slot(CharSequence chars, int group) {
+        if (size == 0) {
+            return -1;
+        }
+
+        long hash = hash(chars, group, seed, hashChars);
+        int displacement = displacements[bucket(hash, displacements.length)];
+        return displacement < 0 ? -displacement - 1 : displace(hash, displacement, size);
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) (((hash >>> 32) * bucketCount) >>> 32);
+    }
+
+    private static int displace(long hash, int displacement, int size) {
+        return (int) (((mix(hash + displacement * GOLDEN_GAMMA) >>> 32) * size) >>> 32);
+    }
+
+    private static long hash(CharSequence chars, int group, long seed, boolean hashChars) {
+        long h;
+
+        if (hashChars) {
+            h = seed;
+
+            for (int i = 0; i < chars.length(); i++) {
+                h = (h ^ chars.charAt(i)) * 0x100000001B3L;
+            }
+
+            h ^= chars.length();
+        } else {
+            h = seed ^ KeyProbe.hash(chars);
+        }
+
+        return mix(h + group * GOLDEN_GAMMA);
+    }
+
+    /**
+     * The finalizer of MurmurHash3, which spreads every input bit over all output bits.
+     */
+    private static long mix(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB93F5FE1A87BL;
+        return h ^ (h >>> 33);
+    }
+}
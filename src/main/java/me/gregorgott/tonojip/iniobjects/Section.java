@@ -59,20 +59,20 @@ public class Section extends Commentable {
 
     /**
      * Compares this section with another object.
-     * Comments are ignored.
+     * Comments are ignored. Subclasses like lazily decoded sections are equal to a section
+     * with the same key-value pairs.
      *
      * @param o the object to compare with.
      * @return {@code true} if the object is a section and has the same key-value pair map, {@code false} otherwise.
      */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Section section = (Section) o;
-        return Objects.equals(pairMap, section.pairMap);
+        if (!(o instanceof Section section)) return false;
+        return Objects.equals(getPairMap(), section.getPairMap());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(pairMap);
+        return Objects.hashCode(getPairMap());
     }
 }
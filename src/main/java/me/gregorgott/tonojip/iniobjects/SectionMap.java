@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2025 Gregor Gottschewski
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the “Software”), to deal in the
+ * Software without restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED “AS IS”, WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE
+ * OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package me.gregorgott.tonojip.iniobjects;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A map that stores the sections of an {@link IniFile} by their names, in the order they
+ * were added.
+ *
+ * <p>Section names can form a hierarchy with dots, e.g. {@code [db]}, {@code [db.primary]} and
+ * {@code [db.primary.pool]}. Besides the map operations, this map answers queries about this
+ * hierarchy with a tree of the name segments, so their cost depends on the size of the result
+ * and not on the number of sections:
+ * <pre>{@code
+ * List<String> children = sections.subsections("db");       // [db.primary, db.replica]
+ * sections.walk("db.primary", (name, section) -> ...);      // db.primary, db.primary.pool
+ * }</pre>
+ *
+ * <p>The tree is built on the first query and then kept up to date by all changes of this map,
+ * so parsing a file and looking up sections by name does not pay for it. The segments of a
+ * name are not checked, {@code [a..b]} is the child {@code b} of the empty segment below
+ * {@code a}. Sections with a {@code null} name are not part of the tree.
+ *
+ * <p>Like an {@link OrderedMap}, this map is not thread-safe. Concurrent queries are safe as long
+ * as the map is not changed.
+ *
+ * @author Gregor Gottschewski
+ */
+public class SectionMap extends AbstractMap<String, Section> {
+    private static final char SEPARATOR = '.';
+
+    private final OrderedMap<String, Section> sections;
+    private volatile Node root;
+    private EntrySet entrySet;
+
+    /**
+     * A segment of the section names. The node of a section stores its name.
+     */
+    private static final class Node {
+        private String name;
+        private OrderedMap<String, Node> children;
+
+        Node child(String segment) {
+            return children != null ? children.get(segment) : null;
+        }
+
+        Node addChild(String segment) {
+            if (children == null) {
+                children = new OrderedMap<>(4);
+            }
+
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        boolean isEmpty() {
+            return name == null && (children == null || children.isEmpty());
+        }
+    }
+
+    /**
+     * Creates an empty map.
+     */
+    public SectionMap() {
+        this.sections = new OrderedMap<>();
+    }
+
+    /**
+     * Creates a map with the sections of the given map.
+     *
+     * @param sections the sections to copy.
+     */
+    public SectionMap(Map<String, ? extends Section> sections) {
+        this.sections = new OrderedMap<>(sections);
+    }
+
+    @Override
+    public int size() {
+        return sections.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return sections.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return sections.containsKey(name);
+    }
+
+    @Override
+    public boolean containsValue(Object section) {
+        return sections.containsValue(section);
+    }
+
+    @Override
+    public Section get(Object name) {
+        return sections.get(name);
+    }
+
+    @Override
+    public Section getOrDefault(Object name, Section defaultSection) {
+        return sections.getOrDefault(name, defaultSection);
+    }
+
+    @Override
+    public Section put(String name, Section section) {
+        Section previous = sections.put(name, section);
+        Node root = this.root;
+
+        if (root != null && name != null) {
+            index(root, name);
+        }
+
+        return previous;
+    }
+
+    @Override
+    public Section remove(Object name) {
+        if (!sections.containsKey(name)) {
+            return null;
+        }
+
+        Section previous = sections.remove(name);
+        Node root = this.root;
+
+        if (root != null && name != null) {
+            unindex(root, (String) name);
+        }
+
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        sections.clear();
+        root = null;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Section> action) {
+        sections.forEach(action);
+    }
+
+    @Override
+    public Set<Entry<String, Section>> entrySet() {
+        EntrySet entrySet = this.entrySet;
+        return entrySet != null ? entrySet : (this.entrySet = new EntrySet());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || sections.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return sections.hashCode();
+    }
+
+    /**
+     * Returns the names of the direct children of a section, e.g. {@code db.primary} and
+     * {@code db.replica} for {@code db}, but not {@code db.primary.pool}. The section itself
+     * does not need to exist.
+     *
+     * @param prefix name of the parent section, or an empty string for the top-level sections.
+     * @return the names of the child sections in the order they were added.
+     */
+    public List<String> subsections(String prefix) {
+        Node node = find(prefix);
+
+        if (node == null || node.children == null) {
+            return List.of();
+        }
+
+        List<String> names = new ArrayList<>(node.children.size());
+
+        for (Node child : node.children.values()) {
+            if (child.name != null) {
+                names.add(child.name);
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * Visits a section and all sections below it, e.g. {@code db}, {@code db.primary} and
+     * {@code db.primary.pool} for {@code db}. A section is visited before its children. The
+     * section itself does not need to exist. The visitor must not change this map.
+     *
+     * @param prefix  name of the top section, or an empty string for all sections.
+     * @param visitor receives the name and the section of every visited section.
+     */
+    public void walk(String prefix, BiConsumer<? super String, ? super Section> visitor) {
+        Node node = find(prefix);
+
+        if (node != null) {
+            walk(node, visitor);
+        }
+    }
+
+    private void walk(Node node, BiConsumer<? super String, ? super Section> visitor) {
+        if (node.name != null) {
+            visitor.accept(node.name, sections.get(node.name));
+        }
+
+        if (node.children != null) {
+            for (Node child : node.children.values()) {
+                walk(child, visitor);
+            }
+        }
+    }
+
+    /**
+     * @return the node of the given name, or {@code null} if no section is at or below it.
+     */
+    private Node find(String prefix) {
+        Node node = root();
+
+        if (prefix == null || prefix.isEmpty()) {
+            return node;
+        }
+
+        int start = 0;
+
+        while (node != null) {
+            int end = prefix.indexOf(SEPARATOR, start);
+            node = node.child(prefix.substring(start, end < 0 ? prefix.length() : end));
+
+            if (end < 0) {
+                break;
+            }
+
+            start = end + 1;
+        }
+
+        return node;
+    }
+
+    private Node root() {
+        Node root = this.root;
+
+        if (root == null) {
+            synchronized (this) {
+                root = this.root;
+
+                if (root == null) {
+                    root = new Node();
+
+                    for (String name : sections.keySet()) {
+                        if (name != null) {
+                            index(root, name);
+                        }
+                    }
+
+                    this.root = root;
+                }
+            }
+        }
+
+        return root;
+    }
+
+    private static void index(Node root, String name) {
+        Node node = root;
+        int start = 0;
+
+        while (true) {
+            int end = name.indexOf(SEPARATOR, start);
+            node = node.addChild(name.substring(start, end < 0 ? name.length() : end));
+
+            if (end < 0) {
+                break;
+            }
+
+            start = end + 1;
+        }
+
+        node.name = name;
+    }
+
+    private static void unindex(Node root, String name) {
+        List<Node> path = new ArrayList<>();
+        List<String> segments = new ArrayList<>();
+        Node node = root;
+        int start = 0;
+
+        while (true) {
+            int end = name.indexOf(SEPARATOR, start);
+            String segment = name.substring(start, end < 0 ? name.length() : end);
+            path.add(node);
+            segments.add(segment);
+            node = node.child(segment);
+
+            if (node == null) {
+                return;
+            }
+
+            if (end < 0) {
+                break;
+            }
+
+            start = end + 1;
+        }
+
+        node.name = null;
+
+        // remove the nodes that no longer lead to a section
+        for (int i = path.size() - 1; i >= 0 && node.isEmpty(); i--) {
+            path.get(i).children.remove(segments.get(i));
+            node = path.get(i);
+        }
+    }
+
+    /**
+     * The entries of the backing map, whose removals also update the tree.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, Section>> {
+        @Override
+        public Iterator<Entry<String, Section>> iterator() {
+            Iterator<Entry<String, Section>> iterator = sections.entrySet().iterator();
+
+            return new Iterator<>() {
+                private Entry<String, Section> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<String, Section> next() {
+                    return current = iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    Node root = SectionMap.this.root;
+
+                    if (root != null && current.getKey() != null) {
+                        unindex(root, current.getKey());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return sections.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return sections.entrySet().contains(o);
+        }
+
+        @Override
+        public void clear() {
+            SectionMap.this.clear();
+        }
+    }
+}
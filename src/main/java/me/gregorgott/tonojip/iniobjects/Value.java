@@ -25,18 +25,55 @@ package me.gregorgott.tonojip.iniobjects;
 
 import me.gregorgott.tonojip.exceptions.ValueConvertError;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 /**
  * This class represents a value of a key.
  * The value is stored as a string but can be cast to another datatype if necessary.
  *
+ * <p>The first successful conversion is cached, so converting the value to the same type
+ * again only reads a field. The cache is safe to use from multiple threads.
+ *
+ * <p>Besides the {@code getAs} methods, which throw a {@link ValueConvertError} for invalid
+ * values, there are variants with a default value and {@code tryGetAs} methods with optional
+ * results, which never throw. All of them parse numbers with {@link Numbers}, without
+ * exceptions.
+ *
  * @author Gregor Gottschewski
  */
 public class Value {
     public final static Value EMPTY_VALUE = new Value(null);
+
+    private static final byte UNCONVERTED = 0;
+    private static final byte CONVERTING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final VarHandle CONVERSION;
+
+    static {
+        try {
+            CONVERSION = MethodHandles.lookup().findVarHandle(Value.class, "conversion", byte.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final String value;
 
+    /**
+     * The bits of the first successful conversion. Only valid if {@code conversion}
+     * names a type, which is written after these bits.
+     */
+    private long converted;
+    private volatile byte conversion;
+
     /**
      * Constructs a new value with the given string.
      *
@@ -57,11 +94,62 @@ public class Value {
      * @return the value as an integer.
      */
     public int getAsInt() {
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
+        long result = intValue();
+
+        if (result == Numbers.NOT_AN_INT) {
             throw new ValueConvertError(value, "Integer");
         }
+
+        return (int) result;
+    }
+
+    /**
+     * Converts the value to an integer without throwing an exception.
+     *
+     * @param defaultValue the value to return if the value is not a valid integer.
+     * @return the value as an integer, or {@code defaultValue}.
+     */
+    public int getAsInt(int defaultValue) {
+        long result = intValue();
+        return result != Numbers.NOT_AN_INT ? (int) result : defaultValue;
+    }
+
+    /**
+     * Converts the value to an integer without throwing an exception.
+     *
+     * @return the value as an integer, or an empty optional if the value is not a valid integer.
+     */
+    public OptionalInt tryGetAsInt() {
+        long result = intValue();
+        return result != Numbers.NOT_AN_INT ? OptionalInt.of((int) result) : OptionalInt.empty();
+    }
+
+    /**
+     * @return the integer, or {@link Numbers#NOT_AN_INT}.
+     */
+    private long intValue() {
+        byte type = conversion;
+
+        if (type == INT) {
+            return converted;
+        }
+
+        if (type == LONG) {
+            long result = converted;
+            return result == (int) result ? result : Numbers.NOT_AN_INT;
+        }
+
+        if (value == null) {
+            return Numbers.NOT_AN_INT;
+        }
+
+        long result = Numbers.parseInt(value, 0, value.length());
+
+        if (result != Numbers.NOT_AN_INT) {
+            cache(INT, result);
+        }
+
+        return result;
     }
 
     /**
@@ -71,11 +159,50 @@ public class Value {
      * @return the value as a long.
      */
     public long getAsLong() {
-        try {
-            return Long.parseLong(value);
-        } catch (NumberFormatException e) {
+        if (!isLong()) {
             throw new ValueConvertError(value, "Long");
         }
+
+        return longValue();
+    }
+
+    /**
+     * Converts the value to a long without throwing an exception.
+     *
+     * @param defaultValue the value to return if the value is not a valid long.
+     * @return the value as a long, or {@code defaultValue}.
+     */
+    public long getAsLong(long defaultValue) {
+        return isLong() ? longValue() : defaultValue;
+    }
+
+    /**
+     * Converts the value to a long without throwing an exception.
+     *
+     * @return the value as a long, or an empty optional if the value is not a valid long.
+     */
+    public OptionalLong tryGetAsLong() {
+        return isLong() ? OptionalLong.of(longValue()) : OptionalLong.empty();
+    }
+
+    private boolean isLong() {
+        byte type = conversion;
+        return type == LONG || type == INT || value != null && Numbers.isLong(value, 0, value.length());
+    }
+
+    /**
+     * @return the long, if {@link #isLong()} accepted the value.
+     */
+    private long longValue() {
+        byte type = conversion;
+
+        if (type == LONG || type == INT) {
+            return converted;
+        }
+
+        long result = Numbers.parseValidLong(value, 0, value.length());
+        cache(LONG, result);
+        return result;
     }
 
     /**
@@ -85,11 +212,55 @@ public class Value {
      * @return the value as a double.
      */
     public double getAsDouble() {
-        try {
-            return Double.parseDouble(value);
-        } catch (NumberFormatException e) {
+        long bits = doubleBits();
+
+        if (bits == Numbers.INVALID_DOUBLE) {
             throw new ValueConvertError(value, "Double");
         }
+
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Converts the value to a double without throwing an exception.
+     *
+     * @param defaultValue the value to return if the value is not a valid double.
+     * @return the value as a double, or {@code defaultValue}.
+     */
+    public double getAsDouble(double defaultValue) {
+        long bits = doubleBits();
+        return bits != Numbers.INVALID_DOUBLE ? Double.longBitsToDouble(bits) : defaultValue;
+    }
+
+    /**
+     * Converts the value to a double without throwing an exception.
+     *
+     * @return the value as a double, or an empty optional if the value is not a valid double.
+     */
+    public OptionalDouble tryGetAsDouble() {
+        long bits = doubleBits();
+        return bits != Numbers.INVALID_DOUBLE ? OptionalDouble.of(Double.longBitsToDouble(bits)) : OptionalDouble.empty();
+    }
+
+    /**
+     * @return the raw bits of the double, or {@link Numbers#INVALID_DOUBLE}.
+     */
+    private long doubleBits() {
+        if (conversion == DOUBLE) {
+            return converted;
+        }
+
+        if (value == null) {
+            return Numbers.INVALID_DOUBLE;
+        }
+
+        long bits = Numbers.parseDoubleBits(value, 0, value.length());
+
+        if (bits != Numbers.INVALID_DOUBLE) {
+            cache(DOUBLE, bits);
+        }
+
+        return bits;
     }
 
     /**
@@ -100,15 +271,62 @@ public class Value {
      * @return the value as a boolean.
      */
     public boolean getAsBoolean() {
+        if (conversion == BOOLEAN) {
+            return converted != 0;
+        }
+
+        boolean result;
+
         if (Objects.equals(value, "False") || Objects.equals(value, "No")) {
+            result = false;
+        } else if (Objects.equals(value, "True") || Objects.equals(value, "Yes")) {
+            result = true;
+        } else {
+            throw new ValueConvertError(value, "Boolean");
+        }
+
+        cache(BOOLEAN, result ? 1 : 0);
+        return result;
+    }
+
+    /**
+     * Converts the value to a boolean without throwing an exception.
+     *
+     * @param defaultValue the value to return if the value is not a valid boolean.
+     * @return the value as a boolean, or {@code defaultValue}.
+     * @see #getAsBoolean()
+     */
+    public boolean getAsBoolean(boolean defaultValue) {
+        if (conversion == BOOLEAN) {
+            return converted != 0;
+        }
+
+        if (Objects.equals(value, "False") || Objects.equals(value, "No")) {
+            cache(BOOLEAN, 0);
             return false;
         }
 
         if (Objects.equals(value, "True") || Objects.equals(value, "Yes")) {
+            cache(BOOLEAN, 1);
             return true;
         }
 
-        throw new ValueConvertError(value, "Boolean");
+        return defaultValue;
+    }
+
+    /**
+     * Caches the result of the first successful conversion. The thread that claims the
+     * cache writes the bits before it publishes the type with a volatile write, so a thread
+     * that reads the type also sees the bits. Conversions to other types are not cached.
+     *
+     * @param type the type of the conversion.
+     * @param bits the converted value.
+     */
+    private void cache(byte type, long bits) {
+        if (conversion == UNCONVERTED && CONVERSION.compareAndSet(this, UNCONVERTED, CONVERTING)) {
+            converted = bits;
+            conversion = type;
+        }
     }
 
     /**
@@ -0,0 +1,161 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.CompiledFileException;
+import me.gregorgott.tonojip.exceptions.ValueConvertError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import me.gregorgott.tonojip.iniobjects.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledIniFileTest {
+    private static final String INI = """
+            global=1
+            ; comment of server
+            [server]
+            host = localhost
+            port = 8080
+            ratio = 0.75
+            enabled = Yes
+            empty =
+            blank = \s
+            big = 3000000000
+            ; comment of key
+            name = äöü
+            [Aa]
+            key=Aa
+            [BB]
+            key=BB
+            """;
+
+    @TempDir
+    Path dir;
+
+    private Path source() throws IOException {
+        return Files.writeString(dir.resolve("config.ini"), INI);
+    }
+
+    @Test
+    void compileAndLoad() throws IOException {
+        Path source = source();
+        Path compiled = dir.resolve("config.bin");
+        IniFileCompiler.compile(source, compiled);
+        CompiledIniFile file = CompiledIniFile.load(compiled);
+
+        assertTrue(file.isUpToDate(source));
+        assertEquals("1", file.getValue("global").getAsString());
+        assertEquals("localhost", file.getValue("server", "host").getAsString());
+        assertSame(Value.EMPTY_VALUE, file.getValue("server", "empty"));
+        assertEquals("", file.getValue("server", "blank").getAsString());
+        assertNull(file.getValue("server", "missing"));
+        assertNull(file.getValue("missing", "host"));
+        assertEquals("Aa", file.getValue("Aa", "key").getAsString());
+        assertEquals("BB", file.getValue("BB", "key").getAsString());
+        assertEquals(" comment of server", file.getSectionComment("server"));
+        assertEquals(" comment of key", file.getComment("server", "name"));
+        assertTrue(file.containsSection("server"));
+        assertFalse(file.containsSection("missing"));
+        assertEquals(List.of("server", "Aa", "BB"), file.getSectionNames());
+
+        IniFile parsed = IniFileReader.parse(source);
+        assertEquals(parsed.getGlobalValues(), file.toIniFile().getGlobalValues());
+        assertEquals(parsed.getSections(), file.toIniFile().getSections());
+    }
+
+    @Test
+    void keepSourceOrder() throws IOException {
+        Path source = Files.writeString(dir.resolve("order.ini"), "z=1\ny=2\n[b]\nd=1\nc=2\n[a]\nkey=a\n" + INI);
+        Path compiled = dir.resolve("config.bin");
+        IniFileCompiler.compile(source, compiled);
+
+        CompiledIniFile file = CompiledIniFile.load(compiled);
+        assertEquals(List.of("b", "a", "server", "Aa", "BB"), file.getSectionNames());
+
+        IniFile parsed = IniFileReader.parse(source);
+        IniFile restored = file.toIniFile();
+
+        assertEquals(List.copyOf(parsed.getSections().keySet()), List.copyOf(restored.getSections().keySet()));
+        assertEquals(List.copyOf(parsed.getSection("server").getPairMap().keySet()),
+                List.copyOf(restored.getSection("server").getPairMap().keySet()));
+        assertEquals(toString(parsed), toString(restored));
+    }
+
+    private static String toString(IniFile iniFile) throws IOException {
+        StringWriter writer = new StringWriter();
+        new IniFileWriter(writer).write(iniFile);
+        return writer.toString();
+    }
+
+    @Test
+    void typedValues() throws IOException {
+        Path compiled = dir.resolve("config.bin");
+        IniFileCompiler.compile(source(), compiled);
+        CompiledIniFile file = CompiledIniFile.load(compiled);
+
+        assertEquals(8080, file.getInt("server", "port", 0));
+        assertEquals(8080L, file.getLong("server", "port", 0));
+        assertEquals(8080.0, file.getDouble("server", "port", 0));
+        assertEquals(0.75, file.getDouble("server", "ratio", 0));
+        assertTrue(file.getBoolean("server", "enabled", false));
+        assertEquals(3_000_000_000L, file.getLong("server", "big", 0));
+        assertEquals(42, file.getInt("server", "missing", 42));
+        assertThrows(ValueConvertError.class, () -> file.getInt("server", "big", 0));
+        assertThrows(ValueConvertError.class, () -> file.getLong("server", "host", 0));
+        assertThrows(ValueConvertError.class, () -> file.getBoolean("server", "port", false));
+    }
+
+    @Test
+    void staleAndInvalidFiles() throws IOException {
+        Path source = source();
+        Path compiled = dir.resolve("config.bin");
+        IniFileCompiler.compile(source, compiled);
+
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5000));
+        assertFalse(CompiledIniFile.load(compiled).isUpToDate(source));
+
+        byte[] bytes = Files.readAllBytes(compiled);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(compiled, bytes);
+        assertThrows(CompiledFileException.class, () -> CompiledIniFile.load(compiled));
+
+        Files.writeString(compiled, "[not compiled]");
+        assertThrows(CompiledFileException.class, () -> CompiledIniFile.load(compiled));
+
+        Files.write(compiled, new byte[0]);
+        assertThrows(CompiledFileException.class, () -> CompiledIniFile.load(compiled));
+    }
+
+    @Test
+    void loadOrCompile() throws IOException {
+        Path source = source();
+        Path compiled = dir.resolve("config.bin");
+        Files.writeString(compiled, "garbage");
+
+        assertEquals("localhost", IniFileCompiler.loadOrCompile(source, compiled).getValue("server", "host").getAsString());
+        assertTrue(CompiledIniFile.load(compiled).isUpToDate(source));
+
+        Files.writeString(source, "[server]\nhost=changed.example\n");
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 5000));
+        assertEquals("changed.example", IniFileCompiler.loadOrCompile(source, compiled).getValue("server", "host").getAsString());
+        assertEquals(List.of("config.bin", "config.ini"), Files.list(dir).map(p -> p.getFileName().toString()).sorted().toList());
+    }
+
+    @Test
+    void compileIniFile() throws IOException {
+        Path compiled = dir.resolve("empty.bin");
+        IniFileCompiler.compile(new IniFile(), compiled);
+        CompiledIniFile file = CompiledIniFile.load(compiled);
+
+        assertNull(file.getValue("key"));
+        assertTrue(file.getSectionNames().isEmpty());
+        assertFalse(file.isUpToDate(source()));
+    }
+}
@@ -0,0 +1,142 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import me.gregorgott.tonojip.iniobjects.Key;
+import me.gregorgott.tonojip.iniobjects.Value;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentInternPoolTest {
+    @Test
+    void sharesEqualStrings() {
+        ConcurrentInternPool pool = new ConcurrentInternPool();
+        String first = pool.intern(new StringBuilder("host"));
+        String second = pool.intern(new StringBuilder("host"));
+
+        assertEquals("host", first);
+        assertSame(first, second);
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getMissCount());
+        assertEquals(0.5, pool.getHitRate());
+
+        pool.resetStatistics();
+        assertEquals(0, pool.getHitRate());
+        assertSame(first, pool.intern("host"));
+    }
+
+    @Test
+    void sharesEqualValues() {
+        ConcurrentInternPool pool = new ConcurrentInternPool();
+        Value value = pool.internValue("8080");
+
+        assertEquals(8080, value.getAsInt());
+        assertSame(value, pool.internValue(new StringBuilder("8080")));
+        assertSame(value.getAsString(), pool.intern("8080"));
+    }
+
+    @Test
+    void doesNotPoolLongStrings() {
+        ConcurrentInternPool pool = new ConcurrentInternPool(16, 4);
+        String first = pool.intern(new StringBuilder("longer"));
+
+        assertNotSame(first, pool.intern(new StringBuilder("longer")));
+        assertEquals(0, pool.getHitCount() + pool.getMissCount());
+    }
+
+    @Test
+    void isBounded() {
+        ConcurrentInternPool pool = new ConcurrentInternPool(16, 128);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("key" + i, pool.intern("key" + i));
+        }
+
+        // the last entries are still pooled, most older ones have been replaced
+        String last = pool.intern("key9999");
+        assertSame(last, pool.intern("key9999"));
+        assertTrue(pool.getMissCount() > 9_000);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrowsExactly(IllegalArgumentException.class, () -> new ConcurrentInternPool(0, 10));
+        assertThrowsExactly(IllegalArgumentException.class, () -> new ConcurrentInternPool(16, -1));
+    }
+
+    @Test
+    void concurrentUse() throws Exception {
+        ConcurrentInternPool pool = new ConcurrentInternPool(64, 128);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        String name = "key" + (i % 200);
+                        assertEquals(name, pool.intern(name));
+                        assertEquals(name, pool.internValue(name).getAsString());
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    @Test
+    void readersShareNamesAndValues(@TempDir Path dir) throws IOException {
+        String content = """
+                name=app
+                [server]
+                ; comment
+                host=localhost
+                port=8080
+                """;
+        Path path = Files.writeString(dir.resolve("a.ini"), content);
+        ConcurrentInternPool pool = new ConcurrentInternPool();
+
+        IniFile first;
+        IniFile second;
+
+        try (IniFileReader reader = new IniFileReader(new StringReader(content))) {
+            reader.setInternPool(pool);
+            assertSame(pool, reader.getInternPool());
+            first = reader.parse();
+        }
+
+        try (IniFileReader reader = new IniFileReader(path)) {
+            reader.setInternPool(pool);
+            reader.setLazy(true);
+            second = reader.parse();
+        }
+
+        assertSame(first.getValue("server", "port"), second.getValue("server", "port"));
+        assertSame(first.getValue("name"), second.getValue("name"));
+        assertSame(key(first, "host").getKey(), key(second, "host").getKey());
+        assertNotSame(key(first, "host"), key(second, "host"));
+        assertEquals(" comment", key(second, "host").getComment());
+        assertSame(first.getSections().keySet().iterator().next(), second.getSections().keySet().iterator().next());
+        assertTrue(pool.getHitRate() > 0.4);
+    }
+
+    private static Key key(IniFile iniFile, String name) {
+        return iniFile.getSection("server").getPairMap().keySet().stream()
+                .filter(k -> k.getKey().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,96 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.Diagnostics.Diagnostic;
+import me.gregorgott.tonojip.Diagnostics.Kind;
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsTest {
+    private static final String CONTENT = """
+            name=app
+            invalid_line
+            [server
+            # comment of port
+            port=8080
+            [.child]
+             =value
+            [db]
+            host=localhost
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void skipInvalidLines() throws IOException {
+        Diagnostics diagnostics = new Diagnostics();
+        IniFile iniFile = new IniFileReader(new StringReader(CONTENT)).parseLenient(diagnostics);
+
+        assertEquals(List.of(
+                new Diagnostic(2, 1, Kind.INVALID_LINE),
+                new Diagnostic(3, 1, Kind.INVALID_SECTION_HEADER),
+                new Diagnostic(6, 2, Kind.CHILD_SECTION_WITHOUT_PARENT),
+                new Diagnostic(7, 2, Kind.EMPTY_KEY)
+        ), diagnostics.asList());
+        assertEquals("app", iniFile.getValue("name").getAsString());
+        assertEquals("8080", iniFile.getValue("port").getAsString());
+        assertEquals(" comment of port", iniFile.getGlobalValues().keySet().stream()
+                .filter(key -> key.getKey().equals("port")).findFirst().orElseThrow().getComment());
+        assertEquals("localhost", iniFile.getValue("db", "host").getAsString());
+        assertEquals(1, iniFile.getSections().size());
+        assertTrue(diagnostics.toString().startsWith("line 2, column 1: invalid line\nline 3, column 1: invalid section header\n"));
+    }
+
+    @Test
+    void reuseForManyFiles() throws IOException {
+        Diagnostics diagnostics = new Diagnostics();
+        StringBuilder content = new StringBuilder();
+
+        for (int i = 0; i < 100; i++) {
+            content.append("key").append(i).append("=value\nbad\n");
+        }
+
+        Path path = Files.writeString(dir.resolve("bad.ini"), content);
+        IniFileReader reader = new IniFileReader(path);
+        reader.setParallel(true);
+        IniFile iniFile = reader.parseLenient(diagnostics);
+
+        assertEquals(100, diagnostics.size());
+        assertEquals(100, iniFile.getGlobalValues().size());
+        assertEquals(200, diagnostics.getLineNumber(99));
+        assertEquals(Kind.INVALID_LINE, diagnostics.getKind(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> diagnostics.getColumn(100));
+
+        diagnostics.clear();
+        new IniFileReader(new StringReader("a=b\n")).parseLenient(diagnostics);
+        assertTrue(diagnostics.isEmpty());
+    }
+
+    @Test
+    void strictParseStillThrows() {
+        assertThrowsExactly(FileSyntaxError.class, () -> new IniFileReader(new StringReader(CONTENT)).parse());
+        assertThrowsExactly(FileSyntaxError.class, () -> new IniFileReader(new StringReader(CONTENT)).parseLenient(null));
+    }
+
+    @Test
+    void recordEventsWithoutThrowing() throws IOException {
+        Diagnostics diagnostics = new Diagnostics();
+        IniEventReader events = new IniEventReader(new StringReader("bad\nkey=value\n"));
+        events.setDiagnostics(diagnostics);
+
+        assertEquals(IniEvent.KEY_VALUE, events.next());
+        assertEquals(2, events.getLineNumber());
+        assertEquals(IniEvent.END, events.next());
+        assertEquals(1, diagnostics.size());
+    }
+}
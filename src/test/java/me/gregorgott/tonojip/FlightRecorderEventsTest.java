@@ -0,0 +1,100 @@
+package me.gregorgott.tonojip;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+    private static final String CONTENT = "global=1\n[section1]\nkey1=value1\n[section2]\nkey2=value2\n";
+
+    private static List<RecordedEvent> record(Path dir, IOAction action) throws IOException {
+        Path dump = dir.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("me.gregorgott.tonojip.Parse").withoutThreshold();
+            recording.enable("me.gregorgott.tonojip.Write").withoutThreshold();
+            recording.enable("me.gregorgott.tonojip.Reload").withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        return RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().startsWith("me.gregorgott.tonojip."))
+                .toList();
+    }
+
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    @Test
+    void parseAndWrite(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("test.ini"), CONTENT);
+
+        List<RecordedEvent> events = record(dir, () -> {
+            IniFile iniFile = IniFileReader.parse(file);
+            new IniFileWriter(new StringWriter()).write(iniFile);
+            IniFileWriter.write(iniFile, dir.resolve("copy.ini"));
+            assertThrowsExactly(FileSyntaxError.class, () -> new IniFileReader(new StringReader("invalid\n")).parse());
+        });
+
+        assertEquals(4, events.size());
+
+        RecordedEvent parse = events.getFirst();
+        assertEquals("me.gregorgott.tonojip.Parse", parse.getEventType().getName());
+        assertEquals(file.toString(), parse.getString("source"));
+        assertEquals(CONTENT.length(), parse.getLong("size"));
+        assertEquals(5, parse.getInt("lines"));
+        assertEquals(2, parse.getInt("sections"));
+        assertEquals(3, parse.getInt("pairs"));
+        assertNull(parse.getString("error"));
+
+        RecordedEvent write = events.get(1);
+        assertEquals("me.gregorgott.tonojip.Write", write.getEventType().getName());
+        assertEquals(StringWriter.class.getName(), write.getString("source"));
+        assertEquals(CONTENT.length(), write.getLong("size"));
+        assertEquals(3, write.getInt("pairs"));
+
+        RecordedEvent writePath = events.get(2);
+        assertEquals(dir.resolve("copy.ini").toString(), writePath.getString("source"));
+        assertEquals(CONTENT.length(), writePath.getLong("size"));
+
+        RecordedEvent failed = events.get(3);
+        assertEquals(StringReader.class.getName(), failed.getString("source"));
+        assertTrue(failed.getString("error").contains("invalid"));
+    }
+
+    @Test
+    void reload(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("test.ini"), CONTENT);
+
+        try (ReloadingIniFile reloading = new ReloadingIniFile(file)) {
+            List<RecordedEvent> events = record(dir, () -> {
+                Files.writeString(file, CONTENT + "[section3]\nkey3=value3\n");
+                reloading.reload();
+            }).stream().filter(e -> e.getEventType().getName().equals("me.gregorgott.tonojip.Reload")).toList();
+
+            // the watcher may reload the file as well
+            RecordedEvent reload = events.stream().filter(e -> e.getInt("addedSections") == 1).findFirst().orElseThrow();
+            assertEquals(file.toString(), reload.getString("source"));
+            assertEquals(1, reload.getInt("addedSections"));
+            assertEquals(0, reload.getInt("changedSections"));
+            assertFalse(reload.getBoolean("globalValuesChanged"));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalIniFileReaderTest {
+    private static final String INI = """
+            global=1
+
+            ; comment of a
+            [a]
+            key=1
+
+            [b]
+            ; comment of key
+            key=2
+
+            [c]
+            key=3
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void firstParseAddsAllSections() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI);
+        IniFileChanges changes = new IncrementalIniFileReader(path).parse();
+
+        assertTrue(changes.globalValuesChanged());
+        assertEquals(Set.of("a", "b", "c"), changes.addedSections());
+        assertTrue(changes.changedSections().isEmpty());
+        assertEquals(IniFileReader.parse(path).getSections(), changes.iniFile().getSections());
+        assertEquals(" comment of a", changes.iniFile().getSection("a").getComment());
+    }
+
+    @Test
+    void onlyChangedSectionsAreDecoded() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI);
+        IncrementalIniFileReader reader = new IncrementalIniFileReader(path);
+        IniFile first = reader.parse().iniFile();
+
+        Files.writeString(path, "global=1\n\n" + INI.substring(INI.indexOf(';')).replace("key=2", "key=20") + "[d]\nkey=4\n");
+        IniFileChanges changes = reader.parse();
+
+        assertFalse(changes.globalValuesChanged());
+        assertEquals(Set.of("b"), changes.changedSections());
+        assertEquals(Set.of("d"), changes.addedSections());
+        assertTrue(changes.removedSections().isEmpty());
+        assertSame(first.getGlobalValues(), changes.iniFile().getGlobalValues());
+        assertSame(first.getSection("a"), changes.iniFile().getSection("a"));
+        assertSame(first.getSection("c"), changes.iniFile().getSection("c"));
+        assertEquals("20", changes.iniFile().getValue("b", "key").getAsString());
+        assertEquals("2", first.getValue("b", "key").getAsString());
+        assertEquals(IniFileReader.parse(path).getSections(), changes.iniFile().getSections());
+
+        Files.writeString(path, "global=2\n[c]\nkey=3\n");
+        changes = reader.parse();
+
+        assertTrue(changes.globalValuesChanged());
+        assertEquals(Set.of("a", "b", "d"), changes.removedSections());
+        assertTrue(changes.hasChanges());
+
+        assertFalse(reader.parse().hasChanges());
+    }
+
+    @Test
+    void sectionCommentChangesSection() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI);
+        IncrementalIniFileReader reader = new IncrementalIniFileReader(path);
+        reader.parse();
+
+        Files.writeString(path, INI.replace("comment of a", "new comment of a"));
+        IniFileChanges changes = reader.parse();
+
+        assertEquals(Set.of("a"), changes.changedSections());
+        assertEquals(" new comment of a", changes.iniFile().getSection("a").getComment());
+    }
+
+    @Test
+    void failedParseKeepsState() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI);
+        IncrementalIniFileReader reader = new IncrementalIniFileReader(path);
+        IniFile first = reader.parse().iniFile();
+
+        Files.writeString(path, INI.replace("key=3", "key3"));
+        FileSyntaxError error = assertThrows(FileSyntaxError.class, reader::parse);
+        assertEquals(12, error.getLineNumber());
+        assertSame(first, reader.getIniFile());
+
+        Files.writeString(path, INI.replace("key=3", "key=30"));
+        assertEquals(Set.of("c"), reader.parse().changedSections());
+    }
+
+    @Test
+    void duplicateSectionsAreValidated() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI + "[a]\nkey=5\n");
+        IncrementalIniFileReader reader = new IncrementalIniFileReader(path);
+        assertEquals("5", reader.parse().iniFile().getValue("a", "key").getAsString());
+
+        Files.writeString(path, INI.replace("key=1", "key") + "[a]\nkey=5\n");
+        assertThrows(FileSyntaxError.class, reader::parse);
+    }
+
+    @Test
+    void duplicateSectionKeepsFirstPosition() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), "g=1\n[a]\nkey=1\n[b]\nkey=2\n[a]\nkey=3\n[c]\nkey=4\n");
+        IncrementalIniFileReader reader = new IncrementalIniFileReader(path);
+        assertSameAsParse(path, reader.parse().iniFile());
+
+        Files.writeString(path, "g=1\n[a]\nkey=1\n[b]\nkey=2\n[a]\nkey=30\n[c]\nkey=4\n");
+        IniFileChanges changes = reader.parse();
+        assertEquals(Set.of("a"), changes.changedSections());
+        assertSameAsParse(path, changes.iniFile());
+    }
+
+    private static void assertSameAsParse(Path path, IniFile iniFile) throws IOException {
+        IniFile parsed = IniFileReader.parse(path);
+        assertEquals(List.copyOf(parsed.getSections().keySet()), List.copyOf(iniFile.getSections().keySet()));
+        assertEquals(parsed.getSections(), iniFile.getSections());
+        assertEquals(parsed.getGlobalValues(), iniFile.getGlobalValues());
+    }
+}
@@ -0,0 +1,193 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.exceptions.KeyNullException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IniDocumentTest {
+    private static final String INI = """
+            ; global comment
+            global = 1
+
+            # comment of server
+            [server]
+            host   =  localhost   \s
+            timeout=10
+            empty=
+
+            ; comment of client
+            [client]
+            name=äöü
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void unchangedDocumentIsLossless() {
+        IniDocument document = IniDocument.parse(INI);
+
+        assertEquals(INI, document.toString());
+        assertFalse(document.isModified());
+        assertEquals("localhost", document.get("server", "host"));
+        assertNull(document.get("server", "empty"));
+        assertEquals("äöü", document.get("client", "name"));
+        assertEquals("1", document.get(null, "global"));
+        assertNull(document.get("missing", "host"));
+    }
+
+    @Test
+    void changeValuesInPlace() {
+        IniDocument document = IniDocument.parse(INI);
+        document.set("server", "host", "example.org");
+        document.set("server", "empty", "now set");
+        document.set(null, "global", null);
+
+        assertTrue(document.isModified());
+        assertEquals(INI.replace("localhost", "example.org").replace("empty=", "empty=now set").replace("global = 1", "global = "),
+                document.toString());
+        assertEquals("example.org", document.get("server", "host"));
+    }
+
+    @Test
+    void addKeysAndSections() {
+        IniDocument document = IniDocument.parse(INI);
+        document.set("server", "port", "8080");
+        document.set(null, "added", "2");
+        document.set("new", "key", "value");
+        document.set("new", "key", "other");
+
+        assertEquals("""
+                ; global comment
+                global = 1
+                added=2
+
+                # comment of server
+                [server]
+                host   =  localhost   \s
+                timeout=10
+                empty=
+                port=8080
+
+                ; comment of client
+                [client]
+                name=äöü
+                [new]
+                key=other
+                """, document.toString());
+        assertEquals("8080", document.get("server", "port"));
+        assertEquals(" comment of client", document.toIniFile().getSection("client").getComment());
+        assertEquals("other", document.toIniFile().getValue("new", "key").getAsString());
+    }
+
+    @Test
+    void keepsLineSeparatorAndMissingTerminator() {
+        IniDocument document = IniDocument.parse("[a]\r\nkey=1");
+        document.set("a", "other", "2");
+        document.set("b", "key", "3");
+
+        assertEquals("[a]\r\nkey=1\r\nother=2\r\n[b]\r\nkey=3\r\n", document.toString());
+    }
+
+    @Test
+    void duplicatesChangeEffectiveOccurrence() {
+        IniDocument document = IniDocument.parse("[a]\nkey=1\nkey=2\n[a]\nkey=3\n");
+        document.set("a", "key", "4");
+
+        assertEquals("[a]\nkey=1\nkey=2\n[a]\nkey=4\n", document.toString());
+    }
+
+    @Test
+    void invalidChanges() {
+        IniDocument document = IniDocument.parse(INI);
+
+        assertThrows(KeyNullException.class, () -> document.set("server", " ", "1"));
+        assertThrows(IllegalArgumentException.class, () -> document.set("server", "a=b", "1"));
+        assertThrows(IllegalArgumentException.class, () -> document.set("server", "key", "line\nbreak"));
+        assertThrows(IllegalArgumentException.class, () -> document.set("server", "key", " padded"));
+        assertThrows(IllegalArgumentException.class, () -> document.set("[new]", "key", "1"));
+        assertThrows(IllegalArgumentException.class, () -> document.set(".child", "key", "1"));
+        assertFalse(document.isModified());
+    }
+
+    @Test
+    void invalidSource() {
+        assertThrows(FileSyntaxError.class, () -> IniDocument.parse("[a]\nno assignment\n"));
+        assertThrows(KeyNullException.class, () -> IniDocument.parse("=value\n"));
+    }
+
+    @Test
+    void saveSameLength() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI);
+        IniDocument document = IniDocument.load(path);
+        document.set("server", "timeout", "99");
+        document.save();
+
+        assertEquals(INI.replace("timeout=10", "timeout=99"), Files.readString(path));
+        assertFalse(document.isModified());
+        assertEquals("99", document.get("server", "timeout"));
+
+        // the patched document is used for the next saves
+        document.set("server", "timeout", "42");
+        document.set("client", "name", "öäü");
+        document.save();
+
+        String expected = INI.replace("timeout=10", "timeout=42").replace("name=äöü", "name=öäü");
+        assertEquals(expected, Files.readString(path));
+        assertEquals(expected, document.toString());
+        assertEquals("öäü", document.get("client", "name"));
+
+        document.set("server", "port", "8080");
+        document.save();
+        assertEquals(expected.replace("empty=\n", "empty=\nport=8080\n"), Files.readString(path));
+        assertEquals(IniFileReader.parse(path).getSections(), document.toIniFile().getSections());
+    }
+
+    @Test
+    void saveDifferentLength() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI);
+        IniDocument document = IniDocument.load(path);
+        document.set("server", "timeout", "1");
+        document.set("client", "name", "Anna Appleseed");
+        document.save();
+
+        String expected = INI.replace("timeout=10", "timeout=1").replace("name=äöü", "name=Anna Appleseed");
+        assertEquals(expected, Files.readString(path));
+
+        document.set("server", "host", "h");
+        document.save();
+        assertEquals(expected.replace("localhost", "h"), Files.readString(path));
+        assertEquals(IniFileReader.parse(path).getSections(), document.toIniFile().getSections());
+    }
+
+    @Test
+    void saveRejectsChangedFile() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), INI);
+        IniDocument document = IniDocument.load(path);
+        Files.writeString(path, INI + "[other]\n");
+        document.set("server", "timeout", "99");
+
+        assertThrows(IOException.class, document::save);
+        assertThrows(IllegalStateException.class, () -> IniDocument.parse(INI).save());
+    }
+
+    @Test
+    void writeTo() throws IOException {
+        IniDocument document = IniDocument.parse(INI);
+        document.set("client", "name", "x");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.writeTo(Channels.newChannel(out));
+
+        assertEquals(INI.replace("name=äöü", "name=x"), out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IniEventReaderTest {
+    private static final String INI = """
+            global=1
+            
+            ; comment
+            [section1]
+            key1 = value1
+            key2=
+            key3= \s
+            [sectiön2]\r
+            key4=äöü\r
+            """;
+
+    private static final List<String> EVENTS = List.of(
+            "1 KEY_VALUE global=1",
+            "3 COMMENT  comment",
+            "4 SECTION_START section1",
+            "5 KEY_VALUE key1=value1",
+            "6 KEY_VALUE key2=null",
+            "7 KEY_VALUE key3=",
+            "8 SECTION_START sectiön2",
+            "9 KEY_VALUE key4=äöü",
+            "9 END");
+
+    private static List<String> readEvents(IniEventReader reader) throws IOException {
+        List<String> events = new ArrayList<>();
+        IniEvent event;
+
+        do {
+            event = reader.next();
+            String text = switch (event) {
+                case SECTION_START -> " " + reader.getSectionName();
+                case COMMENT -> " " + reader.getComment();
+                case KEY_VALUE -> " " + reader.getKey() + "=" + reader.getValue();
+                case END -> "";
+            };
+            events.add(reader.getLineNumber() + " " + event + text);
+        } while (event != IniEvent.END);
+
+        return events;
+    }
+
+    @Test
+    void readEventsFromReader() throws IOException {
+        try (IniEventReader reader = new IniEventReader(new StringReader(INI))) {
+            assertEquals(EVENTS, readEvents(reader));
+            assertEquals(IniEvent.END, reader.next());
+        }
+    }
+
+    @Test
+    void readEventsFromPath(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("test.ini"), INI, StandardCharsets.UTF_8);
+
+        try (IniEventReader reader = new IniEventReader(file)) {
+            assertEquals(EVENTS, readEvents(reader));
+        }
+    }
+
+    @Test
+    void readLinesLongerThanBuffer() throws IOException {
+        String value = "x".repeat(20_000);
+        // a reader that returns a few characters per call, so lines and "\r\n" are split across reads
+        Reader in = new StringReader("key1=" + value + "\r\nkey2=" + value + "\r\n") {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 7));
+            }
+        };
+
+        try (IniEventReader reader = new IniEventReader(in)) {
+            assertEquals(IniEvent.KEY_VALUE, reader.next());
+            assertEquals(value, reader.getValue().toString());
+            assertEquals(IniEvent.KEY_VALUE, reader.next());
+            assertEquals("key2", reader.getKey().toString());
+            assertEquals(2, reader.getLineNumber());
+            assertEquals(IniEvent.END, reader.next());
+        }
+    }
+
+    @Test
+    void readInvalidLine() {
+        IniEventReader reader = new IniEventReader(new StringReader("[section1]\ninvalid_line\n"));
+
+        assertDoesNotThrow(reader::next);
+        FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class, reader::next);
+        assertEquals("Error in line 2: 'invalid_line'", error.getMessage());
+    }
+}
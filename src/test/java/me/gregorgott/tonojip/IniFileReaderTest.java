@@ -1,6 +1,17 @@
 package me.gregorgott.tonojip;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -8,10 +19,12 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import me.gregorgott.tonojip.exceptions.FileSyntaxError;
 import me.gregorgott.tonojip.iniobjects.IniFile;
 import me.gregorgott.tonojip.iniobjects.Key;
+import me.gregorgott.tonojip.iniobjects.Section;
 
 class IniFileReaderTest {
 
@@ -185,4 +198,193 @@ class IniFileReaderTest {
             iniFileReader.close();
         });
     }
+
+    @Test
+    void parsePathEqualsParseReader(@TempDir Path dir) throws IOException {
+        String s = """
+                global=1
+                ; comment of section1
+                [section1]
+                # comment of key1
+                key1 = value1\r
+                key2=
+                key3= \r
+                
+                [section2]\r
+                key4=äöü = ß
+                ; überschrift
+                [sectiön3]
+                key5=value5""";
+        Path file = Files.writeString(dir.resolve("test.ini"), s, StandardCharsets.UTF_8);
+
+        IniFile expected = new IniFileReader(new StringReader(s)).parse();
+        IniFile actual = IniFileReader.parse(file);
+
+        assertEquals(expected.getGlobalValues(), actual.getGlobalValues());
+        assertEquals(expected.getSections(), actual.getSections());
+        assertEquals("value1", actual.getSections().get("section1").getPairMap().get(new Key("key1")).getAsString());
+        assertNull(actual.getSections().get("section1").getPairMap().get(new Key("key2")).getAsString());
+        assertEquals("", actual.getSections().get("section1").getPairMap().get(new Key("key3")).getAsString());
+        assertEquals("äöü = ß", actual.getSections().get("section2").getPairMap().get(new Key("key4")).getAsString());
+
+        for (String name : expected.getSections().keySet()) {
+            Section section = actual.getSections().get(name);
+            assertEquals(expected.getSections().get(name).getComment(), section.getComment());
+        }
+
+        assertEquals(" überschrift", actual.getSections().get("sectiön3").getComment());
+    }
+
+    @Test
+    void parsePathWithInvalidSyntax(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("test.ini"), "[section1]\nkey1=value1\ninvalid_line\n");
+
+        FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class, () -> IniFileReader.parse(file));
+        assertEquals("Error in line 3: 'invalid_line'", error.getMessage());
+        assertThrowsExactly(FileSyntaxError.class, () -> IniFileReader.parse(Files.writeString(file, "[.child]\n")));
+    }
+
+    @Test
+    void parseEmptyPath(@TempDir Path dir) throws IOException {
+        IniFile iniFile = IniFileReader.parse(Files.createFile(dir.resolve("empty.ini")));
+        assertTrue(iniFile.getSections().isEmpty());
+        assertTrue(iniFile.getGlobalValues().isEmpty());
+    }
+
+    private static String write(IniFile iniFile) throws IOException {
+        StringWriter writer = new StringWriter();
+        new IniFileWriter(writer).write(iniFile);
+        return writer.toString();
+    }
+
+    @Test
+    void parseLazyEqualsParse(@TempDir Path dir) throws IOException {
+        String s = """
+                global=1
+                # comment of section0
+                
+                ; second line
+                [section0]
+                [section1]
+                # comment of key1
+                key1 = value1
+                key2=
+                ; trailing comment
+                [section2]
+                key3=äöü
+                [section1]
+                key4=replaces the first section1
+                # dropped comment
+                """;
+        Path file = Files.writeString(dir.resolve("test.ini"), s, StandardCharsets.UTF_8);
+        IniFile eager = new IniFileReader(new StringReader(s)).parse();
+        String expected = write(eager);
+
+        IniFileReader reader = new IniFileReader(new StringReader(s));
+        reader.setLazy(true);
+        assertEquals(expected, write(reader.parse()));
+
+        IniFileReader pathReader = new IniFileReader(file);
+        pathReader.setLazy(true);
+        IniFile iniFile = pathReader.parse();
+        assertEquals(eager.getSections(), iniFile.getSections());
+        assertEquals(iniFile.getSections(), eager.getSections());
+        assertEquals(eager.getSections().hashCode(), iniFile.getSections().hashCode());
+        assertEquals(" comment of section0 second line", iniFile.getSections().get("section0").getComment());
+        assertEquals(" trailing comment", iniFile.getSections().get("section2").getComment());
+        assertEquals(expected, write(iniFile));
+    }
+
+    @Test
+    void parseLazyDecodesSectionsOnAccess() throws IOException {
+        String s = """
+                [section1]
+                key1=value1
+                [section2]
+                invalid_line
+                """;
+
+        IniFileReader reader = new IniFileReader(new StringReader(s));
+        reader.setLazy(true);
+        IniFile iniFile = reader.parse();
+
+        assertEquals("value1", iniFile.getSections().get("section1").getPairMap().get(new Key("key1")).getAsString());
+        FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class, () -> iniFile.getSections().get("section2").getPairMap());
+        assertEquals("Error in line 4: 'invalid_line'", error.getMessage());
+    }
+
+    private static String generateSections(int count) {
+        StringBuilder sb = new StringBuilder("global1=1\n; global comment\nglobal2=2\n");
+
+        for (int i = 0; i < count; i++) {
+            sb.append(i % 3 == 0 ? "# comment of section" + i + "\n\n; second line\r\n" : "");
+            sb.append('[').append("section").append(i % 50).append("]\n");
+            sb.append("; key comment\nkey").append(i).append(" = value").append(i).append("\r\n");
+            sb.append("sektion=").append(i).append("äöü\n\n");
+        }
+
+        return sb.toString();
+    }
+
+    @Test
+    void parseParallelEqualsParse(@TempDir Path dir) throws IOException {
+        String s = generateSections(500);
+        Path file = Files.writeString(dir.resolve("test.ini"), s, StandardCharsets.UTF_8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            IniFile iniFile = new ParallelParser(pool, true, 256).parse(channel);
+            assertEquals(write(new IniFileReader(new StringReader(s)).parse()), write(iniFile));
+        } finally {
+            pool.shutdown();
+        }
+
+        List<IniStats> stats = new ArrayList<>();
+        IniFileReader sequential = new IniFileReader(file);
+        sequential.setListener(stats::add);
+        IniFile expected = sequential.parse();
+
+        AtomicInteger threads = new AtomicInteger();
+        ForkJoinPool countingPool = new ForkJoinPool(4, p -> {
+            threads.incrementAndGet();
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+        }, null, false);
+
+        try {
+            IniFileReader reader = new IniFileReader(file);
+            reader.setParallel(countingPool);
+            reader.setMinChunkSize(256);
+            reader.setListener(stats::add);
+            assertEquals(write(expected), write(reader.parse()));
+        } finally {
+            countingPool.shutdown();
+        }
+
+        // the file was split and parsed on the pool, with the same figures as the sequential parse
+        assertTrue(threads.get() > 0);
+        assertEquals(2, stats.size());
+        assertEquals(figures(stats.get(0)), figures(stats.get(1)));
+    }
+
+    private static List<Object> figures(IniStats stats) {
+        return List.of(stats.size(), stats.lines(), stats.sections(), stats.pairs(), stats.comments());
+    }
+
+    @Test
+    void parseParallelWithInvalidSyntax(@TempDir Path dir) throws IOException {
+        String s = generateSections(500);
+        int lineNum = (int) s.lines().count() - 20;
+        s = s.lines().limit(lineNum - 1).reduce("", (a, b) -> a + b + "\n") + "invalid_line\n" + s;
+        Path file = Files.writeString(dir.resolve("test.ini"), s, StandardCharsets.UTF_8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ParallelParser parser = new ParallelParser(pool, true, 256);
+            FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class, () -> parser.parse(channel));
+            assertEquals(lineNum, error.getLineNumber());
+            assertEquals("invalid_line", error.getLine());
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
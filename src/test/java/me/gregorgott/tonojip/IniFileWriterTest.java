@@ -2,16 +2,66 @@ package me.gregorgott.tonojip;
 
 import me.gregorgott.tonojip.iniobjects.IniFile;
 import me.gregorgott.tonojip.iniobjects.Key;
+import me.gregorgott.tonojip.iniobjects.KeyValuePairMap;
 import me.gregorgott.tonojip.iniobjects.Section;
 import me.gregorgott.tonojip.iniobjects.Value;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class IniFileWriterTest {
+    @TempDir
+    Path dir;
+
+    private static IniFile createIniFile(int sections, int keys) {
+        IniFile iniFile = new IniFile();
+        iniFile.getGlobalValues().put(new Key("global"), new Value("äöü"));
+
+        for (int s = 0; s < sections; s++) {
+            Section section = new Section(s % 3 == 0 ? "comment " + s : null);
+
+            for (int k = 0; k < keys; k++) {
+                section.getPairMap().put(new Key("key" + k), new Value(s + "." + k));
+            }
+
+            iniFile.getSections().put("section" + s, section);
+        }
+
+        return iniFile;
+    }
+
+    private static String toString(IniFile iniFile) throws IOException {
+        StringWriter writer = new StringWriter();
+        new IniFileWriter(writer).write(iniFile);
+        return writer.toString();
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
     @Test
     void writeIniFileWithGlobalValues() throws IOException {
         IniFile iniFile = new IniFile();
@@ -40,6 +90,14 @@ class IniFileWriterTest {
         assertEquals("[section1]\nkey1=value1\n", writer.toString());
     }
 
+    @Test
+    void writeInParsedOrder() throws IOException {
+        String content = "zeta=1\nalpha=2\n[section9]\nport=80\nhost=localhost\n[section1]\nkey=value\n";
+        IniFile iniFile = new IniFileReader(new StringReader(content)).parse();
+
+        assertEquals(content, toString(iniFile));
+    }
+
     @Test
     void writeIniFileWithComments() throws IOException {
         IniFile iniFile = new IniFile();
@@ -86,4 +144,202 @@ class IniFileWriterTest {
 
         assertEquals("[section1]\nkey1=value1\n\n", writer.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void writeCommentsWithLineBreaksAndTrimmedSectionNames() throws IOException {
+        IniFile iniFile = new IniFile();
+        Section section = new Section("first\nsecond\n");
+        Key key = new Key("key1");
+        key.setComment("\n\n");
+        section.getPairMap().put(key, Value.EMPTY_VALUE);
+        iniFile.getSections().put(" \tsection1 ", section);
+        StringWriter writer = new StringWriter();
+        IniFileWriter iniFileWriter = new IniFileWriter(writer);
+
+        iniFileWriter.write(iniFile);
+        iniFileWriter.close();
+
+        assertEquals("# firstsecond\n[section1]\nkey1=null\n", writer.toString());
+    }
+
+    @Test
+    void writeMoreThanBufferSize() throws IOException {
+        IniFile iniFile = new IniFile();
+        StringBuilder expected = new StringBuilder();
+        String longValue = "v".repeat(3 * WriteBuffer.DEFAULT_CAPACITY);
+        iniFile.getGlobalValues().put(new Key("long"), new Value(longValue));
+        expected.append("long=").append(longValue).append('\n');
+
+        for (int i = 0; i < 2000; i++) {
+            Section section = new Section();
+            section.getPairMap().put(new Key("key"), new Value(Integer.toString(i)));
+            iniFile.getSections().put("section" + i, section);
+        }
+
+        iniFile.getSections().forEach((name, section) -> expected.append('[').append(name).append("]\nkey=")
+                .append(section.getPairMap().get("key")).append('\n'));
+
+        StringWriter writer = new StringWriter();
+        IniFileWriter iniFileWriter = new IniFileWriter(writer);
+
+        iniFileWriter.write(iniFile);
+        assertEquals(expected.toString(), writer.toString());
+
+        iniFileWriter.write(iniFile);
+        iniFileWriter.close();
+        assertEquals(expected.toString().repeat(2), writer.toString());
+    }
+
+    @Test
+    void writeAgainAfterFailedWrite() throws IOException {
+        StringWriter content = new StringWriter();
+        boolean[] fail = {true};
+        Writer out = new Writer() {
+            @Override
+            public void write(char[] chars, int offset, int length) throws IOException {
+                if (fail[0]) {
+                    throw new IOException("disk full");
+                }
+
+                content.write(chars, offset, length);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        IniFileWriter writer = new IniFileWriter(out);
+        IniFile failed = new IniFile();
+        failed.getGlobalValues().put(new Key("stale"), new Value("1"));
+
+        assertThrows(IOException.class, () -> writer.write(failed));
+
+        fail[0] = false;
+        KeyValuePairMap throwing = new KeyValuePairMap() {
+            @Override
+            public void forEach(BiConsumer<? super Key, ? super Value> action) {
+                super.forEach(action);
+                throw new IllegalStateException("changed while writing");
+            }
+        };
+        throwing.put(new Key("partial"), new Value("2"));
+        assertThrows(IllegalStateException.class, () -> writer.write(new IniFile(throwing)));
+
+        IniFile iniFile = new IniFile();
+        iniFile.getGlobalValues().put(new Key("key1"), new Value("value1"));
+        writer.write(iniFile);
+
+        assertEquals("key1=value1\n", content.toString());
+    }
+
+    @Test
+    void writeToPath() throws IOException {
+        IniFile iniFile = createIniFile(10, 10);
+        Path path = dir.resolve("config.ini");
+
+        IniFileWriter.write(iniFile, path);
+        assertEquals(toString(iniFile), Files.readString(path, StandardCharsets.UTF_8));
+
+        IniFile changed = createIniFile(2, 2);
+        IniFileWriter.write(changed, path);
+        assertEquals(toString(changed), Files.readString(path, StandardCharsets.UTF_8));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void writeToPathKeepsPermissions() throws IOException {
+        Path path = dir.resolve("secrets.ini");
+        Files.writeString(path, "old");
+        assumeTrue(Files.getFileStore(path).supportsFileAttributeView(PosixFileAttributeView.class));
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-------");
+        Files.setPosixFilePermissions(path, permissions);
+
+        IniFileWriter.write(createIniFile(1, 1), path);
+
+        assertEquals(permissions, Files.getPosixFilePermissions(path));
+        assertEquals(toString(createIniFile(1, 1)), Files.readString(path, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeToSymbolicLink() throws IOException {
+        Path real = Files.writeString(dir.resolve("real.ini"), "old");
+        Path link = dir.resolve("link.ini");
+
+        try {
+            Files.createSymbolicLink(link, real.getFileName());
+        } catch (UnsupportedOperationException | IOException e) {
+            assumeTrue(false, "symbolic links are not supported");
+        }
+
+        IniFile iniFile = createIniFile(1, 1);
+        IniFileWriter.write(iniFile, link);
+
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals(toString(iniFile), Files.readString(real, StandardCharsets.UTF_8));
+        assertEquals(2, countFiles());
+    }
+
+    @Test
+    void writeToPathInParallel() throws IOException {
+        IniFile iniFile = createIniFile(500, 7);
+        Path path = dir.resolve("config.ini");
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            new ParallelWriter(pool, 64).write(iniFile, path);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(toString(iniFile), Files.readString(path, StandardCharsets.UTF_8));
+        assertEquals(1, countFiles());
+    }
+
+    @Test
+    void writeToPathEncodesUtf8() throws IOException {
+        IniFile iniFile = new IniFile();
+        iniFile.getGlobalValues().put(new Key("long"), new Value("ä😀".repeat(3 * ByteBufferWriter.CHUNK_SIZE)));
+        iniFile.getGlobalValues().put(new Key("unpaired"), new Value("a\uD83Db\uDE00c\uD83D"));
+
+        for (int i = 0; i < 5000; i++) {
+            // surrogate pairs at all positions, so some are split between two flushes of the buffer
+            iniFile.getGlobalValues().put(new Key("key" + i), new Value("x".repeat(i % 5) + "😀".repeat(i % 3)));
+        }
+
+        Path path = dir.resolve("config.ini");
+        IniFileWriter.write(iniFile, path);
+
+        assertArrayEquals(toString(iniFile).getBytes(StandardCharsets.UTF_8), Files.readAllBytes(path));
+    }
+
+    @Test
+    void encodeSplitSurrogatePairs() {
+        ByteBufferWriter writer = new ByteBufferWriter();
+        String[] parts = {"a\uD83D", "\uDE00b", "\uD83D", "\uD83D\uDE00", "\uDE00", "", "\uD83D"};
+
+        for (String part : parts) {
+            writer.write(part, 0, part.length());
+        }
+
+        ByteBuffer[] buffers = writer.toByteBuffers();
+        ByteBuffer bytes = ByteBuffer.allocate(64);
+
+        for (ByteBuffer buffer : buffers) {
+            bytes.put(buffer);
+        }
+
+        assertArrayEquals(String.join("", parts).getBytes(StandardCharsets.UTF_8), Arrays.copyOf(bytes.array(), bytes.position()));
+    }
+
+    @Test
+    void writeToMissingDirectory() {
+        Path path = dir.resolve("missing").resolve("config.ini");
+
+        assertThrows(NoSuchFileException.class, () -> IniFileWriter.write(createIniFile(1, 1), path));
+        assertFalse(Files.exists(path));
+    }
+}
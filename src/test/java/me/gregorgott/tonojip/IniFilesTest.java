@@ -0,0 +1,122 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IniFilesTest {
+    @Test
+    void parseAll(@TempDir Path dir) throws Exception {
+        List<Path> paths = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            paths.add(Files.writeString(dir.resolve(i + ".ini"), "# tenant\nid=" + i + "\n[server]\nport=" + (8000 + i) + "\n"));
+        }
+
+        IniFiles.Result result = IniFiles.parseAll(paths, 8);
+
+        assertFalse(result.hasErrors());
+        assertEquals(paths, List.copyOf(result.iniFiles().keySet()));
+
+        for (int i = 0; i < 500; i++) {
+            IniFile iniFile = result.iniFiles().get(paths.get(i));
+            assertEquals(i, iniFile.getValue("id").getAsInt());
+            assertEquals(8000 + i, iniFile.getValue("server", "port").getAsInt());
+        }
+    }
+
+    @Test
+    void errorsDoNotFailTheBatch(@TempDir Path dir) throws Exception {
+        Path valid = Files.writeString(dir.resolve("valid.ini"), "key=value\n");
+        Path invalid = Files.writeString(dir.resolve("invalid.ini"), "[section]\nkey=value\ninvalid_line\n");
+        Path missing = dir.resolve("missing.ini");
+
+        IniFiles.Result result = IniFiles.parseAll(List.of(invalid, valid, missing));
+
+        assertTrue(result.hasErrors());
+        assertEquals("value", result.iniFiles().get(valid).getValue("key").getAsString());
+        assertEquals(List.of(invalid, missing), List.copyOf(result.errors().keySet()));
+
+        FileSyntaxError error = assertInstanceOf(FileSyntaxError.class, result.errors().get(invalid));
+        assertEquals(invalid, error.getPath());
+        assertEquals(3, error.getLineNumber());
+        assertEquals("Error in line 3: 'invalid_line'", error.getMessage());
+        assertInstanceOf(NoSuchFileException.class, result.errors().get(missing));
+    }
+
+    @Test
+    void limitsConcurrency(@TempDir Path dir) throws Exception {
+        List<Path> paths = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            paths.add(Files.writeString(dir.resolve(i + ".ini"), "key=" + i + "\n"));
+        }
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        IniFiles.Result result = IniFiles.parseAll(paths, 3, reader -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+
+            reader.setParseComments(false);
+        });
+
+        assertEquals(50, result.iniFiles().size());
+        assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    void invalidConcurrency() {
+        assertThrowsExactly(IllegalArgumentException.class, () -> IniFiles.parseAll(List.of(), 0));
+    }
+
+    @Test
+    void parsePathErrorHasPath(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("test.ini"), "[.child]\n");
+        FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class, () -> IniFileReader.parse(file));
+        assertEquals(file, error.getPath());
+        assertEquals(file, error.withLineOffset(2).getPath());
+    }
+
+    @Test
+    void errorWithPathIsSerializable(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("test.ini"), "[.child]\n");
+        FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class, () -> IniFileReader.parse(file));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(error);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            FileSyntaxError copy = (FileSyntaxError) in.readObject();
+            assertEquals(file, copy.getPath());
+            assertEquals(error.getLineNumber(), copy.getLineNumber());
+            assertEquals(error.getMessage(), copy.getMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IniMetricsTest {
+    private static final String CONTENT = """
+            # global comment
+            global=1
+
+            ; comment of section1
+            [section1]
+            key1=äöü
+            key2=
+            [section2]
+            # comment of key3
+            key3=value3
+            """;
+
+    @Test
+    void parseStats(@TempDir Path dir) throws IOException {
+        List<IniStats> stats = new ArrayList<>();
+        Path file = Files.writeString(dir.resolve("test.ini"), CONTENT, StandardCharsets.UTF_8);
+
+        IniFileReader reader = new IniFileReader(new StringReader(CONTENT));
+        reader.setListener(stats::add);
+        reader.parse();
+
+        IniStats parse = stats.getFirst();
+        assertEquals(IniStats.Operation.PARSE, parse.operation());
+        assertNull(parse.path());
+        assertEquals(CONTENT.length(), parse.size());
+        assertEquals(10, parse.lines());
+        assertEquals(2, parse.sections());
+        assertEquals(4, parse.pairs());
+        assertEquals(3, parse.comments());
+        assertTrue(parse.nanos() > 0);
+        assertNull(parse.error());
+
+        IniFileReader pathReader = new IniFileReader(file);
+        pathReader.setListener(stats::add);
+        pathReader.parse();
+        assertEquals(new IniStats(IniStats.Operation.PARSE, file, CONTENT.getBytes(StandardCharsets.UTF_8).length,
+                10, 2, 4, 3, 0, stats.get(1).nanos(), null), stats.get(1));
+
+        pathReader.setLazy(true);
+        pathReader.parse();
+        IniStats lazy = stats.get(2);
+        assertEquals(-1, lazy.lines());
+        assertEquals(2, lazy.sections());
+        assertEquals(1, lazy.pairs());
+        assertEquals(1, lazy.comments());
+    }
+
+    @Test
+    void syntaxError() {
+        List<IniStats> stats = new ArrayList<>();
+        IniFileReader reader = new IniFileReader(new StringReader("key=value\n\ninvalid_line\n"));
+        reader.setListener(stats::add);
+
+        FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class, reader::parse);
+        assertSame(error, stats.getFirst().error());
+        assertTrue(stats.getFirst().isSyntaxError());
+        assertEquals(3, stats.getFirst().lines());
+        assertEquals(1, stats.getFirst().syntaxErrors());
+    }
+
+    @Test
+    void lenientSyntaxErrors() throws IOException {
+        IniMetrics metrics = new IniMetrics();
+        List<IniStats> stats = new ArrayList<>();
+        Diagnostics diagnostics = new Diagnostics();
+
+        for (int i = 0; i < 2; i++) {
+            IniFileReader reader = new IniFileReader(new StringReader("invalid\nkey=value\n[section\ninvalid\n"));
+            reader.setListener(event -> {
+                stats.add(event);
+                metrics.onOperation(event);
+            });
+            reader.parseLenient(diagnostics);
+        }
+
+        assertEquals(6, diagnostics.size());
+        assertEquals(3, stats.get(0).syntaxErrors());
+        assertEquals(3, stats.get(1).syntaxErrors());
+        assertNull(stats.get(1).error());
+        assertEquals(6, metrics.getSyntaxErrors());
+        assertEquals(0, metrics.getParseErrors());
+    }
+
+    @Test
+    void writeStats() throws IOException {
+        IniFile iniFile = new IniFileReader(new StringReader(CONTENT)).parse();
+        List<IniStats> stats = new ArrayList<>();
+        StringWriter out = new StringWriter();
+        IniFileWriter writer = new IniFileWriter(out);
+        writer.setListener(stats::add);
+        writer.setNewlineAtSection(true);
+        writer.write(iniFile);
+
+        IniStats write = stats.getFirst();
+        assertEquals(IniStats.Operation.WRITE, write.operation());
+        assertEquals(out.toString().length(), write.size());
+        assertEquals(out.toString().split("\n", -1).length - 1, write.lines());
+        assertEquals(2, write.sections());
+        assertEquals(4, write.pairs());
+        assertEquals(3, write.comments());
+    }
+
+    @Test
+    void metrics() throws IOException {
+        IniMetrics metrics = new IniMetrics();
+        IniFileReader reader = new IniFileReader(new StringReader(CONTENT));
+        reader.setListener(metrics);
+        assertSame(metrics, reader.getListener());
+        IniFile iniFile = reader.parse();
+
+        IniFileReader invalid = new IniFileReader(new StringReader("invalid_line\n"));
+        invalid.setListener(metrics);
+        assertThrowsExactly(FileSyntaxError.class, invalid::parse);
+
+        IniFileWriter writer = new IniFileWriter(new StringWriter());
+        writer.setListener(metrics);
+        writer.write(iniFile);
+        writer.write(iniFile);
+
+        assertEquals(2, metrics.getParses());
+        assertEquals(1, metrics.getParseErrors());
+        assertEquals(1, metrics.getSyntaxErrors());
+        assertEquals(CONTENT.length() + "invalid_line\n".length(), metrics.getBytesRead());
+        assertEquals(CONTENT.length(), metrics.getMaxBytesRead());
+        assertEquals(11, metrics.getLines());
+        assertEquals(2, metrics.getSections());
+        assertEquals(4, metrics.getPairs());
+        assertEquals(3, metrics.getComments());
+        assertTrue(metrics.getMaxParseNanos() > 0);
+        assertTrue(metrics.getParseNanos() >= metrics.getMaxParseNanos());
+        assertEquals(2, metrics.getWrites());
+        assertEquals(0, metrics.getWriteErrors());
+        assertTrue(metrics.getBytesWritten() > 0);
+        assertEquals(15, metrics.snapshot().size());
+        assertEquals(2, metrics.snapshot().get("write.count"));
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().values().stream().allMatch(v -> v == 0));
+    }
+}
@@ -0,0 +1,156 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.SubmissionPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IniPushParserTest {
+    private static final String CONTENT = "global=1\r\n"
+            + "# comment of section1\r\n"
+            + "\r\n"
+            + "[section1]\r"
+            + "key1 = äöü\r"
+            + "key2=\n"
+            + "; comment of key3\n"
+            + "key3= \n"
+            + "[sectiön2]\n"
+            + "key4=ß€𝄞\n"
+            + "[section1]\n"
+            + "key5=replaces the first section1";
+
+    private static String write(IniFile iniFile) throws IOException {
+        StringWriter writer = new StringWriter();
+        new IniFileWriter(writer).write(iniFile);
+        return writer.toString();
+    }
+
+    private static IniFile parseInChunks(byte[] bytes, int... splits) {
+        IniPushParser parser = new IniPushParser();
+        int start = 0;
+
+        for (int split : splits) {
+            parser.feed(ByteBuffer.wrap(bytes, start, split - start));
+            start = split;
+        }
+
+        parser.feed(ByteBuffer.wrap(bytes, start, bytes.length - start));
+        return parser.finish();
+    }
+
+    @Test
+    void everySplitEqualsParse() throws IOException {
+        String expected = write(new IniFileReader(new StringReader(CONTENT)).parse());
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(expected, write(parseInChunks(bytes)));
+
+        for (int i = 0; i <= bytes.length; i++) {
+            assertEquals(expected, write(parseInChunks(bytes, i)), "split at " + i);
+        }
+
+        int[] everyByte = new int[bytes.length];
+        Arrays.setAll(everyByte, i -> i);
+        assertEquals(expected, write(parseInChunks(bytes, everyByte)));
+    }
+
+    @Test
+    void reusedBuffer() throws IOException {
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        IniPushParser parser = new IniPushParser();
+        parser.setParseComments(false);
+        ByteBuffer buffer = ByteBuffer.allocate(7);
+
+        for (int i = 0; i < bytes.length; i += 7) {
+            buffer.clear().put(bytes, i, Math.min(7, bytes.length - i)).flip();
+            parser.feed(buffer);
+            assertFalse(buffer.hasRemaining());
+            Arrays.fill(buffer.array(), (byte) 'x');
+        }
+
+        IniFile iniFile = parser.finish();
+        assertNull(iniFile.getValue("section1", "key1"));
+        assertEquals("replaces the first section1", iniFile.getValue("section1", "key5").getAsString());
+        assertEquals("ß€𝄞", iniFile.getValue("sectiön2", "key4").getAsString());
+        assertEquals("", iniFile.getSection("sectiön2").getComment());
+        assertThrowsExactly(IllegalStateException.class, () -> parser.feed(ByteBuffer.allocate(1)));
+        assertThrowsExactly(IllegalStateException.class, parser::finish);
+    }
+
+    @Test
+    void handler() {
+        List<String> events = new ArrayList<>();
+        IniPushParser parser = new IniPushParser((event, p) -> events.add(switch (event) {
+            case SECTION_START -> p.getLineNumber() + " [" + p.getSectionName() + "]";
+            case COMMENT -> p.getLineNumber() + " #" + p.getComment();
+            case KEY_VALUE -> p.getLineNumber() + " " + p.getKey() + "=" + p.getValue();
+            case END -> "end";
+        }));
+
+        parser.feed(ByteBuffer.wrap("# c\n[sec".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of("1 # c"), events);
+        assertThrowsExactly(IllegalStateException.class, () -> parser.setParseComments(false));
+
+        parser.feed(ByteBuffer.wrap("tion]\r".getBytes(StandardCharsets.UTF_8)));
+        parser.feed(ByteBuffer.wrap("\nkey=value\n\nkey2=".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of("1 # c", "2 [section]", "3 key=value"), events);
+
+        assertNull(parser.finish());
+        assertEquals(List.of("1 # c", "2 [section]", "3 key=value", "5 key2=null", "end"), events);
+        assertEquals(5, parser.getLineNumber());
+    }
+
+    @Test
+    void syntaxErrorLineNumber() {
+        IniPushParser parser = new IniPushParser();
+        parser.feed(ByteBuffer.wrap("[section]\r\nkey=value\r".getBytes(StandardCharsets.UTF_8)));
+        parser.feed(ByteBuffer.wrap("\ninvalid".getBytes(StandardCharsets.UTF_8)));
+
+        FileSyntaxError error = assertThrowsExactly(FileSyntaxError.class,
+                () -> parser.feed(ByteBuffer.wrap("_line\n".getBytes(StandardCharsets.UTF_8))));
+        assertEquals("Error in line 3: 'invalid_line'", error.getMessage());
+    }
+
+    @Test
+    void subscriber() throws IOException {
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        IniSubscriber subscriber = new IniSubscriber();
+
+        try (SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+
+            for (int i = 0; i < bytes.length; i += 5) {
+                publisher.submit(ByteBuffer.wrap(bytes, i, Math.min(5, bytes.length - i)));
+            }
+        }
+
+        assertEquals(write(new IniFileReader(new StringReader(CONTENT)).parse()), write(subscriber.getResult().join()));
+    }
+
+    @Test
+    void subscriberWithInvalidLine() {
+        IniSubscriber subscriber = new IniSubscriber(new IniPushParser(), 1);
+
+        try (SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            publisher.submit(ByteBuffer.wrap("key=value\ninvalid\n".getBytes(StandardCharsets.UTF_8)));
+            publisher.submit(ByteBuffer.wrap("key2=value\n".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        CompletionException error = assertThrows(CompletionException.class, () -> subscriber.getResult().join());
+        assertInstanceOf(FileSyntaxError.class, error.getCause());
+        assertThrowsExactly(IllegalArgumentException.class, () -> new IniSubscriber(new IniPushParser(), 0));
+    }
+}
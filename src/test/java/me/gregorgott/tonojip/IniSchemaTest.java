@@ -0,0 +1,170 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.exceptions.SchemaValidationError;
+import me.gregorgott.tonojip.exceptions.SchemaValidationError.Violation;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IniSchemaTest {
+    @TempDir
+    Path dir;
+
+    private static IniSchema createSchema() {
+        IniSchema schema = new IniSchema();
+        schema.global().key("name").required();
+        schema.section("server").required().closed();
+        schema.section("server").key("port").required().type(IniSchema.Type.INT).range(1, 65535);
+        schema.section("server").key("mode").oneOf("dev", "prod");
+        schema.section("server").key("host").pattern("[a-z0-9.-]+");
+        schema.section("server").key("debug").type(IniSchema.Type.BOOLEAN);
+        schema.section("cache").key("ratio").type(IniSchema.Type.DOUBLE).range(0, 1);
+        schema.section("cache").key("size").type(IniSchema.Type.LONG);
+        schema.section("db").required();
+        return schema;
+    }
+
+    private static IniFile parse(IniSchema schema, String content) throws IOException {
+        IniFileReader reader = new IniFileReader(new StringReader(content));
+        reader.setSchema(schema);
+        return reader.parse();
+    }
+
+    @Test
+    void parseValidFile() throws IOException {
+        IniFile iniFile = parse(createSchema(), """
+                name=app
+                [server]
+                port=8080
+                mode=prod
+                host=example.org
+                debug=Yes
+                [cache]
+                ratio=0.75
+                size=-9223372036854775808
+                [db]
+                [other]
+                anything=goes
+                """);
+
+        assertEquals(8080, iniFile.getValue("server", "port").getAsInt());
+    }
+
+    @Test
+    void reportAllViolations() {
+        SchemaValidationError error = assertThrowsExactly(SchemaValidationError.class, () -> parse(createSchema(), """
+                [server]
+                port=70000
+                mode=test
+                host=Example.org
+                debug=maybe
+                user=root
+                [cache]
+                ratio=1e-1x
+                size=9223372036854775808
+                """));
+
+        assertEquals(List.of(
+                new Violation(0, null, "name", "missing key"),
+                new Violation(2, "server", "port", "'70000' is not in range 1 to 65535"),
+                new Violation(3, "server", "mode", "'test' is not one of [dev, prod]"),
+                new Violation(4, "server", "host", "'Example.org' does not match [a-z0-9.-]+"),
+                new Violation(5, "server", "debug", "'maybe' is not a boolean"),
+                new Violation(6, "server", "user", "unknown key"),
+                new Violation(8, "cache", "ratio", "'1e-1x' is not a double"),
+                new Violation(9, "cache", "size", "'9223372036854775808' is not a long"),
+                new Violation(0, "db", null, "missing section")
+        ), error.getViolations());
+        assertTrue(error.getMessage().startsWith("9 schema violations\n  line 0: name: missing key\n  line 2: [server] port: "));
+    }
+
+    @Test
+    void reportMissingKeysAtSectionHeader() {
+        SchemaValidationError error = assertThrowsExactly(SchemaValidationError.class, () -> parse(createSchema(), """
+                name=app
+                [db]
+                
+                [server]
+                mode=dev
+                """));
+
+        assertEquals(List.of(new Violation(4, "server", "port", "missing key")), error.getViolations());
+    }
+
+    @Test
+    void closedSchemaAndMissingValues() {
+        IniSchema schema = new IniSchema().closed();
+        schema.section("a").key("empty");
+        schema.section("a").key("typed").type(IniSchema.Type.INT);
+
+        SchemaValidationError error = assertThrowsExactly(SchemaValidationError.class, () -> parse(schema, """
+                [a]
+                empty=
+                typed=
+                [b]
+                """));
+
+        assertEquals(List.of(
+                new Violation(3, "a", "typed", "missing value"),
+                new Violation(4, "b", null, "unknown section")
+        ), error.getViolations());
+    }
+
+    @Test
+    void errorIsSerializable() throws Exception {
+        SchemaValidationError error = new SchemaValidationError(List.of(new Violation(2, "server", "port", "unknown key")));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(error);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            SchemaValidationError copy = (SchemaValidationError) in.readObject();
+            assertEquals(error.getViolations(), copy.getViolations());
+            assertEquals(error.getMessage(), copy.getMessage());
+        }
+
+        assertThrows(UnsupportedOperationException.class, () -> error.getViolations().clear());
+    }
+
+    @Test
+    void syntaxErrorsComeFirst() {
+        assertThrowsExactly(FileSyntaxError.class, () -> parse(createSchema(), "[server]\nport=x\ninvalid\n"));
+    }
+
+    @Test
+    void validateLazyAndParallelFiles() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), "[server]\nport=0\n");
+        IniFileReader reader = new IniFileReader(path);
+        reader.setSchema(createSchema());
+        reader.setLazy(true);
+
+        SchemaValidationError error = assertThrowsExactly(SchemaValidationError.class, reader::parse);
+        assertEquals(3, error.getViolations().size());
+
+        reader.setLazy(false);
+        reader.setParallel(true);
+        assertEquals(3, assertThrowsExactly(SchemaValidationError.class, reader::parse).getViolations().size());
+    }
+
+    @Test
+    void invalidRange() {
+        IniSchema.KeyRule rule = new IniSchema().global().key("a");
+
+        assertThrowsExactly(IllegalArgumentException.class, () -> rule.range(2, 1));
+    }
+}
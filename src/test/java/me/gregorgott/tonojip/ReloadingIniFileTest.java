@@ -0,0 +1,100 @@
+package me.gregorgott.tonojip;
+
+import me.gregorgott.tonojip.exceptions.FileSyntaxError;
+import me.gregorgott.tonojip.iniobjects.IniFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadingIniFileTest {
+    private static final Duration DEBOUNCE = Duration.ofMillis(20);
+
+    @TempDir
+    Path dir;
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    private static String timeout(ReloadingIniFile config) {
+        return config.get().getValue("server", "timeout").getAsString();
+    }
+
+    @Test
+    void reloadsChangedFile() throws IOException, InterruptedException {
+        Path path = Files.writeString(dir.resolve("config.ini"), "[server]\ntimeout=10\n");
+
+        try (ReloadingIniFile config = new ReloadingIniFile(path, DEBOUNCE)) {
+            assertEquals("10", timeout(config));
+
+            Files.writeString(path, "[server]\ntimeout=20\n");
+            await(() -> timeout(config).equals("20"));
+
+            // replaced by an atomic move, as editors do
+            Path temp = Files.writeString(dir.resolve("config.ini.tmp"), "[server]\ntimeout=30\n");
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            await(() -> timeout(config).equals("30"));
+            assertNull(config.getLastError());
+        }
+    }
+
+    @Test
+    void keepsLastGoodFileOnSyntaxError() throws IOException, InterruptedException {
+        Path path = Files.writeString(dir.resolve("config.ini"), "[server]\ntimeout=10\n");
+
+        try (ReloadingIniFile config = new ReloadingIniFile(path, DEBOUNCE)) {
+            IniFile good = config.get();
+
+            Files.writeString(path, "[server]\ntimeout\n");
+            await(() -> config.getLastError() != null);
+
+            assertInstanceOf(FileSyntaxError.class, config.getLastError());
+            assertEquals(2, ((FileSyntaxError) config.getLastError()).getLineNumber());
+            assertSame(good, config.get());
+
+            Files.writeString(path, "[server]\ntimeout=40\n");
+            await(() -> config.getLastError() == null);
+            assertEquals("40", timeout(config));
+        }
+    }
+
+    @Test
+    void manualReload() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), "[server]\ntimeout=10\n");
+
+        try (ReloadingIniFile config = new ReloadingIniFile(path, Duration.ofHours(1))) {
+            Files.writeString(path, "[server]\ntimeout=x=y\n");
+            assertEquals("x=y", config.reload().getValue("server", "timeout").getAsString());
+
+            Files.writeString(path, "[server\n");
+            assertThrows(FileSyntaxError.class, config::reload);
+            assertEquals("x=y", timeout(config));
+            assertNotNull(config.getLastError());
+        }
+    }
+
+    @Test
+    void invalidInitialFile() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), "[server\n");
+        assertThrows(FileSyntaxError.class, () -> new ReloadingIniFile(path));
+    }
+
+    @Test
+    void nullDebounce() throws IOException {
+        Path path = Files.writeString(dir.resolve("config.ini"), "key=value\n");
+        assertThrows(NullPointerException.class, () -> new ReloadingIniFile(path, null));
+    }
+}
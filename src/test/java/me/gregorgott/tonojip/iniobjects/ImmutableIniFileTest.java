@@ -0,0 +1,114 @@
+package me.gregorgott.tonojip.iniobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImmutableIniFileTest {
+    private static IniFile createIniFile(int sections, int keys) {
+        IniFile iniFile = new IniFile();
+        iniFile.getGlobalValues().put(new Key("name"), new Value("global"));
+
+        for (int s = 0; s < sections; s++) {
+            Section section = new Section("comment " + s);
+
+            for (int k = 0; k < keys; k++) {
+                Key key = new Key("key" + k);
+                key.setComment(k % 2 == 0 ? "key comment " + k : null);
+                section.getPairMap().put(key, new Value(s + "." + k));
+            }
+
+            iniFile.getSections().put("section" + s, section);
+        }
+
+        return iniFile;
+    }
+
+    @Test
+    void lookups() {
+        ImmutableIniFile frozen = createIniFile(200, 30).freeze();
+
+        assertEquals("global", frozen.getValue("name").getAsString());
+        assertNull(frozen.getValue("key0"));
+
+        for (int s = 0; s < 200; s++) {
+            String section = "section" + s;
+            assertTrue(frozen.containsSection(section));
+            assertEquals("comment " + s, frozen.getSectionComment(section));
+            assertEquals(30, frozen.getKeys(section).size());
+
+            for (int k = 0; k < 30; k++) {
+                assertEquals(s + "." + k, frozen.getValue(section, "key" + k).getAsString());
+                assertEquals(k % 2 == 0 ? "key comment " + k : null, frozen.getComment(section, "key" + k));
+            }
+
+            assertNull(frozen.getValue(section, "key30"));
+            assertNull(frozen.getValue(section, "name"));
+        }
+
+        assertEquals("0.1", frozen.getValue(new StringBuilder("section0"), new StringBuilder("key1")).getAsString());
+        assertFalse(frozen.containsSection("section200"));
+        assertNull(frozen.getValue("section200", "key0"));
+        assertTrue(frozen.getKeys("section200").isEmpty());
+        assertEquals(200, frozen.getSectionNames().size());
+    }
+
+    @Test
+    void emptyFile() {
+        ImmutableIniFile frozen = new IniFile().freeze();
+
+        assertNull(frozen.getValue("key"));
+        assertNull(frozen.getValue("section", "key"));
+        assertFalse(frozen.containsSection("section"));
+        assertTrue(frozen.getSectionNames().isEmpty());
+        assertEquals(new IniFile().getSections(), frozen.toIniFile().getSections());
+    }
+
+    @Test
+    void snapshotIsIndependent() {
+        IniFile iniFile = createIniFile(3, 3);
+        ImmutableIniFile frozen = iniFile.freeze();
+
+        iniFile.getSections().get("section0").getPairMap().put(new Key("key0"), new Value("changed"));
+        iniFile.getSections().remove("section1");
+
+        assertEquals("0.0", frozen.getValue("section0", "key0").getAsString());
+        assertTrue(frozen.containsSection("section1"));
+    }
+
+    @Test
+    void toIniFile() {
+        IniFile iniFile = createIniFile(10, 5);
+        IniFile copy = iniFile.freeze().toIniFile();
+
+        assertEquals(iniFile.getGlobalValues(), copy.getGlobalValues());
+        assertEquals(iniFile.getSections(), copy.getSections());
+        assertEquals("comment 3", copy.getSection("section3").getComment());
+        assertEquals(List.copyOf(iniFile.getSections().keySet()), List.copyOf(copy.getSections().keySet()));
+        assertEquals(List.copyOf(iniFile.getSections().keySet()), iniFile.freeze().getSectionNames());
+        assertEquals(List.copyOf(iniFile.getSection("section3").getPairMap().keySet()),
+                List.copyOf(copy.getSection("section3").getPairMap().keySet()));
+    }
+
+    @Test
+    void rejectSectionWithoutName() {
+        IniFile iniFile = createIniFile(1, 1);
+        iniFile.getSections().put(null, new Section());
+
+        IllegalArgumentException e = assertThrowsExactly(IllegalArgumentException.class, iniFile::freeze);
+        assertEquals("Cannot freeze a section without a name", e.getMessage());
+    }
+
+    @Test
+    void collidingStringHashCodes() {
+        IniFile iniFile = new IniFile();
+        iniFile.getGlobalValues().put(new Key("Aa"), new Value("1"));
+        iniFile.getGlobalValues().put(new Key("BB"), new Value("2"));
+        ImmutableIniFile frozen = iniFile.freeze();
+
+        assertEquals("1", frozen.getValue("Aa").getAsString());
+        assertEquals("2", frozen.getValue("BB").getAsString());
+    }
+}
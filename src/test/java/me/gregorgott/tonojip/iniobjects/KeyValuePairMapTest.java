@@ -0,0 +1,89 @@
+package me.gregorgott.tonojip.iniobjects;
+
+import me.gregorgott.tonojip.exceptions.KeyNullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyValuePairMapTest {
+    @Test
+    void getByKeyAndName() {
+        KeyValuePairMap pairMap = new KeyValuePairMap();
+        pairMap.put(new Key("theme"), new Value("dark"));
+
+        assertEquals("dark", pairMap.get(new Key("theme")).getAsString());
+        assertEquals("dark", pairMap.get("theme").getAsString());
+        assertEquals("dark", pairMap.get(new StringBuilder("theme")).getAsString());
+        assertEquals("dark", pairMap.get((Object) "theme").getAsString());
+        assertNull(pairMap.get("color"));
+        assertNull(pairMap.get(new StringBuilder("them")));
+    }
+
+    @Test
+    void containsKeyByName() {
+        KeyValuePairMap pairMap = new KeyValuePairMap();
+        pairMap.put(new Key("theme"), Value.EMPTY_VALUE);
+
+        assertTrue(pairMap.containsKey("theme"));
+        assertTrue(pairMap.containsKey(new StringBuilder("theme")));
+        assertFalse(pairMap.containsKey("color"));
+        assertSame(Value.EMPTY_VALUE, pairMap.getOrDefault("theme", new Value("light")));
+        assertEquals("light", pairMap.getOrDefault("color", new Value("light")).getAsString());
+    }
+
+    @Test
+    void removeByNameKeepsOrder() {
+        KeyValuePairMap pairMap = new KeyValuePairMap();
+        pairMap.put(new Key("port"), new Value("8080"));
+        pairMap.put(new Key("host"), new Value("localhost"));
+        pairMap.put(new Key("theme"), new Value("dark"));
+
+        assertEquals("localhost", pairMap.remove(new StringBuilder("host")).getAsString());
+        pairMap.put(new Key("port"), new Value("80"));
+
+        assertEquals(List.of(new Key("port"), new Key("theme")), new ArrayList<>(pairMap.keySet()));
+        assertEquals("80", pairMap.get("port").getAsString());
+    }
+
+    @Test
+    void cloneIsIndependent() {
+        KeyValuePairMap map = new KeyValuePairMap();
+        map.put(new Key("a"), new Value("1"));
+        map.put(new Key("b"), new Value("2"));
+
+        KeyValuePairMap clone = map.clone();
+        clone.put(new Key("c"), new Value("3"));
+        clone.remove("a");
+
+        assertEquals(List.of(new Key("a"), new Key("b")), List.copyOf(map.keySet()));
+        assertEquals(List.of(new Key("b"), new Key("c")), List.copyOf(clone.keySet()));
+        assertSame(map.get("b"), clone.get("b"));
+        assertThrows(KeyNullException.class, () -> clone.put(new Key(" "), new Value("x")));
+    }
+
+    @Test
+    void putBlankKey() {
+        KeyValuePairMap pairMap = new KeyValuePairMap();
+
+        assertThrowsExactly(KeyNullException.class, () -> pairMap.put(new Key(" "), new Value("value")));
+        assertThrowsExactly(KeyNullException.class, () -> pairMap.put(null, new Value("value")));
+    }
+
+    @Test
+    void getValueOfIniFile() {
+        IniFile iniFile = new IniFile();
+        Section section = new Section();
+        section.getPairMap().put(new Key("port"), new Value("8080"));
+        iniFile.getSections().put("server", section);
+        iniFile.getGlobalValues().put(new Key("name"), new Value("app"));
+
+        assertEquals("8080", iniFile.getValue("server", "port").getAsString());
+        assertEquals("app", iniFile.getValue("name").getAsString());
+        assertNull(iniFile.getValue("server", "host"));
+        assertNull(iniFile.getValue("client", "port"));
+        assertSame(section, iniFile.getSection("server"));
+    }
+}
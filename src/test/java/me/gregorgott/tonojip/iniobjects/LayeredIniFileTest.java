@@ -0,0 +1,124 @@
+package me.gregorgott.tonojip.iniobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayeredIniFileTest {
+    private static IniFile layer(String value, String... keys) {
+        IniFile iniFile = new IniFile();
+        iniFile.getGlobalValues().put(new Key("name"), new Value(value));
+        Section section = new Section("comment " + value);
+
+        for (String key : keys) {
+            section.getPairMap().put(new Key(key), new Value(value));
+        }
+
+        iniFile.getSections().put("server", section);
+        return iniFile;
+    }
+
+    @Test
+    void higherLayerWins() {
+        LayeredIniFile layered = new LayeredIniFile(
+                layer("defaults", "host", "port", "timeout"),
+                layer("environment", "host", "port"),
+                layer("host", "host"));
+
+        assertEquals(3, layered.getLayerCount());
+        assertEquals("host", layered.getValue("name").getAsString());
+        assertEquals("host", layered.getValue("server", "host").getAsString());
+        assertEquals("environment", layered.getValue("server", "port").getAsString());
+        assertEquals("defaults", layered.getValue("server", new StringBuilder("timeout")).getAsString());
+    }
+
+    @Test
+    void misses() {
+        LayeredIniFile layered = new LayeredIniFile(layer("a", "host"), layer("b", "port"));
+
+        assertNull(layered.getValue("host"));
+        assertNull(layered.getValue("server", "name"));
+        assertNull(layered.getValue("client", "host"));
+        assertNull(layered.getValue("server", "missing"));
+        assertNull(new LayeredIniFile().getValue("server", "host"));
+    }
+
+    @Test
+    void manyKeys() {
+        IniFile iniFile = new IniFile();
+        Section section = new Section();
+
+        for (int i = 0; i < 10_000; i++) {
+            section.getPairMap().put(new Key("key" + i), new Value(Integer.toString(i)));
+        }
+
+        iniFile.getSections().put("section", section);
+        LayeredIniFile layered = new LayeredIniFile(iniFile, new IniFile());
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Integer.toString(i), layered.getValue("section", "key" + i).getAsString());
+            assertNull(layered.getValue("section", "other" + i));
+        }
+    }
+
+    @Test
+    void replaceLayer() {
+        IniFile defaults = layer("defaults", "host", "port");
+        LayeredIniFile layered = new LayeredIniFile(defaults, layer("environment", "host"));
+
+        layered.setLayer(1, layer("changed", "port"));
+        assertSame(defaults, layered.getLayer(0));
+        assertEquals("defaults", layered.getValue("server", "host").getAsString());
+        assertEquals("changed", layered.getValue("server", "port").getAsString());
+
+        layered.addLayer(layer("top", "host"));
+        assertEquals(3, layered.getLayerCount());
+        assertEquals("top", layered.getValue("server", "host").getAsString());
+    }
+
+    @Test
+    void toIniFile() {
+        LayeredIniFile layered = new LayeredIniFile(layer("defaults", "host", "port"), layer("host", "host"));
+        IniFile merged = layered.toIniFile();
+
+        assertEquals("host", merged.getValue("name").getAsString());
+        assertEquals("host", merged.getValue("server", "host").getAsString());
+        assertEquals("defaults", merged.getValue("server", "port").getAsString());
+        assertEquals("comment host", merged.getSection("server").getComment());
+    }
+
+    @Test
+    void toIniFileKeepsCommentsAndUpperKeys() {
+        IniFile defaults = layer("defaults", "host", "port");
+        defaults.getSection("server").getPairMap().keySet().forEach(key -> key.setComment(" default " + key.getKey()));
+
+        IniFile host = layer("host");
+        host.getSection("server").setComment("");
+        Key port = new Key("port");
+        port.setComment(" host port");
+        host.getSection("server").getPairMap().put(port, new Value("8080"));
+
+        IniFile merged = new LayeredIniFile(defaults, host).toIniFile();
+        KeyValuePairMap pairs = merged.getSection("server").getPairMap();
+
+        assertEquals("comment defaults", merged.getSection("server").getComment());
+        assertEquals(List.of(new Key("host"), new Key("port")), List.copyOf(pairs.keySet()));
+        assertEquals(" default host", List.copyOf(pairs.keySet()).get(0).getComment());
+        assertSame(port, List.copyOf(pairs.keySet()).get(1));
+        assertEquals("8080", pairs.get("port").getAsString());
+    }
+
+    @Test
+    void refreshLayer() {
+        IniFile top = new IniFile();
+        LayeredIniFile layered = new LayeredIniFile(layer("defaults", "host"), top);
+
+        top.getGlobalValues().put(new Key("added"), new Value("1"));
+        layered.refreshLayer(1);
+
+        assertEquals("1", layered.getValue("added").getAsString());
+        assertEquals("defaults", layered.getValue("server", "host").getAsString());
+    }
+}
@@ -0,0 +1,92 @@
+package me.gregorgott.tonojip.iniobjects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumbersTest {
+    private static final List<String> INPUTS = List.of(
+            "0", "-0", "+0", "42", "-42", "+12", "007", "2147483647", "-2147483648", "2147483648",
+            "-2147483649", "9223372036854775807", "-9223372036854775808", "9223372036854775808",
+            "-9223372036854775809", "99999999999999999999", "", "-", "+", "1.0", "1.", ".5", ".", "1e",
+            "1e5", "1E-5", "1e+5", "-1.5e10", "1e400", "1e-400", "0e999999999999", "123456789012345678901234567890",
+            "0.1", "0.30000000000000004", "9007199254740993", "2.2250738585072014E-308", "4.9e-324",
+            "1.7976931348623157e308", "NaN", "-NaN", "Infinity", "-Infinity", "Infinityf", "1f", "2.5d", "1e5D",
+            " 7 ", "\t3.5\n", "0x1p3", "-0x1.8p1", "0x", "0xg", "abc", "1_000", "1,5", "١٢٣", "--1", "1e5x"
+    );
+
+    private static OptionalInt jdkInt(String s) {
+        try {
+            return OptionalInt.of(Integer.parseInt(s));
+        } catch (NumberFormatException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    private static OptionalLong jdkLong(String s) {
+        try {
+            return OptionalLong.of(Long.parseLong(s));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static OptionalDouble jdkDouble(String s) {
+        try {
+            return OptionalDouble.of(Double.parseDouble(s));
+        } catch (NumberFormatException e) {
+            return OptionalDouble.empty();
+        }
+    }
+
+    private static void assertSameDouble(String s) {
+        OptionalDouble expected = jdkDouble(s);
+        OptionalDouble actual = Numbers.tryParseDouble(s, 0, s.length());
+
+        assertEquals(expected.isPresent(), actual.isPresent(), s);
+
+        if (expected.isPresent()) {
+            assertEquals(Double.doubleToRawLongBits(expected.getAsDouble()), Double.doubleToRawLongBits(actual.getAsDouble()), s);
+        }
+    }
+
+    @Test
+    void sameAsJdk() {
+        for (String s : INPUTS) {
+            assertEquals(jdkInt(s), Numbers.tryParseInt(s, 0, s.length()), s);
+            assertEquals(jdkLong(s), Numbers.tryParseLong(s, 0, s.length()), s);
+            assertSameDouble(s);
+        }
+    }
+
+    @Test
+    void sameDoublesAsJdk() {
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            assertSameDouble(Double.toString(Double.longBitsToDouble(random.nextLong())));
+            assertSameDouble(random.nextInt(1_000_000) + "." + random.nextInt(1_000_000));
+            assertSameDouble(random.nextLong(1L << 54) + "e" + (random.nextInt(60) - 30));
+            assertSameDouble("0.000" + random.nextLong());
+        }
+    }
+
+    @Test
+    void parseRangesWithDefaults() {
+        StringBuilder chars = new StringBuilder("port=8080;ratio=0.75;big=3000000000");
+
+        assertEquals(8080, Numbers.parseInt(chars, 5, 9, -1));
+        assertEquals(0.75, Numbers.parseDouble(chars, 16, 20, -1));
+        assertEquals(-1, Numbers.parseInt(chars, 25, 35, -1));
+        assertEquals(3_000_000_000L, Numbers.parseLong(chars, 25, 35, -1));
+        assertEquals(-1, Numbers.parseLong(chars, 0, 4, -1));
+        assertEquals(-1.0, Numbers.parseDouble(chars, 0, 4, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> Numbers.parseInt(chars, 30, 40, 0));
+    }
+}
@@ -0,0 +1,203 @@
+package me.gregorgott.tonojip.iniobjects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedMapTest {
+    @Test
+    void iterateInInsertionOrder() {
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+        map.put("zeta", 1);
+        map.put("alpha", 2);
+        map.put("mid", 3);
+        map.put("alpha", 4);
+
+        assertEquals(List.of("zeta", "alpha", "mid"), new ArrayList<>(map.keySet()));
+        assertEquals(List.of(1, 4, 3), new ArrayList<>(map.values()));
+        assertEquals("{zeta=1, alpha=4, mid=3}", map.toString());
+    }
+
+    @Test
+    void removeAndAddAgain() {
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        assertEquals(2, map.remove("b"));
+        assertNull(map.remove("b"));
+        map.put("b", 4);
+
+        assertEquals(List.of("a", "c", "b"), new ArrayList<>(map.keySet()));
+        assertEquals(3, map.size());
+        assertEquals(4, map.get("b"));
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void churnSmallMap() {
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+        map.put("x", 0);
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put("k" + i, i);
+            assertEquals(i, map.get("k" + i));
+            assertEquals(i, map.remove("k" + i));
+            assertFalse(map.containsKey("k" + i));
+            assertNull(map.get("missing" + i));
+        }
+
+        assertEquals(Map.of("x", 0), map);
+    }
+
+    @Test
+    void nullKeyAndValue() {
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+        map.put(null, 1);
+        map.put("a", null);
+
+        assertEquals(1, map.get(null));
+        assertTrue(map.containsKey("a"));
+        assertTrue(map.containsValue(null));
+        assertEquals(1, map.getOrDefault(null, 2));
+        assertNull(map.getOrDefault("a", 2));
+        assertEquals(2, map.getOrDefault("b", 2));
+    }
+
+    @Test
+    void iteratorRemoveAndSetValue() {
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, i);
+        }
+
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<String, Integer> entry = iterator.next();
+
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+
+        assertEquals(Map.of("key1", 10, "key3", 30, "key5", 50, "key7", 70, "key9", 90), map);
+        assertEquals(List.of("key1", "key3", "key5", "key7", "key9"), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    void changeWhileIterating() {
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach((k, v) -> map.put(k + k, v)));
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (String key : map.keySet()) {
+                map.remove(key);
+            }
+        });
+    }
+
+    @Test
+    void copyDoesNotCallOverriddenPut() {
+        Map<String, Integer> source = new LinkedHashMap<>();
+        source.put("b", 2);
+        source.put("a", 1);
+
+        OrderedMap<String, Integer> copy = new OrderedMap<>(source) {
+            private final List<String> added = new ArrayList<>();
+
+            @Override
+            public Integer put(String key, Integer value) {
+                added.add(key);
+                return super.put(key, value);
+            }
+        };
+
+        assertEquals(List.of("b", "a"), List.copyOf(copy.keySet()));
+        copy.put("c", 3);
+        assertEquals(List.of("b", "a", "c"), List.copyOf(copy.keySet()));
+    }
+
+    @Test
+    void serializeAndClone() throws Exception {
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+
+        for (int i = 0; i < 20; i += 3) {
+            map.remove("key" + i);
+        }
+
+        map.put(null, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            OrderedMap<String, Integer> copy = (OrderedMap<String, Integer>) in.readObject();
+            assertEquals(new ArrayList<>(map.entrySet()), new ArrayList<>(copy.entrySet()));
+            copy.put("added", 1);
+            assertEquals(1, copy.get("added"));
+        }
+
+        OrderedMap<String, Integer> clone = map.clone();
+        clone.put("key1", -1);
+        clone.remove("key2");
+        assertEquals(1, map.get("key1"));
+        assertTrue(map.containsKey("key2"));
+        assertEquals(map.size() - 1, clone.size());
+    }
+
+    @Test
+    void sameAsLinkedHashMap() {
+        SplittableRandom random = new SplittableRandom(42);
+        OrderedMap<String, Integer> map = new OrderedMap<>();
+        Map<String, Integer> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            String key = "key" + random.nextInt(2_000);
+
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                case 1 -> assertEquals(expected.get(key), map.get(key));
+                default -> assertEquals(expected.put(key, i), map.put(key, i));
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("key1"));
+        map.put("key1", 1);
+        assertEquals(Map.of("key1", 1), map);
+    }
+}
@@ -0,0 +1,149 @@
+package me.gregorgott.tonojip.iniobjects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SectionMapTest {
+    private static SectionMap createSections(String... names) {
+        SectionMap sections = new SectionMap();
+
+        for (String name : names) {
+            sections.put(name, new Section(name));
+        }
+
+        return sections;
+    }
+
+    private static List<String> walk(SectionMap sections, String prefix) {
+        List<String> names = new ArrayList<>();
+        sections.walk(prefix, (name, section) -> {
+            assertEquals(name, section.getComment());
+            names.add(name);
+        });
+        return names;
+    }
+
+    @Test
+    void subsections() {
+        SectionMap sections = createSections("db", "db.primary", "db.primary.pool", "db.replica", "dbx.primary", "cache.local");
+
+        assertEquals(List.of("db.primary", "db.replica"), sections.subsections("db"));
+        assertEquals(List.of("db.primary.pool"), sections.subsections("db.primary"));
+        assertEquals(List.of(), sections.subsections("db.primary.pool"));
+        assertEquals(List.of("cache.local"), sections.subsections("cache"));
+        assertEquals(List.of("db"), sections.subsections(""));
+        assertEquals(List.of(), sections.subsections("missing"));
+        assertEquals(List.of(), sections.subsections("d"));
+    }
+
+    @Test
+    void walk() {
+        SectionMap sections = createSections("db.primary.pool", "db", "db.primary", "db.replica", "dbx.primary", "cache.local");
+
+        assertEquals(List.of("db", "db.primary", "db.primary.pool", "db.replica"), walk(sections, "db"));
+        assertEquals(List.of("db.primary", "db.primary.pool"), walk(sections, "db.primary"));
+        assertEquals(List.of("dbx.primary"), walk(sections, "dbx"));
+        assertEquals(6, walk(sections, "").size());
+        assertEquals(List.of(), walk(sections, "db.primary.pool.size"));
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void addAndRemoveSiblings() {
+        SectionMap sections = createSections("db", "db.primary");
+        assertEquals(List.of("db.primary"), sections.subsections("db"));
+
+        for (int i = 0; i < 1_000; i++) {
+            String name = "db.replica" + i;
+            sections.put(name, new Section(name));
+            assertEquals(List.of("db.primary", name), sections.subsections("db"));
+            assertEquals(List.of("db", "db.primary", name), walk(sections, "db"));
+            assertSame(sections.get(name), sections.remove(name));
+            assertEquals(List.of("db.primary"), sections.subsections("db"));
+        }
+
+        assertEquals(List.of("db", "db.primary"), walk(sections, ""));
+        assertEquals(2, sections.size());
+    }
+
+    @Test
+    void changesUpdateTheTree() {
+        SectionMap sections = createSections("db", "db.primary", "db.primary.pool");
+        assertEquals(List.of("db.primary"), sections.subsections("db"));
+
+        sections.put("db.replica", new Section("db.replica"));
+        sections.remove("db.primary.pool");
+        assertEquals(List.of("db.primary", "db.replica"), sections.subsections("db"));
+        assertEquals(List.of("db.primary"), walk(sections, "db.primary"));
+
+        sections.remove("db.primary");
+        assertEquals(List.of("db.replica"), sections.subsections("db"));
+
+        sections.keySet().removeIf(name -> name.equals("db.replica"));
+        sections.computeIfAbsent("db.backup", Section::new);
+        sections.putAll(Map.of("db.backup.disk", new Section("db.backup.disk")));
+        assertEquals(List.of("db", "db.backup", "db.backup.disk"), walk(sections, ""));
+        assertEquals(3, sections.size());
+
+        sections.clear();
+        assertTrue(sections.isEmpty());
+        assertEquals(List.of(), walk(sections, ""));
+        sections.put("a.b", new Section("a.b"));
+        assertEquals(List.of("a.b"), sections.subsections("a"));
+    }
+
+    @Test
+    void mapOperations() {
+        Map<String, Section> expected = new HashMap<>();
+        expected.put("a", new Section("x"));
+        expected.put("b.c", new Section("y"));
+        SectionMap sections = new SectionMap(expected);
+
+        assertEquals(expected, sections);
+        assertEquals(sections, expected);
+        assertEquals(expected.hashCode(), sections.hashCode());
+        assertTrue(sections.containsKey("b.c"));
+        assertNull(sections.remove("missing"));
+        assertEquals("y", sections.get("b.c").getComment());
+
+        sections.put(null, new Section("null"));
+        List<String> names = new ArrayList<>();
+        sections.walk("", (name, section) -> names.add(name));
+        assertEquals(List.of("a", "b.c"), names.stream().sorted().toList());
+        assertNotNull(sections.remove(null));
+    }
+
+    @Test
+    void iniFileUsesSectionMap() {
+        HashMap<String, Section> map = new HashMap<>();
+        map.put("a.b", new Section());
+        IniFile iniFile = new IniFile(new KeyValuePairMap(), map);
+
+        assertEquals(List.of("a.b"), iniFile.getSections().subsections("a"));
+
+        SectionMap sections = new SectionMap();
+        assertSame(sections, new IniFile(new KeyValuePairMap(), sections).getSections());
+    }
+
+    @Test
+    void iniFileKeepsSectionMapAndCopiesOtherMaps() {
+        SectionMap sectionMap = new SectionMap();
+        IniFile shared = new IniFile(new KeyValuePairMap(), sectionMap);
+        sectionMap.put("a", new Section());
+        assertSame(sectionMap, shared.getSections());
+        assertTrue(shared.getSections().containsKey("a"));
+
+        Map<String, Section> hashMap = new HashMap<>();
+        hashMap.put("a", new Section());
+        IniFile copied = new IniFile(new KeyValuePairMap(), hashMap);
+        hashMap.put("b", new Section());
+        assertEquals(List.of("a"), List.copyOf(copied.getSections().keySet()));
+    }
+}
@@ -0,0 +1,80 @@
+package me.gregorgott.tonojip.iniobjects;
+
+import me.gregorgott.tonojip.exceptions.ValueConvertError;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueTest {
+    @Test
+    void repeatedConversionsReturnSameResult() {
+        Value value = new Value("42");
+        assertEquals(42, value.getAsInt());
+        assertEquals(42, value.getAsInt());
+        assertEquals(42L, value.getAsLong());
+        assertEquals(42.0, value.getAsDouble());
+        assertEquals(42.0, value.getAsDouble());
+    }
+
+    @Test
+    void cachedLongOutOfIntRange() {
+        Value value = new Value("3000000000");
+        assertEquals(3_000_000_000L, value.getAsLong());
+        assertThrows(ValueConvertError.class, value::getAsInt);
+        assertEquals(3_000_000_000L, value.getAsLong());
+    }
+
+    @Test
+    void cachedBoolean() {
+        Value yes = new Value("Yes");
+        assertTrue(yes.getAsBoolean());
+        assertTrue(yes.getAsBoolean());
+        assertThrows(ValueConvertError.class, yes::getAsInt);
+
+        Value no = new Value("False");
+        assertFalse(no.getAsBoolean());
+        assertFalse(no.getAsBoolean());
+    }
+
+    @Test
+    void failedConversionIsNotCached() {
+        Value value = new Value("1.5");
+        assertThrows(ValueConvertError.class, value::getAsInt);
+        assertEquals(1.5, value.getAsDouble());
+        assertThrows(ValueConvertError.class, value::getAsLong);
+        assertEquals(1.5, value.getAsDouble());
+    }
+
+    @Test
+    void emptyValueDoesNotConvert() {
+        assertThrows(ValueConvertError.class, Value.EMPTY_VALUE::getAsInt);
+        assertThrows(ValueConvertError.class, Value.EMPTY_VALUE::getAsLong);
+        assertThrows(ValueConvertError.class, Value.EMPTY_VALUE::getAsBoolean);
+    }
+
+    @Test
+    void convertWithoutThrowing() {
+        Value value = new Value("1.5");
+        assertEquals(OptionalInt.empty(), value.tryGetAsInt());
+        assertEquals(-1, value.getAsInt(-1));
+        assertEquals(OptionalLong.empty(), value.tryGetAsLong());
+        assertEquals(OptionalDouble.of(1.5), value.tryGetAsDouble());
+        assertEquals(1.5, value.getAsDouble(0));
+        assertTrue(value.getAsBoolean(true));
+
+        Value large = new Value("3000000000");
+        assertEquals(3_000_000_000L, large.getAsLong(0));
+        assertEquals(OptionalInt.empty(), large.tryGetAsInt());
+        assertEquals(7, large.getAsInt(7));
+
+        assertEquals(OptionalInt.of(42), new Value("42").tryGetAsInt());
+        assertFalse(new Value("No").getAsBoolean(true));
+        assertEquals(OptionalDouble.empty(), Value.EMPTY_VALUE.tryGetAsDouble());
+        assertEquals(2.0, Value.EMPTY_VALUE.getAsDouble(2.0));
+        assertThrows(ValueConvertError.class, Value.EMPTY_VALUE::getAsDouble);
+    }
+}